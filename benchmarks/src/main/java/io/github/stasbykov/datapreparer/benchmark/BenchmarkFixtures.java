@@ -0,0 +1,80 @@
+package io.github.stasbykov.datapreparer.benchmark;
+
+import io.github.stasbykov.datapreparer.api.annotation.Template;
+import io.github.stasbykov.datapreparer.api.core.Fixture;
+import io.github.stasbykov.datapreparer.api.core.FixtureRegistry;
+import io.github.stasbykov.datapreparer.api.core.FixtureTemplate;
+import io.github.stasbykov.datapreparer.internal.core.FixtureHandler;
+import io.github.stasbykov.datapreparer.internal.util.scanner.ClassScanner;
+
+import java.lang.annotation.Annotation;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Fixtures, templates and handlers shared by the benchmarks.
+ * Everything is created in memory, the loaders and deleters do nothing.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    /**
+     * Fixture of the benchmarks.
+     *
+     * @param id identifier
+     * @param seed seed it was generated with
+     */
+    record BenchmarkFixture(int id, long seed) implements Fixture {}
+
+    static String templateName(int index) {
+        return "template_" + index;
+    }
+
+    static FixtureTemplate<BenchmarkFixture> template(String name) {
+        return new FixtureTemplate<>(name, fixtures -> fixtures, fixtures -> {}, () -> new BenchmarkFixture(0, 0L));
+    }
+
+    /**
+     * Creates a handler over one registry with the given templates, the registry is found without a scan.
+     *
+     * @param templates templates of the registry
+     * @return fixture handler
+     */
+    static FixtureHandler handler(List<FixtureTemplate<BenchmarkFixture>> templates) {
+        FixtureRegistry<BenchmarkFixture> registry = () -> templates;
+        return new FixtureHandler(new ClassScanner() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> List<T> findAndInstantiate(Class<T> interfaceClass, String packageName) {
+                return (List<T>) List.of(registry);
+            }
+        });
+    }
+
+    static FixtureHandler handler(int templateCount) {
+        return handler(IntStream.range(0, templateCount)
+                .mapToObj(index -> template(templateName(index)))
+                .toList());
+    }
+
+    static Template annotation(String name, int count) {
+        return new Template() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public int count() {
+                return count;
+            }
+
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return Template.class;
+            }
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.stasbykov.datapreparer.benchmark;
+
+import io.github.stasbykov.datapreparer.api.core.FixtureRegistry;
+import io.github.stasbykov.datapreparer.internal.util.scanner.ClassgraphScanner;
+import io.github.stasbykov.datapreparer.internal.util.scanner.ScanProfile;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Registry scan with {@link ClassgraphScanner#findAndInstantiate(Class, String)} on a synthetic classpath.
+ * <p>
+ * The setup compiles the given number of registries and the same number of unrelated classes into a temporary
+ * directory and makes it the context class loader. The scan cache is disabled, so every invocation scans.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dfixture.scan.cache.enabled=false")
+public class ClassgraphScannerBenchmark {
+
+    private static final String PACKAGE = "io.github.stasbykov.datapreparer.benchmark.synthetic";
+
+    @Param({"10", "100", "1000"})
+    private int registries;
+
+    @Param({"true", "false"})
+    private boolean minimal;
+
+    private Path classpath;
+    private URLClassLoader classLoader;
+    private ClassLoader previousClassLoader;
+    private ClassgraphScanner scanner;
+
+    @Setup
+    public void setUp() throws IOException {
+        classpath = Files.createTempDirectory("synthetic-classpath");
+        Path sources = Files.createDirectories(classpath.resolve("src"));
+        List<String> files = new ArrayList<>();
+        for (int i = 0; i < registries; i++) {
+            files.add(write(sources, "Registry" + i, """
+                    package %s;
+
+                    public class Registry%d implements io.github.stasbykov.datapreparer.api.core.FixtureRegistry<io.github.stasbykov.datapreparer.api.core.Fixture> {
+                        public java.util.List<io.github.stasbykov.datapreparer.api.core.FixtureTemplate<io.github.stasbykov.datapreparer.api.core.Fixture>> getTemplates() {
+                            return java.util.List.of();
+                        }
+                    }
+                    """.formatted(PACKAGE, i)));
+            files.add(write(sources, "Unrelated" + i, """
+                    package %s;
+
+                    public class Unrelated%d implements Runnable {
+                        public void run() {
+                        }
+                    }
+                    """.formatted(PACKAGE, i)));
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        List<String> arguments = new ArrayList<>(List.of("-proc:none", "-d", classpath.resolve("classes").toString(),
+                "-cp", System.getProperty("java.class.path")));
+        arguments.addAll(files);
+        if (compiler.run(null, null, null, arguments.toArray(String[]::new)) != 0) {
+            throw new IllegalStateException("Synthetic classpath can`t be compiled");
+        }
+
+        previousClassLoader = Thread.currentThread().getContextClassLoader();
+        classLoader = new URLClassLoader(new URL[]{classpath.resolve("classes").toUri().toURL()}, previousClassLoader);
+        Thread.currentThread().setContextClassLoader(classLoader);
+        scanner = new ClassgraphScanner(new ScanProfile(minimal, 0, List.of(), List.of(), false));
+        if (findAndInstantiate().size() != registries) {
+            throw new IllegalStateException("The scanner does not see the synthetic classpath");
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Thread.currentThread().setContextClassLoader(previousClassLoader);
+        classLoader.close();
+        try (Stream<Path> paths = Files.walk(classpath)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    @SuppressWarnings("rawtypes")
+    public List<FixtureRegistry> findAndInstantiate() {
+        return scanner.findAndInstantiate(FixtureRegistry.class, PACKAGE);
+    }
+
+    private static String write(Path sources, String className, String source) {
+        try {
+            Path file = sources.resolve(className + ".java");
+            Files.writeString(file, source);
+            return file.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package io.github.stasbykov.datapreparer.benchmark;
+
+import io.github.stasbykov.datapreparer.api.core.Fixture;
+import io.github.stasbykov.datapreparer.api.core.FixtureBatch;
+import io.github.stasbykov.datapreparer.api.core.FixtureBatchCollection;
+import io.github.stasbykov.datapreparer.benchmark.BenchmarkFixtures.BenchmarkFixture;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Typed lookup of fixtures with {@link FixtureBatchCollection#get(String, Class)}. The collection is never closed,
+ * its fixtures exist only in memory.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixtureBatchCollectionBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int batches;
+
+    @Param({"10", "1000"})
+    private int fixturesPerBatch;
+
+    private FixtureBatchCollection collection;
+    private String lastTemplate;
+
+    @Setup
+    public void setUp() {
+        List<BenchmarkFixture> fixtures = IntStream.range(0, fixturesPerBatch)
+                .mapToObj(id -> new BenchmarkFixture(id, id))
+                .toList();
+        collection = new FixtureBatchCollection(IntStream.range(0, batches)
+                .<FixtureBatch<? extends Fixture>>mapToObj(index -> new FixtureBatch<>(
+                        BenchmarkFixtures.template(BenchmarkFixtures.templateName(index)), fixtures))
+                .toList());
+        lastTemplate = BenchmarkFixtures.templateName(batches - 1);
+    }
+
+    @Benchmark
+    public List<BenchmarkFixture> get() {
+        return collection.get(lastTemplate, BenchmarkFixture.class);
+    }
+}
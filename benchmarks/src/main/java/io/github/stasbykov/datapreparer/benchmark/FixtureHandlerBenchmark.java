@@ -0,0 +1,56 @@
+package io.github.stasbykov.datapreparer.benchmark;
+
+import io.github.stasbykov.datapreparer.api.core.Fixture;
+import io.github.stasbykov.datapreparer.api.core.FixtureTemplate;
+import io.github.stasbykov.datapreparer.internal.core.FixtureHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Lookup of a template by name with {@link FixtureHandler#getTemplate(String)}.
+ * The names are looked up in a fixed pseudo-random order, so the runs of different commits are comparable.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FixtureHandlerBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    private int templates;
+
+    private FixtureHandler handler;
+    private String[] names;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        handler = BenchmarkFixtures.handler(templates);
+        SplittableRandom random = new SplittableRandom(42);
+        names = IntStream.range(0, 1024)
+                .mapToObj(i -> BenchmarkFixtures.templateName(random.nextInt(templates)))
+                .toArray(String[]::new);
+    }
+
+    @Benchmark
+    public Optional<FixtureTemplate<? extends Fixture>> getTemplate() {
+        next = (next + 1) & (names.length - 1);
+        return handler.getTemplate(names[next]);
+    }
+}
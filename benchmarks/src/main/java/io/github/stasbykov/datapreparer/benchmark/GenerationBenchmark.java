@@ -0,0 +1,64 @@
+package io.github.stasbykov.datapreparer.benchmark;
+
+import io.github.stasbykov.datapreparer.api.annotation.Template;
+import io.github.stasbykov.datapreparer.api.core.Fixture;
+import io.github.stasbykov.datapreparer.api.core.FixtureBatch;
+import io.github.stasbykov.datapreparer.api.core.FixtureGenerator;
+import io.github.stasbykov.datapreparer.api.core.FixtureTemplate;
+import io.github.stasbykov.datapreparer.benchmark.BenchmarkFixtures.BenchmarkFixture;
+import io.github.stasbykov.datapreparer.internal.junit.PreparerSettings;
+import io.github.stasbykov.datapreparer.internal.junit.TestDataPreparer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generation and loading of one template by {@link TestDataPreparer} with a loader that does nothing,
+ * with a plain supplier and with a {@link FixtureGenerator}. The settings are fixed, not read from the properties.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenerationBenchmark {
+
+    private static final String SUPPLIED = "supplied";
+    private static final String GENERATED = "generated";
+
+    @Param({"100", "10000", "100000"})
+    private int count;
+
+    @Param({SUPPLIED, GENERATED})
+    private String data;
+
+    private TestDataPreparer preparer;
+    private Template[] templates;
+
+    @Setup
+    public void setUp() {
+        FixtureGenerator<BenchmarkFixture> generator = BenchmarkFixture::new;
+        List<FixtureTemplate<BenchmarkFixture>> registry = List.of(
+                BenchmarkFixtures.template(SUPPLIED),
+                new FixtureTemplate<>(GENERATED, fixtures -> fixtures, fixtures -> {}, generator));
+        preparer = new TestDataPreparer(BenchmarkFixtures.handler(registry), PreparerSettings.defaults());
+        templates = new Template[]{BenchmarkFixtures.annotation(data, count)};
+    }
+
+    @Benchmark
+    public List<FixtureBatch<? extends Fixture>> processTemplatesForLoading() {
+        return preparer.processTemplatesForLoading(templates);
+    }
+}
@@ -17,6 +17,10 @@ import java.lang.annotation.*;
  * how test data should be generated or loaded. Additionally, the {@code inject} flag controls
  * whether the prepared data should be automatically injected into the test instance.</p>
  *
+ * <p>If {@code shared} is set, the data is read-only and shared with all classes that declare the same templates
+ * and counts: it is loaded by the first of them and deleted after the last one, see
+ * {@code fixture.shared.grace-period}.</p>
+ *
  * <h2>Usage Example:</h2>
  * <pre>{@code
  * @ClassDataSetup(value = {
@@ -50,4 +54,5 @@ import java.lang.annotation.*;
 public @interface ClassDataSetup {
     Template[] value();
     boolean inject() default false;
+    boolean shared() default false;
 }
@@ -0,0 +1,40 @@
+package io.github.stasbykov.datapreparer.api.annotation;
+
+import io.github.stasbykov.datapreparer.api.core.FixtureBatchCollection;
+import io.github.stasbykov.datapreparer.api.junit.SessionDataPrepareExtension;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.*;
+
+/**
+ * Marks a field or a parameter of type {@link FixtureBatchCollection} that receives the session fixtures.
+ * <p>
+ * Session fixtures are declared once for the whole test run in the {@code fixture.session.templates} property,
+ * e.g. {@code currencies:3,roles:5}. They are loaded before any test runs, shared by all test classes and deleted
+ * when the launcher session closes. Tests must not modify them.
+ * </p>
+ *
+ * <h2>Usage Example:</h2>
+ * <pre>{@code
+ * class OrderServiceTest {
+ *
+ *     @SessionFixtureInject
+ *     private FixtureBatchCollection referenceData;
+ *
+ *     @Test
+ *     void someTest(@SessionFixtureInject FixtureBatchCollection sessionFixtures) {
+ *         // use referenceData or sessionFixtures
+ *     }
+ * }
+ * }</pre>
+ *
+ * @see FixtureBatchCollection
+ * @see SessionDataPrepareExtension
+ * @since 1.0
+ */
+@Documented
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(SessionDataPrepareExtension.class)
+public @interface SessionFixtureInject {
+}
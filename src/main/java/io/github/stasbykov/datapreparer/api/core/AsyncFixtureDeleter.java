@@ -0,0 +1,53 @@
+package io.github.stasbykov.datapreparer.api.core;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Fixture deleter that deletes the fixtures asynchronously.
+ *
+ * @param <T> is the type of fixture to be removed. Must be implementation of the {@link Fixture} class.
+ *
+ * @see FixtureDeleter
+ * @since 1.0.0
+ */
+public interface AsyncFixtureDeleter<T extends Fixture> extends FixtureDeleter<T> {
+
+    /**
+     * Starts deleting the fixtures.
+     *
+     * @param fixture fixtures returned by the loader
+     * @return future completed when the fixtures are deleted
+     */
+    CompletableFuture<Void> deleteAsync(List<T> fixture);
+
+    @Override
+    default void delete(List<T> fixture) {
+        deleteAsync(fixture).join();
+    }
+
+    /**
+     * Adapts a deleter to the asynchronous deletion. A synchronous deleter deletes the fixtures in the calling
+     * thread and returns a completed future.
+     *
+     * @param deleter fixture deleter
+     * @param <T> type of fixture
+     * @return the deleter itself if it is an asynchronous deleter, otherwise an adapter
+     */
+    static <T extends Fixture> AsyncFixtureDeleter<T> of(FixtureDeleter<T> deleter) {
+        requireNonNull(deleter, "FixtureDeleter can`t be null");
+        if (deleter instanceof AsyncFixtureDeleter<T> asyncDeleter) {
+            return asyncDeleter;
+        }
+        return fixture -> {
+            try {
+                deleter.delete(fixture);
+                return CompletableFuture.completedFuture(null);
+            } catch (RuntimeException | Error e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        };
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.stasbykov.datapreparer.api.core;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Fixture loader that loads the chunks asynchronously.
+ * <p>
+ * While a chunk is being loaded, the next chunk is already generated, at most {@code fixture.load.pipeline-depth}
+ * chunks are in flight at the same time. This hides the latency of the backend behind the generation.
+ * </p>
+ *
+ * @param <T> is the type of fixture to be created. Must be implementation of the {@link Fixture} class.
+ *
+ * @see StreamingFixtureLoader
+ * @since 1.0.0
+ */
+public interface AsyncFixtureLoader<T extends Fixture> extends StreamingFixtureLoader<T> {
+
+    /**
+     * Starts loading one chunk of fixtures.
+     *
+     * @param chunk generated fixtures, at most {@link #chunkSize()} of them
+     * @return future of the fixtures required to delete the chunk
+     */
+    CompletableFuture<List<T>> loadChunkAsync(List<T> chunk);
+
+    @Override
+    default List<T> loadChunk(List<T> chunk) {
+        return loadChunkAsync(chunk).join();
+    }
+
+    /**
+     * Adapts a loader to the asynchronous loading. A synchronous loader loads the chunk in the calling thread
+     * and returns a completed future.
+     *
+     * @param loader fixture loader
+     * @param <T> type of fixture
+     * @return the loader itself if it is an asynchronous loader, otherwise an adapter
+     */
+    static <T extends Fixture> AsyncFixtureLoader<T> of(FixtureLoader<T> loader) {
+        requireNonNull(loader, "FixtureLoader can`t be null");
+        if (loader instanceof AsyncFixtureLoader<T> asyncLoader) {
+            return asyncLoader;
+        }
+        StreamingFixtureLoader<T> streamingLoader = StreamingFixtureLoader.of(loader);
+        return new AsyncFixtureLoader<>() {
+            @Override
+            public CompletableFuture<List<T>> loadChunkAsync(List<T> chunk) {
+                try {
+                    return CompletableFuture.completedFuture(streamingLoader.loadChunk(chunk));
+                } catch (RuntimeException | Error e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            }
+
+            @Override
+            public int chunkSize() {
+                return streamingLoader.chunkSize();
+            }
+        };
+    }
+}
@@ -5,9 +5,18 @@ import java.util.List;
 /**
  * Helper class for storing a package of fixtures.
  *
+ * @param template fixture template
+ * @param fixtures fixtures returned by the loader
+ * @param savepoint mark taken by a {@link TransactionalFixtureDeleter} before loading, or null if the fixtures
+ * are removed by the deleter
  * @param <T> type of fixture
  *
  * @see FixtureTemplate
  * @since 1.0.0
  */
-public record FixtureBatch<T extends Fixture>(FixtureTemplate<T> template, List<T> fixtures) {}
+public record FixtureBatch<T extends Fixture>(FixtureTemplate<T> template, List<T> fixtures, FixtureSavepoint savepoint) {
+
+    public FixtureBatch(FixtureTemplate<T> template, List<T> fixtures) {
+        this(template, fixtures, null);
+    }
+}
@@ -1,47 +1,276 @@
 package io.github.stasbykov.datapreparer.api.core;
 
+import io.github.stasbykov.datapreparer.internal.junit.ChunkedFixtures;
+import io.github.stasbykov.datapreparer.internal.junit.DeferredDeletion;
 import io.github.stasbykov.datapreparer.internal.junit.TestDataPreparer;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
 
 
 /**
  * A record representing a collection of fixture batches used for test data preparation.
  * Provides methods to retrieve specific fixtures by template name and type,
  * and implements {@link AutoCloseable} to allow for cleanup after use.
+ * <p>
+ * The batches are copied into an unmodifiable list that indexes their fixtures by template name. The fixtures
+ * of a template are a read-only view over the lists of its batches, they are not copied. The view of each template
+ * and type is built on the first lookup and reused by the following ones.
+ * </p>
+ * <p>
+ * A collection created by {@link #lazy(Set, Function)} loads the fixtures of a template on the first
+ * {@link #get(String, Class)} of its name, {@link #batches()} returns the batches loaded so far. Loadings are
+ * serialized, and {@link #close()} deletes only the loaded batches, the last loaded first.
+ * </p>
  *
+ * @param batches fixture batches
  * @see FixtureBatch
  * @since 1.0.0
  */
 public record FixtureBatchCollection(List<FixtureBatch<? extends Fixture>> batches) implements AutoCloseable {
 
+    /**
+     * Copies and indexes the batches. The batches of a lazy collection are kept as they are.
+     *
+     * @throws NullPointerException if the batches or any of them is null
+     */
+    public FixtureBatchCollection {
+        requireNonNull(batches, "Batches can`t be null");
+        if (!(batches instanceof IndexedBatches indexed && indexed.claim())) {
+            batches = new IndexedBatches(List.copyOf(batches));
+        }
+    }
+
+    /**
+     * Creates a collection that loads the fixtures of a template when they are requested for the first time.
+     * <p>
+     * The loader receives a template name and returns the batches it has loaded, which may include the batches
+     * of other templates of the collection, for example the templates the requested one depends on. These templates
+     * are not loaded again.
+     * </p>
+     *
+     * @param templateNames names of the templates that can be loaded
+     * @param loader loads the batches of a template name
+     * @return lazy collection without loaded batches
+     * @throws NullPointerException if the names or the loader is null
+     */
+    public static FixtureBatchCollection lazy(@NotNull Set<String> templateNames,
+                                              @NotNull Function<String, List<FixtureBatch<? extends Fixture>>> loader) {
+        requireNonNull(templateNames, "Template names can`t be null");
+        requireNonNull(loader, "Loader can`t be null");
+        return new FixtureBatchCollection(new IndexedBatches(templateNames, loader));
+    }
+
     /**
      * Retrieves a list of fixtures that match the given template name and are instances of the specified type.
      *
      * @param templateName the name of the template to filter by; must not be null
      * @param type the class type of the desired fixtures; must not be null
      * @param <T> the type of the fixtures to retrieve, extending {@link Fixture}
-     * @return a list of fixtures matching the template name and type
+     * @return an unmodifiable list of fixtures matching the template name and type
      * @throws NullPointerException if either {@code templateName} or {@code type} is null
      */
     public <T extends Fixture> List<T> get(@NotNull String templateName, @NotNull Class<T> type) {
-        return batches.stream()
-                .filter(batch-> templateName.equals(batch.template().name()))
-                .map(FixtureBatch::fixtures)
-                .flatMap(List::stream)
-                .filter(type::isInstance)
-                .map(type::cast)
-                .toList();
+        requireNonNull(type, "Type can`t be null");
+        requireNonNull(templateName, "Template name can`t be null");
+        TemplateFixtures fixtures = ((IndexedBatches) batches).fixtures(templateName);
+        return fixtures == null ? List.of() : fixtures.ofType(type);
     }
 
     /**
-     * Cleanup after use.
+     * Cleanup after use. If the deferred deletion is enabled, the batches are deleted in the background
+     * and the method returns immediately. The batches of a lazy collection are deleted in the reverse order
+     * of their loading.
      *
      * @throws Exception throw an exception if an error occurs during deletion
+     * @see DeferredDeletion
      */
     @Override
     public void close() throws Exception {
-        TestDataPreparer.processTemplatesForDeletion(batches);
+        List<List<FixtureBatch<? extends Fixture>>> loaded = ((IndexedBatches) batches).close();
+        if (DeferredDeletion.isEnabled()) {
+            DeferredDeletion.shared().submitLoadings(loaded);
+            return;
+        }
+        TestDataPreparer.processLoadingsForDeletion(loaded);
+    }
+
+    /**
+     * Unmodifiable list of the batches with the index of their fixtures by template name. A lazy list grows
+     * when a template is loaded, readers see a consistent snapshot of the batches loaded so far.
+     */
+    private static final class IndexedBatches extends AbstractList<FixtureBatch<? extends Fixture>> {
+
+        private final Function<String, List<FixtureBatch<? extends Fixture>>> loader;
+        private final Set<String> pending;
+        private final List<List<FixtureBatch<? extends Fixture>>> loadings = new ArrayList<>();
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private volatile List<FixtureBatch<? extends Fixture>> batches;
+        private volatile Map<String, TemplateFixtures> index;
+        private boolean closed;
+
+        private IndexedBatches(List<FixtureBatch<? extends Fixture>> batches) {
+            this.batches = batches;
+            this.index = index(Map.of(), batches);
+            this.loader = null;
+            this.pending = Set.of();
+            this.loadings.add(batches);
+        }
+
+        private IndexedBatches(Set<String> templateNames, Function<String, List<FixtureBatch<? extends Fixture>>> loader) {
+            this.batches = List.of();
+            this.index = Map.of();
+            this.loader = loader;
+            this.pending = new LinkedHashSet<>(templateNames);
+        }
+
+        /**
+         * Takes the list over for a new collection, a list already owned by a collection is copied instead.
+         */
+        private boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        private TemplateFixtures fixtures(String templateName) {
+            TemplateFixtures fixtures = index.get(templateName);
+            if (fixtures == null && loader != null) {
+                fixtures = load(templateName);
+            }
+            return fixtures;
+        }
+
+        /**
+         * Loads the template if it has not been loaded yet.
+         *
+         * @param templateName name of the template
+         * @return fixtures of the template, or null if it has none
+         */
+        private synchronized TemplateFixtures load(String templateName) {
+            if (pending.contains(templateName)) {
+                if (closed) {
+                    throw new IllegalStateException("Fixtures of the template named:" + templateName + " can`t be loaded after close");
+                }
+                List<FixtureBatch<? extends Fixture>> loaded = List.copyOf(loader.apply(templateName));
+                pending.remove(templateName);
+                loaded.forEach(batch -> pending.remove(batch.template().name()));
+                loadings.add(loaded);
+
+                List<FixtureBatch<? extends Fixture>> all = new ArrayList<>(batches);
+                all.addAll(loaded);
+                index = index(index, loaded);
+                batches = List.copyOf(all);
+            }
+            return index.get(templateName);
+        }
+
+        /**
+         * Closes the list for loading.
+         *
+         * @return batches of the loadings in the loading order
+         */
+        private synchronized List<List<FixtureBatch<? extends Fixture>>> close() {
+            closed = true;
+            return List.copyOf(loadings);
+        }
+
+        @Override
+        public FixtureBatch<? extends Fixture> get(int index) {
+            return batches.get(index);
+        }
+
+        @Override
+        public int size() {
+            return batches.size();
+        }
+
+        @Override
+        public Iterator<FixtureBatch<? extends Fixture>> iterator() {
+            return batches.iterator();
+        }
+
+        @Override
+        public Spliterator<FixtureBatch<? extends Fixture>> spliterator() {
+            return batches.spliterator();
+        }
+    }
+
+    /**
+     * Adds the fixtures of the batches to the index by template name, keeping the order of the batches. Only the
+     * templates of the batches get a new view, the views of the other templates are reused.
+     *
+     * @param index current index
+     * @param batches added fixture batches
+     * @return fixtures by template name
+     */
+    private static Map<String, TemplateFixtures> index(Map<String, TemplateFixtures> index,
+                                                       List<FixtureBatch<? extends Fixture>> batches) {
+        Map<String, List<List<Fixture>>> byTemplate = new HashMap<>();
+        for (FixtureBatch<? extends Fixture> batch : batches) {
+            if (batch.fixtures() != null) {
+                byTemplate.computeIfAbsent(batch.template().name(), name -> {
+                    TemplateFixtures existing = index.get(name);
+                    return existing == null ? new ArrayList<>() : new ArrayList<>(existing.lists);
+                }).add(Collections.unmodifiableList(batch.fixtures()));
+            }
+        }
+        if (byTemplate.isEmpty()) {
+            return index;
+        }
+
+        Map<String, TemplateFixtures> updated = new HashMap<>(index);
+        byTemplate.forEach((name, lists) -> updated.put(name, new TemplateFixtures(lists)));
+        return Map.copyOf(updated);
+    }
+
+    /**
+     * Fixtures of one template and their views by type.
+     */
+    private static final class TemplateFixtures {
+        private final List<List<Fixture>> lists;
+        private final List<Fixture> fixtures;
+        private final Map<Class<?>, List<?>> byType = new ConcurrentHashMap<>();
+
+        /**
+         * @param lists read-only fixture lists of the batches of the template
+         */
+        private TemplateFixtures(List<List<Fixture>> lists) {
+            this.lists = List.copyOf(lists);
+            this.fixtures = ChunkedFixtures.of(this.lists);
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T extends Fixture> List<T> ofType(Class<T> type) {
+            List<?> view = byType.get(type);
+            if (view == null) {
+                view = byType.computeIfAbsent(type, this::filter);
+            }
+            return (List<T>) view;
+        }
+
+        /**
+         * Returns the fixtures of the type, or all fixtures without another copy if all of them are of the type.
+         */
+        private List<?> filter(Class<?> type) {
+            if (fixtures.stream().allMatch(type::isInstance)) {
+                return fixtures;
+            }
+            return fixtures.stream()
+                    .filter(type::isInstance)
+                    .toList();
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,44 @@
+package io.github.stasbykov.datapreparer.api.core;
+
+import java.util.function.Supplier;
+
+/**
+ * Index-aware source of fixture data.
+ * <p>
+ * Unlike a plain {@link Supplier}, a generator receives the index of the fixture in the batch and a seed derived
+ * from the {@code fixture.generation.seed} property, the template name and the index. A generator must be
+ * thread-safe and must build the fixture only from its arguments (e.g. {@code new Random(seed)} or a seeded Faker),
+ * then large batches are generated concurrently and the result does not depend on the number of threads.
+ * </p>
+ * <pre>{@code
+ * FixtureGenerator<User> users = (index, seed) -> UserFactory.create(new Random(seed));
+ * new FixtureTemplate<>("users", loader, deleter, users);
+ * }</pre>
+ *
+ * @param <T> type of fixture
+ *
+ * @see FixtureTemplate#data()
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface FixtureGenerator<T extends Fixture> extends Supplier<T> {
+
+    /**
+     * Generates the fixture with the given index.
+     *
+     * @param index index of the fixture in the batch, starting from 0
+     * @param seed seed of the fixture
+     * @return fixture, or null to skip the index
+     */
+    T generate(int index, long seed);
+
+    /**
+     * Generates the first fixture with the seed 0.
+     *
+     * @return fixture
+     */
+    @Override
+    default T get() {
+        return generate(0, 0L);
+    }
+}
@@ -1,6 +1,8 @@
 package io.github.stasbykov.datapreparer.api.core;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * Fixture register
@@ -11,4 +13,18 @@ import java.util.List;
  */
 public interface FixtureRegistry<T extends Fixture> {
     List<FixtureTemplate<T>> getTemplates();
+
+    /**
+     * Declares the names of the templates without creating them.
+     * <p>
+     * A registry whose templates are expensive to create can return the names of all templates from
+     * {@link #getTemplates()} here. Then {@link #getTemplates()} is called only when one of the names is requested
+     * for the first time.
+     * </p>
+     *
+     * @return names of the templates, or empty if the names are not declared
+     */
+    default Optional<Set<String>> getTemplateNames() {
+        return Optional.empty();
+    }
 }
@@ -0,0 +1,16 @@
+package io.github.stasbykov.datapreparer.api.core;
+
+/**
+ * Mark in a transactional store taken before a template is loaded, see {@link TransactionalFixtureDeleter}.
+ *
+ * @see TransactionalFixtureDeleter
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface FixtureSavepoint {
+
+    /**
+     * Reverts the store to the state of the mark, discarding everything loaded after it.
+     */
+    void rollback();
+}
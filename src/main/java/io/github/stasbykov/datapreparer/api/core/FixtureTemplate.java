@@ -1,5 +1,6 @@
 package io.github.stasbykov.datapreparer.api.core;
 
+import java.util.List;
 import java.util.function.Supplier;
 
 /**
@@ -10,6 +11,12 @@ import java.util.function.Supplier;
  * @param deleter instance FixtureDeleter implementation for fixture
  * @param data
  * Fixture data for creating test data in tests. For example, users, orders, etc.
+ * @param dependencies
+ * Names of the templates that must be loaded before this template and deleted after it, e.g. users for orders.
+ * Dependencies take effect only between templates of the same setup.
+ * @param maxConcurrency
+ * Maximum number of loadings and deletions of the template running at the same time across all tests,
+ * 0 for no limit. Further operations wait in the arrival order.
  * @param <T> a fixture type for creating test data in tests. For example, users, orders, etc.
  *
  * @see FixtureLoader
@@ -19,4 +26,50 @@ import java.util.function.Supplier;
 public record FixtureTemplate<T extends Fixture>(String name,
                                                  FixtureLoader<T> loader,
                                                  FixtureDeleter<T> deleter,
-                                                 Supplier<T> data) {}
+                                                 Supplier<T> data,
+                                                 List<String> dependencies,
+                                                 int maxConcurrency) {
+
+    public FixtureTemplate {
+        dependencies = dependencies == null ? List.of() : List.copyOf(dependencies);
+        if (maxConcurrency < 0) {
+            throw new IllegalArgumentException("The maximum concurrency of a template can`t be negative.");
+        }
+    }
+
+    /**
+     * Creates a template without a concurrency limit.
+     *
+     * @param name template name
+     * @param loader instance FixtureLoader implementation for fixture
+     * @param deleter instance FixtureDeleter implementation for fixture
+     * @param data fixture data for creating test data in tests
+     * @param dependencies names of the templates that must be loaded before this template
+     */
+    public FixtureTemplate(String name, FixtureLoader<T> loader, FixtureDeleter<T> deleter, Supplier<T> data,
+                           List<String> dependencies) {
+        this(name, loader, deleter, data, dependencies, 0);
+    }
+
+    /**
+     * Creates a template without dependencies.
+     *
+     * @param name template name
+     * @param loader instance FixtureLoader implementation for fixture
+     * @param deleter instance FixtureDeleter implementation for fixture
+     * @param data fixture data for creating test data in tests
+     */
+    public FixtureTemplate(String name, FixtureLoader<T> loader, FixtureDeleter<T> deleter, Supplier<T> data) {
+        this(name, loader, deleter, data, List.of());
+    }
+
+    /**
+     * Returns a copy of the template with the given concurrency limit.
+     *
+     * @param maxConcurrency maximum number of loadings and deletions running at the same time, 0 for no limit
+     * @return template with the limit
+     */
+    public FixtureTemplate<T> withMaxConcurrency(int maxConcurrency) {
+        return new FixtureTemplate<>(name, loader, deleter, data, dependencies, maxConcurrency);
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.stasbykov.datapreparer.api.core;
+
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Fixture data whose generated fixtures are cached on disk between runs.
+ * <p>
+ * Wraps a deterministic {@link Supplier} or {@link FixtureGenerator}: the same version must always produce the same
+ * fixtures. The first run generates the fixtures and writes them to a snapshot file keyed by the template name,
+ * the generated range, the generation seed and the version; later runs read the snapshot instead of calling the data.
+ * Change the version whenever the generated fixtures change. The fixtures must be {@link java.io.Serializable},
+ * otherwise they are generated on every run.
+ * </p>
+ * <pre>{@code
+ * new FixtureTemplate<>("documents", loader, deleter, new SnapshotFixtureData<>("v3", DocumentFactory::create));
+ * }</pre>
+ *
+ * @param version version of the generated fixtures
+ * @param data deterministic fixture data
+ * @param <T> type of fixture
+ *
+ * @see FixtureTemplate#data()
+ * @since 1.0.0
+ */
+public record SnapshotFixtureData<T extends Fixture>(String version, Supplier<T> data) implements Supplier<T> {
+
+    public SnapshotFixtureData {
+        requireNonNull(version, "Snapshot version can`t be null");
+        requireNonNull(data, "Fixture data can`t be null");
+    }
+
+    /**
+     * Returns a fixture of the wrapped data.
+     *
+     * @return fixture
+     */
+    @Override
+    public T get() {
+        return data.get();
+    }
+}
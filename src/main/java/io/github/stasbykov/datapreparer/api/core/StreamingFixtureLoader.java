@@ -0,0 +1,69 @@
+package io.github.stasbykov.datapreparer.api.core;
+
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Fixture loader that receives the fixtures in chunks.
+ * <p>
+ * The fixtures of a template are generated lazily, one chunk at a time, so a template with a very large count
+ * never holds all generated fixtures in memory and the backend gets several calls of a bounded size.
+ * The loader returns only what the {@link FixtureDeleter} needs to delete the chunk later, e.g. fixtures with
+ * identifiers only, or an empty list if the fixtures are deleted in another way.
+ * </p>
+ *
+ * @param <T> is the type of fixture to be created. Must be implementation of the {@link Fixture} class.
+ *
+ * @see FixtureLoader
+ * @since 1.0.0
+ */
+public interface StreamingFixtureLoader<T extends Fixture> extends FixtureLoader<T> {
+
+    /**
+     * Loads one chunk of fixtures.
+     *
+     * @param chunk generated fixtures, at most {@link #chunkSize()} of them
+     * @return fixtures required to delete the chunk
+     */
+    List<T> loadChunk(List<T> chunk);
+
+    /**
+     * Returns the maximum number of fixtures in one chunk.
+     *
+     * @return chunk size, or 0 to use the size from the {@code fixture.load.chunk-size} property
+     */
+    default int chunkSize() {
+        return 0;
+    }
+
+    @Override
+    default List<T> load(List<T> fixture) {
+        return loadChunk(fixture);
+    }
+
+    /**
+     * Adapts a loader to the chunked loading. A plain {@link FixtureLoader} receives all fixtures in one chunk.
+     *
+     * @param loader fixture loader
+     * @param <T> type of fixture
+     * @return the loader itself if it is a streaming loader, otherwise an adapter
+     */
+    static <T extends Fixture> StreamingFixtureLoader<T> of(FixtureLoader<T> loader) {
+        requireNonNull(loader, "FixtureLoader can`t be null");
+        if (loader instanceof StreamingFixtureLoader<T> streamingLoader) {
+            return streamingLoader;
+        }
+        return new StreamingFixtureLoader<>() {
+            @Override
+            public List<T> loadChunk(List<T> chunk) {
+                return loader.load(chunk);
+            }
+
+            @Override
+            public int chunkSize() {
+                return Integer.MAX_VALUE;
+            }
+        };
+    }
+}
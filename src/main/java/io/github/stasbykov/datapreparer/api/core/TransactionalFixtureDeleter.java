@@ -0,0 +1,38 @@
+package io.github.stasbykov.datapreparer.api.core;
+
+import java.util.List;
+
+/**
+ * Fixture deleter for transactional stores that reverts the loaded fixtures instead of deleting them one by one.
+ * <p>
+ * Before the fixtures of the template are loaded, {@link #begin()} marks the store, e.g. sets a savepoint or takes
+ * a snapshot. On cleanup the mark is rolled back instead of calling {@link #delete(List)}. Marks are rolled back
+ * in the reverse order of their creation: a template is rolled back before the templates it depends on, and
+ * templates of one setup in the reverse of the declared order.
+ * </p>
+ *
+ * @param <T> is the type of fixture to be removed. Must be implementation of the {@link Fixture} class.
+ *
+ * @see FixtureSavepoint
+ * @since 1.0.0
+ */
+public interface TransactionalFixtureDeleter<T extends Fixture> extends FixtureDeleter<T> {
+
+    /**
+     * Marks the store before the fixtures of the template are loaded.
+     *
+     * @return mark to roll back on cleanup
+     */
+    FixtureSavepoint begin();
+
+    /**
+     * Fixtures of a transactional deleter are reverted by their {@link FixtureSavepoint}.
+     *
+     * @param fixture fixtures returned by the loader
+     * @throws UnsupportedOperationException always, unless overridden
+     */
+    @Override
+    default void delete(List<T> fixture) {
+        throw new UnsupportedOperationException("Fixtures of a transactional deleter are reverted by their savepoint");
+    }
+}
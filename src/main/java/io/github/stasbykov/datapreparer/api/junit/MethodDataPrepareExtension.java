@@ -3,7 +3,7 @@ package io.github.stasbykov.datapreparer.api.junit;
 import io.github.stasbykov.datapreparer.api.annotation.MethodDataSetup;
 import io.github.stasbykov.datapreparer.api.core.FixtureBatchCollection;
 import io.github.stasbykov.datapreparer.internal.junit.PrepareExtensionManager;
-import io.github.stasbykov.datapreparer.internal.util.scanner.ClassgraphScanner;
+import io.github.stasbykov.datapreparer.internal.util.scanner.ClassScanners;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.ParameterContext;
 import org.junit.jupiter.api.extension.ParameterResolutionException;
@@ -24,10 +24,13 @@ public class MethodDataPrepareExtension implements ParameterResolver {
     private final Logger logger;
 
     /**
-     * A default constructor that initializes the object using Classgraph to scan fixture interfaces.
+     * A default constructor that initializes the object using the scanner selected in the properties
+     * to find fixture registries.
+     *
+     * @see ClassScanners
      */
     public MethodDataPrepareExtension() {
-        this(new PrepareExtensionManager(new ClassgraphScanner(),
+        this(new PrepareExtensionManager(ClassScanners.create(),
                         ExtensionContext.Namespace.create(MethodDataPrepareExtension.class)),
                 LoggerFactory.getLogger(MethodDataPrepareExtension.class));
     }
@@ -0,0 +1,89 @@
+package io.github.stasbykov.datapreparer.api.junit;
+
+import io.github.stasbykov.datapreparer.api.annotation.SessionFixtureInject;
+import io.github.stasbykov.datapreparer.api.core.FixtureBatchCollection;
+import io.github.stasbykov.datapreparer.internal.junit.SessionFixtures;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolutionException;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+
+/**
+ * A JUnit extension that injects the fixtures loaded once per launcher session into fields and parameters
+ * annotated with {@link SessionFixtureInject}.
+ *
+ * @see SessionFixtures
+ * @since 1.0.0
+ */
+public final class SessionDataPrepareExtension implements BeforeEachCallback, ParameterResolver {
+
+    private final Logger logger = LoggerFactory.getLogger(SessionDataPrepareExtension.class);
+
+    /**
+     * Injects the session fixtures into the fields annotated with {@link SessionFixtureInject} before each test.
+     * Extensions declared on instance fields are registered after the test instance is post-processed,
+     * so the fields are filled here.
+     *
+     * @param context JUnit extension context
+     * @throws IllegalAccessException if errors occur when working with class fields
+     */
+    @Override
+    public void beforeEach(ExtensionContext context) throws IllegalAccessException {
+        for (Object testInstance : context.getRequiredTestInstances().getAllInstances()) {
+            injectSessionFixtures(testInstance);
+        }
+    }
+
+    /**
+     * Injects the session fixtures into the fields of the instance and its superclasses.
+     *
+     * @param testInstance test class instance
+     * @throws IllegalAccessException if errors occur when working with class fields
+     */
+    private void injectSessionFixtures(Object testInstance) throws IllegalAccessException {
+        for (Class<?> type = testInstance.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (!field.isAnnotationPresent(SessionFixtureInject.class)) {
+                    continue;
+                }
+                if (field.getType() != FixtureBatchCollection.class) {
+                    throw new IllegalArgumentException("The field " + field.getName() + " annotated with @SessionFixtureInject must be of type FixtureBatchCollection.");
+                }
+                logger.info("Saving session fixtures to the field {}.", field.getName());
+                field.setAccessible(true);
+                field.set(testInstance, SessionFixtures.get());
+            }
+        }
+    }
+
+    /**
+     * Checks if the parameter is supported by the current extension.
+     *
+     * @param parameterContext JUnit parameter context
+     * @param extensionContext JUnit extension context
+     * @return true if the parameter is annotated with {@link SessionFixtureInject} and is of type {@link FixtureBatchCollection}
+     * @throws ParameterResolutionException if an error occurs while validating the parameter
+     */
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) throws ParameterResolutionException {
+        return parameterContext.isAnnotated(SessionFixtureInject.class) && parameterContext.getParameter().getType().equals(FixtureBatchCollection.class);
+    }
+
+    /**
+     * Resolves the parameter with the session fixtures.
+     *
+     * @param parameterContext JUnit parameter context
+     * @param extensionContext JUnit extension context
+     * @return session fixtures
+     * @throws ParameterResolutionException if an error occurs while resolving the parameter
+     */
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) throws ParameterResolutionException {
+        return SessionFixtures.get();
+    }
+}
@@ -3,17 +3,41 @@ package io.github.stasbykov.datapreparer.internal.core;
 import io.github.stasbykov.datapreparer.api.core.Fixture;
 import io.github.stasbykov.datapreparer.api.core.FixtureRegistry;
 import io.github.stasbykov.datapreparer.api.core.FixtureTemplate;
+import io.github.stasbykov.datapreparer.internal.jfr.FixtureScanEvent;
 import io.github.stasbykov.datapreparer.internal.util.scanner.ClassScanner;
+import io.github.stasbykov.datapreparer.internal.util.scanner.LazyClassScanner;
+import io.github.stasbykov.datapreparer.internal.util.scanner.LazyInstance;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static java.util.Objects.requireNonNull;
 
 /**
  * A fixture handler class that loads fixture templates from various registries.
+ * <p>
+ * Templates are looked up in a hash index by name. Template names must be unique across all registries,
+ * a duplicate name is reported as soon as both registries are indexed. A registry is indexed as a whole: if one of
+ * its names is a duplicate, none of them is added.
+ * </p>
+ * <p>
+ * If a registry declares its template names with {@link FixtureRegistry#getTemplateNames()}, the names are indexed
+ * when the handler is built, so duplicates are reported right away, and the templates are created only when one of
+ * the names is requested for the first time. If the scanner is a {@link LazyClassScanner}, only the registries whose
+ * classes override {@link FixtureRegistry#getTemplateNames()} are created when the handler is built. The other
+ * registries are created on demand: a template that has not been found yet is searched in these registries one by
+ * one, so a duplicate name in them is reported when the registry is created.
+ * </p>
  *
  * @see FixtureRegistry
  * @see FixtureTemplate
@@ -21,11 +45,13 @@ import static java.util.Objects.requireNonNull;
  */
 public class FixtureHandler {
 
-    private final List<FixtureTemplate<? extends Fixture>> templates;
+    private final Map<String, RegistryTemplates> index = new ConcurrentHashMap<>();
+    private final Deque<Supplier<? extends FixtureRegistry<? extends Fixture>>> pendingRegistries = new ArrayDeque<>();
 
     /**
      * Parameter value for storing the package name with {@link FixtureRegistry}
      * Used to configure the packet scan scope limitation when creating a template registry.
+     * Several packages are separated by commas.
      */
     private final static String PACKAGE_NAME_PROPERTIES = "fixture.package.registry";
 
@@ -34,20 +60,71 @@ public class FixtureHandler {
      *
      * @param scanner Interface scanner for searching and instantiating classes
      * @throws NullPointerException If the scanner was not transmitted
+     * @throws IllegalStateException If several templates have the same name
      */
     public FixtureHandler(@NotNull ClassScanner scanner) {
+        requireNonNull(scanner, "Scanner can`t be null");
+        String packageName = getPackageName().orElse("");
+        FixtureScanEvent event = new FixtureScanEvent();
+        event.scanner = scanner.getClass().getName();
+        event.packageName = packageName;
+        event.begin();
+        try {
+            findRegistries(scanner, packageName);
+        } catch (RuntimeException | Error e) {
+            event.finish(e);
+            throw e;
+        }
+        event.finish(null);
+    }
+
+    /**
+     * Finds the fixture registries and indexes their names. With a {@link LazyClassScanner}, registries that do not
+     * declare their names are created and indexed on demand.
+     *
+     * @param scanner Interface scanner for searching and instantiating classes
+     * @param packageName packages of the registries, empty for all packages
+     */
+    private void findRegistries(ClassScanner scanner, String packageName) {
         // Loading fixture registers
         @SuppressWarnings("unchecked ")
         Class<FixtureRegistry<? extends Fixture>> fixtureRegistryClass = (Class<FixtureRegistry<? extends Fixture>>) (Class<?>) FixtureRegistry.class;
-        List<FixtureRegistry<? extends Fixture>> registries = scanner.findAndInstantiate(fixtureRegistryClass, getPackageName().orElse(""));
-        // Adding fixture templates from registries to the list
-        templates = List.copyOf(registries.stream()
-                        .filter(Objects::nonNull)
-                        .map(FixtureRegistry::getTemplates)
-                        .filter(Objects::nonNull)
-                        .flatMap(List::stream)
-                        .toList());
+        if (scanner instanceof LazyClassScanner lazyScanner) {
+            for (LazyInstance<FixtureRegistry<? extends Fixture>> found : lazyScanner.findLazily(fixtureRegistryClass, packageName)) {
+                if (!declaresTemplateNames(found.type())) {
+                    pendingRegistries.add(found);
+                    continue;
+                }
+                FixtureRegistry<? extends Fixture> registry = found.get();
+                if (registry == null) {
+                    continue;
+                }
+                Optional<Set<String>> declaredNames = RegistryTemplates.declaredNames(registry);
+                if (declaredNames.isPresent()) {
+                    register(new RegistryTemplates(registry, declaredNames));
+                } else {
+                    pendingRegistries.add(() -> registry);
+                }
+            }
+            return;
+        }
+        // Adding fixture templates from registries to the index
+        scanner.findAndInstantiate(fixtureRegistryClass, packageName)
+                .forEach(this::register);
+    }
 
+    /**
+     * Checks whether the registry class overrides {@link FixtureRegistry#getTemplateNames()}.
+     *
+     * @param type registry class
+     * @return true if the registry may declare its template names
+     */
+    private static boolean declaresTemplateNames(Class<?> type) {
+        try {
+            return type.getMethod("getTemplateNames").getDeclaringClass() != FixtureRegistry.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
     }
 
     /**
@@ -56,13 +133,65 @@ public class FixtureHandler {
      * @param templateName The name of the fixture template to search for.
      * @return Optional fixture template value matching the given name.
      * @throws NullPointerException If fixture template name is null
+     * @throws IllegalStateException If several templates have the same name
      */
     public Optional<FixtureTemplate<? extends Fixture>> getTemplate(String templateName) {
         requireNonNull(templateName, "Template name can`t be null");
 
-        return templates.stream()
-                .filter(template -> templateName.equals(template.name()))
-                .findFirst();
+        RegistryTemplates registry = index.get(templateName);
+        if (registry == null) {
+            registry = findInPendingRegistries(templateName);
+        }
+        return registry == null ? Optional.empty() : Optional.of(registry.getTemplate(templateName));
+    }
+
+    /**
+     * Searches for a template in the registries that have not been created yet. A registry is created once and
+     * leaves the queue only when it is indexed, so a failed registry fails every following search the same way.
+     *
+     * @param templateName The name of the fixture template to search for.
+     * @return templates of the registry containing the template, or null if there is no such registry
+     */
+    private synchronized RegistryTemplates findInPendingRegistries(String templateName) {
+        RegistryTemplates registry = index.get(templateName);
+        while (registry == null && !pendingRegistries.isEmpty()) {
+            FixtureRegistry<? extends Fixture> pending = pendingRegistries.poll().get();
+            if (pending == null) {
+                continue;
+            }
+            try {
+                register(new RegistryTemplates(pending, RegistryTemplates.declaredNames(pending)));
+            } catch (RuntimeException | Error e) {
+                pendingRegistries.addFirst(() -> pending);
+                throw e;
+            }
+            registry = index.get(templateName);
+        }
+        return registry;
+    }
+
+    /**
+     * Adds the template names of the registry to the index, none of them if one is already in the index.
+     *
+     * @param registry fixture registry, may be null if it could not be instantiated
+     * @throws IllegalStateException If a template name is already in the index
+     */
+    private void register(FixtureRegistry<? extends Fixture> registry) {
+        if (registry == null) {
+            return;
+        }
+        register(new RegistryTemplates(registry, RegistryTemplates.declaredNames(registry)));
+    }
+
+    private synchronized void register(RegistryTemplates templates) {
+        for (String name : templates.names()) {
+            RegistryTemplates existing = index.get(name);
+            if (existing != null) {
+                throw new IllegalStateException(String.format("Duplicate fixture template name '%s' in the registries %s and %s. Template names must be unique.",
+                        name, existing.registryName(), templates.registryName()));
+            }
+        }
+        templates.names().forEach(name -> index.put(name, templates));
     }
 
     /**
@@ -70,7 +199,89 @@ public class FixtureHandler {
      *
      * @return The value of the package with {@link FixtureRegistry }, or empty if not set
      */
-    private Optional<String> getPackageName() {
+    static Optional<String> getPackageName() {
         return Optional.ofNullable(System.getProperty(PACKAGE_NAME_PROPERTIES));
     }
+
+    /**
+     * Templates of one registry. If the registry declares its template names, the templates are created
+     * on the first request, otherwise right away.
+     */
+    private static final class RegistryTemplates {
+
+        private final FixtureRegistry<? extends Fixture> registry;
+        private final Set<String> names;
+        private volatile Map<String, FixtureTemplate<? extends Fixture>> templates;
+
+        RegistryTemplates(FixtureRegistry<? extends Fixture> registry, Optional<Set<String>> declaredNames) {
+            this.registry = registry;
+            if (declaredNames.isPresent()) {
+                this.names = declaredNames.get().stream()
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toUnmodifiableSet());
+            } else {
+                this.templates = createTemplates();
+                this.names = templates.keySet();
+            }
+        }
+
+        /**
+         * Returns the template names declared by the registry.
+         *
+         * @param registry fixture registry
+         * @return declared names, or empty if the registry does not declare them
+         */
+        static Optional<Set<String>> declaredNames(FixtureRegistry<? extends Fixture> registry) {
+            return Optional.ofNullable(registry.getTemplateNames()).flatMap(names -> names);
+        }
+
+        Set<String> names() {
+            return names;
+        }
+
+        String registryName() {
+            return registry.getClass().getName();
+        }
+
+        /**
+         * Returns the template with the given name, creating the templates of the registry on the first call.
+         *
+         * @param name template name from {@link #names()}
+         * @return fixture template
+         * @throws IllegalStateException if the registry declares the name but does not return such template
+         */
+        FixtureTemplate<? extends Fixture> getTemplate(String name) {
+            Map<String, FixtureTemplate<? extends Fixture>> current = templates;
+            if (current == null) {
+                synchronized (this) {
+                    current = templates;
+                    if (current == null) {
+                        current = createTemplates();
+                        templates = current;
+                    }
+                }
+            }
+            FixtureTemplate<? extends Fixture> template = current.get(name);
+            if (template == null) {
+                throw new IllegalStateException(String.format("Fixture registry %s declares the template '%s', but does not return it from getTemplates().",
+                        registryName(), name));
+            }
+            return template;
+        }
+
+        private Map<String, FixtureTemplate<? extends Fixture>> createTemplates() {
+            Map<String, FixtureTemplate<? extends Fixture>> created = new HashMap<>();
+            Optional.ofNullable(registry.getTemplates())
+                    .orElse(List.of())
+                    .stream()
+                    .filter(template -> template != null && template.name() != null)
+                    .forEach(template -> {
+                        if (created.putIfAbsent(template.name(), template) != null) {
+                            throw new IllegalStateException(String.format("Duplicate fixture template name '%s' in the registry %s. Template names must be unique.",
+                                    template.name(), registryName()));
+                        }
+                    });
+            return Map.copyOf(created);
+        }
+    }
 }
@@ -0,0 +1,98 @@
+package io.github.stasbykov.datapreparer.internal.core;
+
+import io.github.stasbykov.datapreparer.api.core.FixtureRegistry;
+import io.github.stasbykov.datapreparer.internal.util.scanner.ClassScanner;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * JVM-wide cache of {@link FixtureHandler} instances.
+ * <p>
+ * JUnit creates extension instances for every test class, while scanning {@link FixtureRegistry} implementations
+ * is the most expensive part of building a handler. The cache runs the scan once per scanner configuration, see
+ * {@link ClassScanner#configuration()}, and registry package: the first caller builds the handler, concurrent
+ * callers wait for the same result and everyone else reuses it. A failed scan is not cached, so the next caller
+ * tries again.
+ * </p>
+ *
+ * @see FixtureHandler
+ * @since 1.0.0
+ */
+public final class FixtureHandlerCache {
+
+    private static final ConcurrentMap<Key, CompletableFuture<FixtureHandler>> HANDLERS = new ConcurrentHashMap<>();
+
+    private FixtureHandlerCache() {}
+
+    /**
+     * Returns the shared fixture handler for the scanner configuration and the current value of the registry package
+     * property, building it on the first call.
+     *
+     * @param scanner interface scanner used if the handler has not been built yet
+     * @return shared fixture handler
+     * @throws NullPointerException if the scanner was not transmitted
+     */
+    public static FixtureHandler getOrCreate(@NotNull ClassScanner scanner) {
+        requireNonNull(scanner, "Scanner can`t be null");
+        Key key = new Key(scanner.getClass(), scanner.configuration(), FixtureHandler.getPackageName().orElse(""));
+
+        CompletableFuture<FixtureHandler> created = new CompletableFuture<>();
+        CompletableFuture<FixtureHandler> existing = HANDLERS.putIfAbsent(key, created);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            FixtureHandler handler = new FixtureHandler(scanner);
+            created.complete(handler);
+            return handler;
+        } catch (RuntimeException | Error e) {
+            HANDLERS.remove(key, created);
+            created.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Drops all cached handlers, so the next call of {@link #getOrCreate(ClassScanner)} scans the registries again.
+     * Intended for tests that change the registry package property or the registries themselves.
+     */
+    public static void invalidate() {
+        HANDLERS.clear();
+    }
+
+    /**
+     * Waits for a handler that is being built by another thread.
+     *
+     * @param future handler being built
+     * @return built handler
+     */
+    private static FixtureHandler await(CompletableFuture<FixtureHandler> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Cache key of a fixture handler.
+     *
+     * @param scannerType type of the scanner that builds the handler
+     * @param scannerConfiguration configuration of the scanner and its fallback scanners
+     * @param packageName package with {@link FixtureRegistry}, or empty if not set
+     */
+    private record Key(Class<?> scannerType, String scannerConfiguration, String packageName) {}
+}
@@ -0,0 +1,31 @@
+package io.github.stasbykov.datapreparer.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event of the fixture deletion.
+ *
+ * @since 1.0.0
+ */
+@Name(FixtureDeleteEvent.NAME)
+@Label("Fixture deletion")
+@Description("Deletion of the fixtures of a template, or the rollback of its savepoint.")
+@Category({"JUnit Data Preparer"})
+public final class FixtureDeleteEvent extends FixtureEvent {
+
+    /**
+     * Name of the event.
+     */
+    public static final String NAME = "io.github.stasbykov.datapreparer.FixtureDelete";
+
+    @Label("Template")
+    @Description("Fixture template name")
+    public String template;
+
+    @Label("Count")
+    @Description("Number of deleted fixtures")
+    public int count;
+}
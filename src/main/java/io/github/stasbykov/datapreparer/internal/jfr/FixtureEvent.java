@@ -0,0 +1,39 @@
+package io.github.stasbykov.datapreparer.internal.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base of the JFR events of the fixture preparation, names the test and the outcome of the operation.
+ * <p>
+ * An event is created and begun before the operation and finished after it. When the event is not enabled in any
+ * recording, {@link #finish(Throwable)} only checks {@link #shouldCommit()}.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public abstract class FixtureEvent extends Event {
+
+    @Label("Test")
+    @Description("Test class or method the fixtures are prepared for")
+    public String test;
+
+    @Label("Outcome")
+    @Description("Success, or the class of the failure")
+    public String outcome;
+
+    /**
+     * Ends the event and commits it if it is enabled.
+     *
+     * @param failure failure of the operation, or null
+     */
+    public void finish(Throwable failure) {
+        end();
+        if (shouldCommit()) {
+            test = FixtureEvents.currentTest();
+            outcome = failure == null ? "success" : "failure: " + failure.getClass().getName();
+            commit();
+        }
+    }
+}
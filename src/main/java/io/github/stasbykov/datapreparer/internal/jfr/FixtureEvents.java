@@ -0,0 +1,86 @@
+package io.github.stasbykov.datapreparer.internal.jfr;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Keeps the test that fixtures are prepared for, so that the JFR events can name it.
+ * <p>
+ * The test is kept in an inheritable thread local: the virtual threads started by the loading see the test of the
+ * thread that started them. Threads of pools outlive the test that happens to start them, so the pools, such as the
+ * deferred deletion and the shared fixture pool, create their threads without inheriting it, and their tasks have
+ * to be given the test explicitly with {@link #inTest(String, Supplier)}.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public final class FixtureEvents {
+
+    private static final InheritableThreadLocal<String> CURRENT_TEST = new InheritableThreadLocal<>();
+
+    private FixtureEvents() {
+    }
+
+    /**
+     * Returns the test of the current thread.
+     *
+     * @return test class or method, or an empty string outside a test
+     */
+    public static String currentTest() {
+        String test = CURRENT_TEST.get();
+        return test == null ? "" : test;
+    }
+
+    /**
+     * Runs the action on behalf of the test.
+     *
+     * @param test test class or method
+     * @param action action to run
+     * @param <V> result type
+     * @return result of the action
+     */
+    public static <V> V inTest(@NotNull String test, @NotNull Supplier<V> action) {
+        requireNonNull(action, "Action can`t be null");
+        String previous = enter(test);
+        try {
+            return action.get();
+        } finally {
+            exit(previous);
+        }
+    }
+
+    /**
+     * Closes the resource on behalf of the test.
+     *
+     * @param test test class or method
+     * @param resource resource to close
+     * @throws Exception if the resource can`t be closed
+     */
+    public static void closeInTest(@NotNull String test, @NotNull AutoCloseable resource) throws Exception {
+        requireNonNull(resource, "Resource can`t be null");
+        String previous = enter(test);
+        try {
+            resource.close();
+        } finally {
+            exit(previous);
+        }
+    }
+
+    private static String enter(String test) {
+        requireNonNull(test, "Test can`t be null");
+        String previous = CURRENT_TEST.get();
+        CURRENT_TEST.set(test);
+        return previous;
+    }
+
+    private static void exit(String previous) {
+        if (previous == null) {
+            CURRENT_TEST.remove();
+        } else {
+            CURRENT_TEST.set(previous);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package io.github.stasbykov.datapreparer.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event of the fixture generation.
+ *
+ * @since 1.0.0
+ */
+@Name(FixtureGenerateEvent.NAME)
+@Label("Fixture generation")
+@Description("Generation of one chunk of fixtures.")
+@Category({"JUnit Data Preparer"})
+public final class FixtureGenerateEvent extends FixtureEvent {
+
+    /**
+     * Name of the event.
+     */
+    public static final String NAME = "io.github.stasbykov.datapreparer.FixtureGenerate";
+
+    @Label("Template")
+    @Description("Fixture template name")
+    public String template;
+
+    @Label("Count")
+    @Description("Number of generated fixtures")
+    public int count;
+}
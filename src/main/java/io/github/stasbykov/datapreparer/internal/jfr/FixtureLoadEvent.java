@@ -0,0 +1,31 @@
+package io.github.stasbykov.datapreparer.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event of the fixture loading.
+ *
+ * @since 1.0.0
+ */
+@Name(FixtureLoadEvent.NAME)
+@Label("Fixture loading")
+@Description("Generation and loading of all fixtures of a template.")
+@Category({"JUnit Data Preparer"})
+public final class FixtureLoadEvent extends FixtureEvent {
+
+    /**
+     * Name of the event.
+     */
+    public static final String NAME = "io.github.stasbykov.datapreparer.FixtureLoad";
+
+    @Label("Template")
+    @Description("Fixture template name")
+    public String template;
+
+    @Label("Count")
+    @Description("Requested number of fixtures")
+    public int count;
+}
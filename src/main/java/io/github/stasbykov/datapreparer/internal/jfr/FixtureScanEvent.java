@@ -0,0 +1,31 @@
+package io.github.stasbykov.datapreparer.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event of the registry scan.
+ *
+ * @since 1.0.0
+ */
+@Name(FixtureScanEvent.NAME)
+@Label("Registry scan")
+@Description("Construction of the fixture handler, including the scan of the fixture registries.")
+@Category({"JUnit Data Preparer"})
+public final class FixtureScanEvent extends FixtureEvent {
+
+    /**
+     * Name of the event.
+     */
+    public static final String NAME = "io.github.stasbykov.datapreparer.FixtureScan";
+
+    @Label("Scanner")
+    @Description("Class of the registry scanner")
+    public String scanner;
+
+    @Label("Package")
+    @Description("Package of the fixture registries")
+    public String packageName;
+}
@@ -0,0 +1,35 @@
+package io.github.stasbykov.datapreparer.internal.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event of the wait for a concurrency permit of a template.
+ *
+ * @since 1.0.0
+ */
+@Name(FixtureWaitEvent.NAME)
+@Label("Fixture concurrency wait")
+@Description("Wait for a loading or deletion slot of a template with a concurrency limit.")
+@Category({"JUnit Data Preparer"})
+public final class FixtureWaitEvent extends FixtureEvent {
+
+    /**
+     * Name of the event.
+     */
+    public static final String NAME = "io.github.stasbykov.datapreparer.FixtureWait";
+
+    @Label("Template")
+    @Description("Fixture template name")
+    public String template;
+
+    @Label("Operation")
+    @Description("Operation waiting for the permit: load or delete")
+    public String operation;
+
+    @Label("Max Concurrency")
+    @Description("Maximum number of operations of the template running at the same time")
+    public int maxConcurrency;
+}
@@ -0,0 +1,94 @@
+package io.github.stasbykov.datapreparer.internal.junit;
+
+import io.github.stasbykov.datapreparer.api.core.Fixture;
+import io.github.stasbykov.datapreparer.api.core.FixtureBatchCollection;
+import io.github.stasbykov.datapreparer.api.core.StreamingFixtureLoader;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Read-only view of the fixtures of a template loaded in chunks, see {@link StreamingFixtureLoader}.
+ * <p>
+ * The view keeps the lists returned by the loader for every chunk instead of copying them into one list, and the
+ * batches are deleted chunk by chunk, so the deleter gets calls of a bounded size as well. The same view joins
+ * the batches of a template in {@link FixtureBatchCollection}.
+ * </p>
+ *
+ * @param <T> fixture type
+ * @see TestDataPreparer
+ * @since 1.0.0
+ */
+public final class ChunkedFixtures<T extends Fixture> extends AbstractList<T> implements RandomAccess {
+
+    private final List<List<T>> chunks;
+    private final int[] offsets;
+
+    private ChunkedFixtures(List<List<T>> chunks) {
+        this.chunks = List.copyOf(chunks);
+        this.offsets = new int[this.chunks.size() + 1];
+        for (int i = 0; i < this.chunks.size(); i++) {
+            offsets[i + 1] = offsets[i] + this.chunks.get(i).size();
+        }
+    }
+
+    /**
+     * Returns the fixtures of the chunks, a single chunk is returned as it is.
+     *
+     * @param chunks results of the loader, nulls are skipped
+     * @param <T> fixture type
+     * @return fixtures of all chunks in the loading order
+     */
+    public static <T extends Fixture> List<T> of(List<List<T>> chunks) {
+        List<List<T>> loaded = new ArrayList<>(chunks.size());
+        for (List<T> chunk : chunks) {
+            if (chunk == null) {
+                continue;
+            }
+            if (chunk instanceof ChunkedFixtures<T> chunked) {
+                loaded.addAll(chunked.chunks);
+            } else {
+                loaded.add(chunk);
+            }
+        }
+        return loaded.size() == 1 ? loaded.getFirst() : new ChunkedFixtures<>(loaded);
+    }
+
+    /**
+     * Returns the chunks of the fixtures, a list that is not a chunked view, or null, is one chunk.
+     *
+     * @param fixtures fixtures of a batch
+     * @param <T> fixture type
+     * @return chunks in the loading order
+     */
+    static <T extends Fixture> List<List<T>> chunks(List<T> fixtures) {
+        if (fixtures instanceof ChunkedFixtures<T> chunked) {
+            return chunked.chunks;
+        }
+        return Collections.singletonList(fixtures);
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int chunk = Arrays.binarySearch(offsets, index);
+        if (chunk < 0) {
+            chunk = -chunk - 2;
+        }
+        while (offsets[chunk + 1] == index) {
+            chunk++;
+        }
+        return chunks.get(chunk).get(index - offsets[chunk]);
+    }
+
+    @Override
+    public int size() {
+        return offsets[offsets.length - 1];
+    }
+}
@@ -0,0 +1,264 @@
+package io.github.stasbykov.datapreparer.internal.junit;
+
+import io.github.stasbykov.datapreparer.api.annotation.ClassDataSetup;
+import io.github.stasbykov.datapreparer.api.core.FixtureBatchCollection;
+import io.github.stasbykov.datapreparer.internal.core.FixtureHandlerCache;
+import io.github.stasbykov.datapreparer.internal.jfr.FixtureEvents;
+import io.github.stasbykov.datapreparer.internal.util.property.SystemProperties;
+import io.github.stasbykov.datapreparer.internal.util.scanner.ClassScanners;
+import org.jetbrains.annotations.NotNull;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Test execution listener that loads the {@link ClassDataSetup} fixtures of the upcoming test classes in the
+ * background while the current class runs.
+ * <p>
+ * The listener is registered through the service loader and enabled by the {@code fixture.prefetch.enabled} property.
+ * When the execution starts, it takes the classes with {@link ClassDataSetup} from the test plan in the plan order and
+ * keeps the fixtures of at most {@code fixture.prefetch.window} classes loading ahead. When a class starts,
+ * {@link PrepareExtensionManager} takes its prefetched fixtures instead of loading them. Fixtures of classes that are
+ * skipped or finish without using them are deleted. When the execution finishes, the loadings and deletions still in
+ * flight are awaited, so no fixtures are left behind. Classes with {@link ClassDataSetup#shared()} fixtures are not
+ * prefetched, and nothing is prefetched in the lazy mode of {@link PrepareExtensionManager#LAZY_PROPERTIES}.
+ * </p>
+ *
+ * @see PrepareExtensionManager
+ * @since 1.0.0
+ */
+public final class ClassFixturePrefetcher implements TestExecutionListener {
+
+    /**
+     * Parameter value for enabling the prefetching of class fixtures.
+     */
+    public static final String ENABLED_PROPERTIES = "fixture.prefetch.enabled";
+
+    /**
+     * Parameter value for storing the number of classes whose fixtures are loaded ahead.
+     */
+    public static final String WINDOW_PROPERTIES = "fixture.prefetch.window";
+
+    /**
+     * Default number of classes whose fixtures are loaded ahead.
+     */
+    public static final int DEFAULT_WINDOW = 2;
+
+    private static final Map<Class<?>, CompletableFuture<FixtureBatchCollection>> PREFETCHED = new ConcurrentHashMap<>();
+    private static final Executor EXECUTOR = task -> Thread.ofVirtual().name("fixture-prefetch").start(task);
+
+    private final Logger logger = LoggerFactory.getLogger(ClassFixturePrefetcher.class);
+    private final boolean enabled;
+    private final int window;
+    private final Function<Class<?>, FixtureBatchCollection> loader;
+    private final Deque<Class<?>> upcoming = new ArrayDeque<>();
+    private final List<Class<?>> started = new ArrayList<>();
+    private final List<CompletableFuture<Void>> releasing = new ArrayList<>();
+
+    /**
+     * Creates a listener configured by the system properties.
+     */
+    public ClassFixturePrefetcher() {
+        this(SystemProperties.getBoolean(ENABLED_PROPERTIES, false),
+                SystemProperties.getInt(WINDOW_PROPERTIES, DEFAULT_WINDOW));
+    }
+
+    /**
+     * Creates a listener.
+     *
+     * @param enabled if false, the listener does nothing
+     * @param window number of classes whose fixtures are loaded ahead
+     */
+    public ClassFixturePrefetcher(boolean enabled, int window) {
+        this(enabled, window, ClassFixturePrefetcher::load);
+    }
+
+    /**
+     * Creates a listener with its own loading of the class fixtures.
+     *
+     * @param enabled if false, the listener does nothing
+     * @param window number of classes whose fixtures are loaded ahead
+     * @param loader loads the fixtures of a test class
+     */
+    public ClassFixturePrefetcher(boolean enabled, int window, @NotNull Function<Class<?>, FixtureBatchCollection> loader) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("The prefetch window must be positive.");
+        }
+        this.enabled = enabled;
+        this.window = window;
+        this.loader = requireNonNull(loader, "Loader can`t be null");
+    }
+
+    /**
+     * Takes the prefetched fixtures of the class, the fixtures are prefetched only once.
+     *
+     * @param testClass test class
+     * @return future of the fixtures, or empty if they are not prefetched
+     */
+    public static Optional<CompletableFuture<FixtureBatchCollection>> take(@NotNull Class<?> testClass) {
+        requireNonNull(testClass, "Test class can`t be null");
+        return Optional.ofNullable(PREFETCHED.remove(testClass));
+    }
+
+    @Override
+    public synchronized void testPlanExecutionStarted(TestPlan testPlan) {
+        if (!enabled || PrepareExtensionManager.isLazy()) {
+            return;
+        }
+        testPlan.getRoots().forEach(root -> collectClasses(testPlan, root));
+        logger.debug("Prefetching fixtures of {} test classes.", upcoming.size());
+        fillWindow();
+    }
+
+    @Override
+    public synchronized void executionStarted(TestIdentifier testIdentifier) {
+        testClass(testIdentifier).ifPresent(testClass -> {
+            upcoming.remove(testClass);
+            started.add(testClass);
+            fillWindow();
+        });
+    }
+
+    @Override
+    public synchronized void executionSkipped(TestIdentifier testIdentifier, String reason) {
+        testClass(testIdentifier).ifPresent(testClass -> {
+            upcoming.remove(testClass);
+            release(testClass);
+            fillWindow();
+        });
+    }
+
+    @Override
+    public synchronized void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        testClass(testIdentifier).ifPresent(testClass -> {
+            started.remove(testClass);
+            release(testClass);
+        });
+    }
+
+    /**
+     * Deletes the fixtures that have not been taken. Loadings in flight are awaited and their fixtures are deleted
+     * in the calling thread, and so are the deletions started before, so the JVM never exits in the middle of them.
+     */
+    @Override
+    public synchronized void testPlanExecutionFinished(TestPlan testPlan) {
+        upcoming.clear();
+        started.clear();
+        List.copyOf(PREFETCHED.keySet()).forEach(this::releaseNow);
+        releasing.forEach(CompletableFuture::join);
+        releasing.clear();
+    }
+
+    /**
+     * Collects the classes with {@link ClassDataSetup} in the plan order, classes with shared fixtures are skipped.
+     */
+    private void collectClasses(TestPlan testPlan, TestIdentifier identifier) {
+        testClass(identifier)
+                .filter(testClass -> AnnotationSupport.findAnnotation(testClass, ClassDataSetup.class)
+                        .map(setup -> !setup.shared())
+                        .orElse(false))
+                .filter(testClass -> !upcoming.contains(testClass))
+                .ifPresent(upcoming::add);
+        testPlan.getChildren(identifier).forEach(child -> collectClasses(testPlan, child));
+    }
+
+    /**
+     * Starts loading the upcoming classes until the window is full. Fixtures of the classes that have already
+     * started do not occupy the window.
+     */
+    private void fillWindow() {
+        long inFlight = PREFETCHED.keySet().stream().filter(testClass -> !started.contains(testClass)).count();
+        for (Class<?> testClass : upcoming) {
+            if (inFlight >= window) {
+                return;
+            }
+            if (!PREFETCHED.containsKey(testClass)) {
+                startLoading(testClass);
+                inFlight++;
+            }
+        }
+    }
+
+    private void startLoading(Class<?> testClass) {
+        logger.debug("Prefetching fixtures of {}.", testClass.getName());
+        PREFETCHED.computeIfAbsent(testClass, key -> CompletableFuture.supplyAsync(
+                () -> FixtureEvents.inTest(key.getName(), () -> loader.apply(key)), EXECUTOR));
+    }
+
+    private static FixtureBatchCollection load(Class<?> testClass) {
+        TestDataPreparer preparer = new TestDataPreparer(FixtureHandlerCache.getOrCreate(ClassScanners.create()));
+        return new FixtureBatchCollection(preparer.processTemplatesForLoading(ClassPreparationPlan.of(testClass).templates()));
+    }
+
+    /**
+     * Deletes the prefetched fixtures of a class that has not taken them as soon as they are loaded.
+     */
+    private void release(Class<?> testClass) {
+        CompletableFuture<FixtureBatchCollection> fixtures = PREFETCHED.remove(testClass);
+        if (fixtures == null) {
+            return;
+        }
+        logger.debug("Deleting unused prefetched fixtures of {}.", testClass.getName());
+        releasing.removeIf(CompletableFuture::isDone);
+        releasing.add(fixtures.handle((collection, failure) -> {
+            if (collection != null) {
+                close(testClass, collection);
+            }
+            return null;
+        }));
+    }
+
+    /**
+     * Waits for the prefetched fixtures of a class that has not taken them and deletes them in the calling thread.
+     * A failed loading has already deleted what it loaded.
+     */
+    private void releaseNow(Class<?> testClass) {
+        CompletableFuture<FixtureBatchCollection> fixtures = PREFETCHED.remove(testClass);
+        if (fixtures == null) {
+            return;
+        }
+        logger.debug("Deleting unused prefetched fixtures of {}.", testClass.getName());
+        FixtureBatchCollection collection;
+        try {
+            collection = fixtures.join();
+        } catch (CompletionException | CancellationException e) {
+            logger.debug("Prefetching fixtures of {} failed.", testClass.getName(), e);
+            return;
+        }
+        close(testClass, collection);
+    }
+
+    private void close(Class<?> testClass, FixtureBatchCollection collection) {
+        try {
+            FixtureEvents.closeInTest(testClass.getName(), collection);
+        } catch (Exception e) {
+            logger.error("Failed to delete prefetched fixtures of {}.", testClass.getName(), e);
+        }
+    }
+
+    private static Optional<Class<?>> testClass(TestIdentifier identifier) {
+        return identifier.getSource()
+                .filter(ClassSource.class::isInstance)
+                .map(source -> ((ClassSource) source).getJavaClass());
+    }
+}
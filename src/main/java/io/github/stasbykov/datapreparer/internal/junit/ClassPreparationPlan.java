@@ -0,0 +1,133 @@
+package io.github.stasbykov.datapreparer.internal.junit;
+
+import io.github.stasbykov.datapreparer.api.annotation.ClassDataSetup;
+import io.github.stasbykov.datapreparer.api.annotation.FixtureInject;
+import io.github.stasbykov.datapreparer.api.annotation.Template;
+import io.github.stasbykov.datapreparer.api.core.FixtureBatchCollection;
+import org.jetbrains.annotations.NotNull;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Optional;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Preparation plan of a test class with {@link ClassDataSetup}, compiled once per class and cached in a
+ * {@link ClassValue}.
+ * <p>
+ * The plan holds the annotation, its validated templates and the accessible field annotated with
+ * {@link FixtureInject}, which may be declared by the class or one of its superclasses. Test instances of the class
+ * only apply the plan, without looking up annotations and fields again.
+ * </p>
+ *
+ * @see io.github.stasbykov.datapreparer.api.junit.ClassDataPrepareExtension
+ * @since 1.0.0
+ */
+public final class ClassPreparationPlan {
+
+    private static final ClassValue<ClassPreparationPlan> PLANS = new ClassValue<>() {
+        @Override
+        protected ClassPreparationPlan computeValue(Class<?> testClass) {
+            return new ClassPreparationPlan(testClass);
+        }
+    };
+
+    private final ClassDataSetup setup;
+    private final Template[] templates;
+    private final Field injectField;
+
+    private ClassPreparationPlan(Class<?> testClass) {
+        String message = String.format("The required mandatory annotation %s was not found.", ClassDataSetup.class.getName());
+        this.setup = AnnotationSupport.findAnnotation(testClass, ClassDataSetup.class)
+                .orElseThrow(() -> new IllegalStateException(message));
+        this.templates = setup.value();
+        TestDataPreparer.validateTemplate(templates);
+        this.injectField = setup.inject() ? findInjectField(testClass).map(ClassPreparationPlan::accessible).orElse(null) : null;
+    }
+
+    /**
+     * Returns the plan of the test class, compiling it on the first call.
+     *
+     * @param testClass test class annotated with {@link ClassDataSetup}
+     * @return preparation plan
+     * @throws IllegalStateException if the class is not annotated with {@link ClassDataSetup}
+     * @throws IllegalArgumentException if the templates fail validation
+     */
+    public static ClassPreparationPlan of(@NotNull Class<?> testClass) {
+        requireNonNull(testClass, "Test class can`t be null");
+        return PLANS.get(testClass);
+    }
+
+    /**
+     * Returns the annotation of the class.
+     *
+     * @return annotation {@link ClassDataSetup}
+     */
+    public ClassDataSetup setup() {
+        return setup;
+    }
+
+    /**
+     * Returns the validated templates of the annotation, the array must not be modified.
+     *
+     * @return array of annotations {@link Template}
+     */
+    public Template[] templates() {
+        return templates;
+    }
+
+    /**
+     * Checks whether the fixtures are injected into the test instances.
+     *
+     * @return value of {@link ClassDataSetup#inject()}
+     */
+    public boolean inject() {
+        return setup.inject();
+    }
+
+    /**
+     * Injects the fixtures into the field annotated with {@link FixtureInject}.
+     *
+     * @param testInstance test class instance
+     * @param fixtures prepared fixtures
+     * @throws IllegalArgumentException if the class has no field annotated with {@link FixtureInject}
+     */
+    public void inject(@NotNull Object testInstance, @NotNull FixtureBatchCollection fixtures) {
+        requireNonNull(fixtures, "Saving fixtures could not be completed - no fixtures were found.");
+        if (injectField == null) {
+            throw new IllegalArgumentException("Fixture saving failed because a field annotated with @FixtureInject and of type FixtureBatchCollection was not found. Check the annotation and field type.");
+        }
+        try {
+            injectField.set(testInstance, fixtures);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Fixture saving failed.", e);
+        }
+    }
+
+    /**
+     * Finds the first field of type {@link FixtureBatchCollection} annotated with {@link FixtureInject},
+     * starting from the class and continuing with its superclasses.
+     *
+     * @param testClass test class
+     * @return optional field
+     */
+    private static Optional<Field> findInjectField(Class<?> testClass) {
+        for (Class<?> type = testClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            Optional<Field> field = Arrays.stream(type.getDeclaredFields())
+                    .filter(candidate -> candidate.getType() == FixtureBatchCollection.class
+                            && candidate.isAnnotationPresent(FixtureInject.class))
+                    .findFirst();
+            if (field.isPresent()) {
+                return field;
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static Field accessible(Field field) {
+        field.setAccessible(true);
+        return field;
+    }
+}
@@ -0,0 +1,257 @@
+package io.github.stasbykov.datapreparer.internal.junit;
+
+import io.github.stasbykov.datapreparer.api.core.Fixture;
+import io.github.stasbykov.datapreparer.api.core.FixtureBatch;
+import io.github.stasbykov.datapreparer.internal.jfr.FixtureEvents;
+import io.github.stasbykov.datapreparer.internal.util.property.SystemProperties;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Background deletion of fixtures, enabled by the {@code fixture.delete.deferred} property.
+ * <p>
+ * Closing a {@link io.github.stasbykov.datapreparer.api.core.FixtureBatchCollection} submits its batches and returns
+ * immediately, the batches are deleted by {@code fixture.delete.deferred.threads} background threads. Deletions of one
+ * top-level test class run one after another in the order of submission, so the fixtures of a method are deleted
+ * before the class fixtures they may depend on, as in the synchronous mode; different classes are deleted
+ * concurrently. At most
+ * {@code fixture.delete.deferred.max-backlog} deletions wait or run at the same time, further submissions block until
+ * one of them completes. {@link #flush()} waits for all deletions and reports the failed ones; it is called when the
+ * launcher session closes and by a shutdown hook.
+ * </p>
+ *
+ * @see SessionFixtureListener
+ * @since 1.0.0
+ */
+public final class DeferredDeletion {
+
+    /**
+     * Parameter value for enabling the deferred deletion.
+     */
+    public static final String ENABLED_PROPERTIES = "fixture.delete.deferred";
+
+    /**
+     * Parameter value for storing the number of background deletion threads.
+     */
+    public static final String THREADS_PROPERTIES = "fixture.delete.deferred.threads";
+
+    /**
+     * Parameter value for storing the maximum number of pending deletions.
+     */
+    public static final String MAX_BACKLOG_PROPERTIES = "fixture.delete.deferred.max-backlog";
+
+    /**
+     * Default number of background deletion threads.
+     */
+    public static final int DEFAULT_THREADS = 2;
+
+    /**
+     * Default maximum number of pending deletions.
+     */
+    public static final int DEFAULT_MAX_BACKLOG = 64;
+
+    private static volatile DeferredDeletion shared;
+
+    private final Logger logger = LoggerFactory.getLogger(DeferredDeletion.class);
+    private final ExecutorService executor;
+    private final Semaphore backlog;
+    private final Set<CompletableFuture<Void>> pending = ConcurrentHashMap.newKeySet();
+    private final Map<String, CompletableFuture<Void>> queues = new HashMap<>();
+    private final Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates a deletion queue. Use {@link #shared()} except in tests.
+     *
+     * @param threads number of background deletion threads
+     * @param maxBacklog maximum number of pending deletions
+     */
+    public DeferredDeletion(int threads, int maxBacklog) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("The number of deletion threads must be positive.");
+        }
+        if (maxBacklog <= 0) {
+            throw new IllegalArgumentException("The deletion backlog must be positive.");
+        }
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(null, task, "fixture-deletion-" + counter.incrementAndGet(), 0, false);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.backlog = new Semaphore(maxBacklog);
+    }
+
+    /**
+     * Checks whether the deferred deletion is enabled.
+     *
+     * @return true if the {@code fixture.delete.deferred} property is set to true
+     */
+    public static boolean isEnabled() {
+        return SystemProperties.getBoolean(ENABLED_PROPERTIES, false);
+    }
+
+    /**
+     * Returns the JVM-wide deletion queue configured by the system properties, creating it on the first call.
+     *
+     * @return shared deletion queue
+     */
+    public static DeferredDeletion shared() {
+        DeferredDeletion current = shared;
+        if (current != null) {
+            return current;
+        }
+        synchronized (DeferredDeletion.class) {
+            if (shared == null) {
+                shared = new DeferredDeletion(
+                        SystemProperties.getInt(THREADS_PROPERTIES, DEFAULT_THREADS),
+                        SystemProperties.getInt(MAX_BACKLOG_PROPERTIES, DEFAULT_MAX_BACKLOG));
+                Runtime.getRuntime().addShutdownHook(new Thread(null, shared::flush, "fixture-deletion-flush", 0, false));
+            }
+            return shared;
+        }
+    }
+
+    /**
+     * Flushes the shared deletion queue if it has been created.
+     *
+     * @return failures of the deletions
+     */
+    public static List<Throwable> flushShared() {
+        DeferredDeletion current = shared;
+        return current == null ? List.of() : current.flush();
+    }
+
+    /**
+     * Submits the batches for deletion, blocking while the backlog is full.
+     * If the thread is interrupted while waiting, the batches are deleted in the calling thread.
+     *
+     * @param batches batches to delete
+     */
+    public void submit(@NotNull List<FixtureBatch<? extends Fixture>> batches) {
+        requireNonNull(batches, "Batches can`t be null");
+        submitLoadings(List.of(batches));
+    }
+
+    /**
+     * Submits the batches of several loadings for deletion as one task, see
+     * {@link TestDataPreparer#processLoadingsForDeletion(List)}. The task is queued behind the pending deletions
+     * of the top-level class of the current test. Blocks while the backlog is full.
+     *
+     * @param loadings batches of the loadings in the loading order
+     */
+    public void submitLoadings(@NotNull List<List<FixtureBatch<? extends Fixture>>> loadings) {
+        submitLoadings(scope(FixtureEvents.currentTest()), loadings);
+    }
+
+    /**
+     * Submits the batches of several loadings for deletion after the pending deletions of the same scope.
+     * Blocks while the backlog is full.
+     *
+     * @param scope deletions of the same scope run in the order of submission
+     * @param loadings batches of the loadings in the loading order
+     */
+    public void submitLoadings(@NotNull String scope, @NotNull List<List<FixtureBatch<? extends Fixture>>> loadings) {
+        requireNonNull(scope, "Scope can`t be null");
+        requireNonNull(loadings, "Loadings can`t be null");
+        try {
+            backlog.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            TestDataPreparer.processLoadingsForDeletion(loadings);
+            return;
+        }
+
+        String test = FixtureEvents.currentTest();
+        CompletableFuture<Void> deletion;
+        synchronized (queues) {
+            CompletableFuture<Void> previous = queues.getOrDefault(scope, CompletableFuture.completedFuture(null));
+            try {
+                deletion = previous.thenRunAsync(() -> FixtureEvents.inTest(test, () -> {
+                    delete(loadings);
+                    return null;
+                }), executor);
+            } catch (RuntimeException e) {
+                backlog.release();
+                throw e;
+            }
+            queues.put(scope, deletion);
+            pending.add(deletion);
+        }
+        deletion.whenComplete((result, failure) -> {
+            pending.remove(deletion);
+            synchronized (queues) {
+                queues.remove(scope, deletion);
+            }
+        });
+    }
+
+    /**
+     * Returns the top-level class of the test: nested classes and methods share the queue of their outer class.
+     *
+     * @param test test class or method
+     * @return scope of the deletion
+     */
+    static String scope(String test) {
+        int end = test.length();
+        int method = test.indexOf('#');
+        if (method >= 0) {
+            end = method;
+        }
+        int nested = test.indexOf('$');
+        if (nested >= 0 && nested < end) {
+            end = nested;
+        }
+        return test.substring(0, end);
+    }
+
+    /**
+     * Waits for all submitted deletions and reports the failed ones.
+     *
+     * @return failures of the deletions since the previous flush
+     */
+    public List<Throwable> flush() {
+        while (!pending.isEmpty()) {
+            for (CompletableFuture<Void> deletion : List.copyOf(pending)) {
+                deletion.join();
+                pending.remove(deletion);
+            }
+        }
+
+        List<Throwable> reported = new ArrayList<>();
+        for (Throwable failure = failures.poll(); failure != null; failure = failures.poll()) {
+            reported.add(failure);
+        }
+        if (!reported.isEmpty()) {
+            logger.error("{} deferred fixture deletions failed.", reported.size());
+            reported.forEach(failure -> logger.error("Deferred fixture deletion failed.", failure));
+        }
+        return reported;
+    }
+
+    private void delete(List<List<FixtureBatch<? extends Fixture>>> loadings) {
+        try {
+            TestDataPreparer.processLoadingsForDeletion(loadings);
+        } catch (RuntimeException | Error e) {
+            failures.add(e);
+        } finally {
+            backlog.release();
+        }
+    }
+}
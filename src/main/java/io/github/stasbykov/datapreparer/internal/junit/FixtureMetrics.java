@@ -0,0 +1,300 @@
+package io.github.stasbykov.datapreparer.internal.junit;
+
+import io.github.stasbykov.datapreparer.internal.util.property.SystemProperties;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Lock-free aggregator of the time spent on generating, loading and deleting fixtures, by template name.
+ * <p>
+ * {@link TestDataPreparer} records every template it loads or deletes into the {@link #shared()} instance.
+ * When {@code fixture.report.enabled} is set to true, the summary is written to {@code fixture.report.directory},
+ * by default to the {@link #defaultDirectory() report directory of the build}, as {@value #JSON_REPORT} and {@value #TEXT_REPORT} when the launcher session closes. Templates are sorted by
+ * the total time, templates loaded more than once with the same count are flagged as repeated. The time spent
+ * waiting for the {@link TemplateConcurrencyLimits concurrency limit} of a template is reported separately.
+ * </p>
+ *
+ * @see SessionFixtureListener
+ * @since 1.0.0
+ */
+public final class FixtureMetrics {
+
+    /**
+     * Parameter value for enabling the report at the end of the launcher session.
+     */
+    public static final String ENABLED_PROPERTIES = "fixture.report.enabled";
+
+    /**
+     * Parameter value for storing the directory of the report.
+     */
+    public static final String DIRECTORY_PROPERTIES = "fixture.report.directory";
+
+    /**
+     * Name of the report directory in the build directory.
+     */
+    public static final String DIRECTORY_NAME = "fixture-report";
+
+    /**
+     * File name of the JSON report.
+     */
+    public static final String JSON_REPORT = "fixture-report.json";
+
+    /**
+     * File name of the text report.
+     */
+    public static final String TEXT_REPORT = "fixture-report.txt";
+
+    private static final List<String> BUILD_DIRS = List.of("target", "build");
+    private static final FixtureMetrics SHARED = new FixtureMetrics();
+    private static final Logger LOGGER = LoggerFactory.getLogger(FixtureMetrics.class);
+
+    private final Map<String, TemplateMetrics> templates = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the JVM-wide aggregator used by {@link TestDataPreparer}.
+     *
+     * @return shared aggregator
+     */
+    public static FixtureMetrics shared() {
+        return SHARED;
+    }
+
+    /**
+     * Writes the report of the shared aggregator if the {@code fixture.report.enabled} property is set to true.
+     * Errors are logged, not thrown.
+     */
+    public static void writeSharedReport() {
+        if (!SystemProperties.getBoolean(ENABLED_PROPERTIES, false)) {
+            return;
+        }
+        Path directory = SystemProperties.getString(DIRECTORY_PROPERTIES)
+                .map(Path::of)
+                .orElseGet(FixtureMetrics::defaultDirectory);
+        try {
+            SHARED.writeReport(directory);
+            LOGGER.info("Fixture report written to {}.", directory.toAbsolutePath());
+        } catch (UncheckedIOException e) {
+            LOGGER.error("Failed to write the fixture report to {}.", directory.toAbsolutePath(), e);
+        }
+    }
+
+    /**
+     * Returns the default directory of the report: {@value #DIRECTORY_NAME} in {@code target} or {@code build}
+     * of the working directory, whichever exists first, or in {@code target} if neither does.
+     *
+     * @return default report directory
+     */
+    public static Path defaultDirectory() {
+        return BUILD_DIRS.stream()
+                .map(Path::of)
+                .filter(Files::isDirectory)
+                .findFirst()
+                .orElse(Path.of(BUILD_DIRS.getFirst()))
+                .resolve(DIRECTORY_NAME);
+    }
+
+    /**
+     * Records a loading of a template.
+     *
+     * @param template template name
+     * @param count requested number of fixtures
+     * @param loaded number of fixtures returned by the loader
+     * @param generateNanos time spent generating the fixtures
+     * @param loadNanos time spent loading the fixtures, not overlapping with the generation
+     */
+    public void recordLoad(@NotNull String template, int count, int loaded, long generateNanos, long loadNanos) {
+        TemplateMetrics metrics = metrics(template);
+        metrics.loads.increment();
+        metrics.generated.add(count);
+        metrics.generateNanos.add(generateNanos);
+        metrics.loaded.add(loaded);
+        metrics.loadNanos.add(loadNanos);
+        metrics.loadsByCount.computeIfAbsent(count, key -> new LongAdder()).increment();
+    }
+
+    /**
+     * Records a deletion or a rollback of a template.
+     *
+     * @param template template name
+     * @param deleted number of deleted fixtures
+     * @param deleteNanos time spent deleting the fixtures
+     */
+    public void recordDeletion(@NotNull String template, int deleted, long deleteNanos) {
+        TemplateMetrics metrics = metrics(template);
+        metrics.deletions.increment();
+        metrics.deleted.add(deleted);
+        metrics.deleteNanos.add(deleteNanos);
+    }
+
+    /**
+     * Records a wait for a concurrency permit of a template.
+     *
+     * @param template template name
+     * @param waitNanos time spent waiting for the permit
+     */
+    public void recordWait(@NotNull String template, long waitNanos) {
+        TemplateMetrics metrics = metrics(template);
+        metrics.waits.increment();
+        metrics.waitNanos.add(waitNanos);
+        metrics.maxWaitNanos.accumulate(waitNanos);
+    }
+
+    /**
+     * Returns the summary of the recorded templates sorted by the total time, the slowest first.
+     *
+     * @return summary by template
+     */
+    public List<TemplateSummary> summary() {
+        return templates.entrySet().stream()
+                .map(entry -> entry.getValue().summary(entry.getKey()))
+                .sorted(Comparator.comparingLong(TemplateSummary::totalNanos).reversed()
+                        .thenComparing(TemplateSummary::template))
+                .toList();
+    }
+
+    /**
+     * Writes the summary to the directory as {@value #JSON_REPORT} and {@value #TEXT_REPORT}.
+     *
+     * @param directory report directory, created if missing
+     * @throws UncheckedIOException if the report can`t be written
+     */
+    public void writeReport(@NotNull Path directory) {
+        requireNonNull(directory, "Directory can`t be null");
+        List<TemplateSummary> summary = summary();
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(directory.resolve(JSON_REPORT), toJson(summary));
+            Files.writeString(directory.resolve(TEXT_REPORT), toText(summary));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private TemplateMetrics metrics(String template) {
+        requireNonNull(template, "Template name can`t be null");
+        return templates.computeIfAbsent(template, key -> new TemplateMetrics());
+    }
+
+    private static String toJson(List<TemplateSummary> summary) {
+        return summary.stream()
+                .map(item -> String.format(Locale.ROOT, """
+                                  {"template": "%s", "totalMillis": %d, "repeated": %b, "repeatedLoads": %d,
+                                   "generate": {"millis": %d, "fixtures": %d},
+                                   "load": {"invocations": %d, "millis": %d, "fixtures": %d, "fixturesPerSecond": %.1f},
+                                   "delete": {"invocations": %d, "millis": %d, "fixtures": %d, "fixturesPerSecond": %.1f},
+                                   "wait": {"permits": %d, "millis": %d, "maxMillis": %d}}""",
+                        escape(item.template()), millis(item.totalNanos()), item.repeated(), item.repeatedLoads(),
+                        millis(item.generateNanos()), item.generated(),
+                        item.loads(), millis(item.loadNanos()), item.loaded(), throughput(item.loaded(), item.loadNanos()),
+                        item.deletions(), millis(item.deleteNanos()), item.deleted(),
+                        throughput(item.deleted(), item.deleteNanos()),
+                        item.waits(), millis(item.waitNanos()), millis(item.maxWaitNanos())))
+                .collect(Collectors.joining(",\n", "{\"templates\": [\n", "\n]}\n"));
+    }
+
+    private static String toText(List<TemplateSummary> summary) {
+        StringBuilder text = new StringBuilder(String.format(Locale.ROOT, "%-32s %10s %10s %10s %10s %10s %8s %10s %8s%n",
+                "template", "total ms", "gen ms", "load ms", "delete ms", "wait ms", "loads", "loaded/s", "repeated"));
+        summary.forEach(item -> text.append(String.format(Locale.ROOT, "%-32s %10d %10d %10d %10d %10d %8d %10.1f %8s%n",
+                item.template(), millis(item.totalNanos()), millis(item.generateNanos()), millis(item.loadNanos()),
+                millis(item.deleteNanos()), millis(item.waitNanos()), item.loads(), throughput(item.loaded(), item.loadNanos()),
+                item.repeated() ? item.repeatedLoads() : "")));
+        return text.toString();
+    }
+
+    private static long millis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static double throughput(long fixtures, long nanos) {
+        return nanos == 0 ? 0 : fixtures * 1e9 / nanos;
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * Counters of one template.
+     */
+    private static final class TemplateMetrics {
+        private final LongAdder loads = new LongAdder();
+        private final LongAdder generated = new LongAdder();
+        private final LongAdder generateNanos = new LongAdder();
+        private final LongAdder loaded = new LongAdder();
+        private final LongAdder loadNanos = new LongAdder();
+        private final LongAdder deletions = new LongAdder();
+        private final LongAdder deleted = new LongAdder();
+        private final LongAdder deleteNanos = new LongAdder();
+        private final LongAdder waits = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAccumulator maxWaitNanos = new LongAccumulator(Math::max, 0);
+        private final Map<Integer, LongAdder> loadsByCount = new ConcurrentHashMap<>();
+
+        private TemplateSummary summary(String template) {
+            long repeatedLoads = loadsByCount.values().stream()
+                    .mapToLong(adder -> Math.max(0, adder.sum() - 1))
+                    .sum();
+            return new TemplateSummary(template, loads.sum(), generated.sum(), generateNanos.sum(), loaded.sum(),
+                    loadNanos.sum(), deletions.sum(), deleted.sum(), deleteNanos.sum(), repeatedLoads,
+                    waits.sum(), waitNanos.sum(), maxWaitNanos.get());
+        }
+    }
+
+    /**
+     * Summary of one template.
+     *
+     * @param template template name
+     * @param loads number of loadings
+     * @param generated number of generated fixtures
+     * @param generateNanos time spent generating
+     * @param loaded number of loaded fixtures
+     * @param loadNanos time spent loading
+     * @param deletions number of deletions and rollbacks
+     * @param deleted number of deleted fixtures
+     * @param deleteNanos time spent deleting
+     * @param repeatedLoads number of loadings with a count that has already been loaded
+     * @param waits number of permits taken under the concurrency limit
+     * @param waitNanos time spent waiting for the permits
+     * @param maxWaitNanos longest wait for a permit
+     */
+    public record TemplateSummary(String template, long loads, long generated, long generateNanos, long loaded,
+                                  long loadNanos, long deletions, long deleted, long deleteNanos, long repeatedLoads,
+                                  long waits, long waitNanos, long maxWaitNanos) {
+
+        /**
+         * Returns the time spent on all phases, not including the waits for the concurrency limit.
+         *
+         * @return total time in nanoseconds
+         */
+        public long totalNanos() {
+            return generateNanos + loadNanos + deleteNanos;
+        }
+
+        /**
+         * Checks whether the template has been loaded more than once with the same count.
+         *
+         * @return true if the same fixtures could have been loaded once
+         */
+        public boolean repeated() {
+            return repeatedLoads > 0;
+        }
+    }
+}
@@ -0,0 +1,504 @@
+package io.github.stasbykov.datapreparer.internal.junit;
+
+import io.github.stasbykov.datapreparer.api.core.Fixture;
+import io.github.stasbykov.datapreparer.api.core.SnapshotFixtureData;
+import io.github.stasbykov.datapreparer.internal.util.property.SystemProperties;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * On-disk cache of the fixtures generated by {@link SnapshotFixtureData}.
+ * <p>
+ * A snapshot file holds the serialized fixtures of one generated range of a template and is named by the hash of its
+ * key: the template name, the range, the generation seed and the version of the data. The key is also stored in the
+ * file and checked on reading. Snapshots are read through a memory-mapped buffer. Files are written to a temporary
+ * file and moved atomically, so concurrent forks never read a partially written snapshot.
+ * </p>
+ * <p>
+ * A snapshot that is read is touched, and when the total size of the snapshots exceeds the limit set in megabytes by
+ * the {@value #MAX_SIZE_PROPERTIES} property, the least recently used snapshots are deleted. The cache directory is set by the
+ * {@value #DIRECTORY_PROPERTIES} property, by default it is {@code target/junit-data-preparer/snapshots} or
+ * {@code build/junit-data-preparer/snapshots} of the working directory, if one of these build directories exists.
+ * The cache is disabled by setting {@value #ENABLED_PROPERTIES} to {@code false}. A snapshot that cannot be read or
+ * written is treated as a miss, the fixtures are then generated. Reading is restricted by a serialization filter to
+ * the fixture classes, the classes of the class loader of the fixture data, the JDK value classes and the classes
+ * allowed by the {@value #ALLOWED_CLASSES_PROPERTIES} property. A snapshot with any other class is a miss as well,
+ * which is logged as a warning once.
+ * </p>
+ *
+ * @see TestDataPreparer
+ * @since 1.0.0
+ */
+public final class FixtureSnapshotCache {
+
+    /**
+     * Parameter value for disabling the snapshot cache.
+     */
+    public static final String ENABLED_PROPERTIES = "fixture.snapshot.enabled";
+
+    /**
+     * Parameter value for storing the directory of the snapshot cache.
+     */
+    public static final String DIRECTORY_PROPERTIES = "fixture.snapshot.dir";
+
+    /**
+     * Parameter value for storing the maximum total size of the snapshots in megabytes.
+     */
+    public static final String MAX_SIZE_PROPERTIES = "fixture.snapshot.max-size-mb";
+
+    /**
+     * Parameter value for storing the additional classes allowed in the snapshots, in the pattern syntax of
+     * {@link ObjectInputFilter.Config#createFilter(String)}, e.g. {@code java.net.URI;com.company.model.**}.
+     */
+    public static final String ALLOWED_CLASSES_PROPERTIES = "fixture.snapshot.allowed-classes";
+
+    /**
+     * Default maximum total size of the snapshots in megabytes.
+     */
+    public static final long DEFAULT_MAX_SIZE_MB = 256;
+
+    private static final int MAGIC = 0x4A445053;
+    private static final int FORMAT = 1;
+    private static final String FILE_PREFIX = "snapshot-";
+    private static final String FILE_SUFFIX = ".bin";
+    private static final List<String> BUILD_DIRS = List.of("target", "build");
+    private static final Set<String> VALUE_PACKAGES = Set.of("java.lang", "java.math", "java.time", "java.util");
+
+    private static final FixtureSnapshotCache SHARED = fromProperties();
+
+    private final Logger logger = LoggerFactory.getLogger(FixtureSnapshotCache.class);
+    private final Path directory;
+    private final long maxBytes;
+    private final ObjectInputFilter allowedClasses;
+    private final AtomicBoolean rejectionLogged = new AtomicBoolean();
+
+    /**
+     * Creates a cache. Use {@link #shared()} except in tests.
+     *
+     * @param directory cache directory, or null to disable the cache
+     * @param maxBytes maximum total size of the snapshots in bytes
+     */
+    public FixtureSnapshotCache(@Nullable Path directory, long maxBytes) {
+        this(directory, maxBytes, null);
+    }
+
+    /**
+     * Creates a cache that also reads the snapshots with the given classes.
+     *
+     * @param directory cache directory, or null to disable the cache
+     * @param maxBytes maximum total size of the snapshots in bytes
+     * @param allowedClasses additional allowed classes in the pattern syntax of
+     * {@link ObjectInputFilter.Config#createFilter(String)}, or null
+     * @throws IllegalArgumentException if the size is not positive or the pattern is invalid
+     */
+    public FixtureSnapshotCache(@Nullable Path directory, long maxBytes, @Nullable String allowedClasses) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("The maximum size of the snapshot cache must be positive.");
+        }
+        this.directory = directory;
+        this.maxBytes = maxBytes;
+        this.allowedClasses = allowedClasses == null || allowedClasses.isBlank()
+                ? null
+                : ObjectInputFilter.Config.createFilter(allowedClasses);
+    }
+
+    /**
+     * Returns the JVM-wide cache configured by the system properties.
+     *
+     * @return shared cache
+     */
+    public static FixtureSnapshotCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * Creates a cache configured by the system properties.
+     *
+     * @return snapshot cache, disabled if there is no cache directory
+     */
+    public static FixtureSnapshotCache fromProperties() {
+        long maxBytes = SystemProperties.getLong(MAX_SIZE_PROPERTIES, DEFAULT_MAX_SIZE_MB) * 1024 * 1024;
+        String allowedClasses = SystemProperties.getString(ALLOWED_CLASSES_PROPERTIES).orElse(null);
+        if (!SystemProperties.getBoolean(ENABLED_PROPERTIES, true)) {
+            return new FixtureSnapshotCache(null, maxBytes, allowedClasses);
+        }
+        Path directory = SystemProperties.getString(DIRECTORY_PROPERTIES)
+                .map(Path::of)
+                .orElseGet(() -> BUILD_DIRS.stream()
+                        .map(Path::of)
+                        .filter(Files::isDirectory)
+                        .findFirst()
+                        .map(buildDir -> buildDir.resolve("junit-data-preparer").resolve("snapshots"))
+                        .orElse(null));
+        return new FixtureSnapshotCache(directory, maxBytes, allowedClasses);
+    }
+
+    /**
+     * Returns the key of a generated range.
+     *
+     * @param template template name
+     * @param from first index
+     * @param to index after the last one
+     * @param seed generation seed of the template
+     * @param version version of the data
+     * @return snapshot key
+     */
+    public static String key(@NotNull String template, int from, int to, long seed, @NotNull String version) {
+        return String.join("|", template, Integer.toString(from), Integer.toString(to), Long.toString(seed), version);
+    }
+
+    /**
+     * Reads the fixtures of the snapshot.
+     *
+     * @param key snapshot key
+     * @param classLoader class loader of the fixture classes
+     * @param <T> fixture type
+     * @return fixtures, or empty on a cache miss
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Fixture> Optional<List<T>> read(@NotNull String key, @Nullable ClassLoader classLoader) {
+        requireNonNull(key, "Snapshot key can`t be null");
+        if (directory == null) {
+            return Optional.empty();
+        }
+        Path file = file(key);
+        if (!Files.isRegularFile(file)) {
+            logger.debug("Snapshot cache miss for {}: no snapshot {}", key, file);
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 12 || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT) {
+                logger.debug("Snapshot cache miss for {}: unknown format of {}", key, file);
+                return Optional.empty();
+            }
+            byte[] storedKey = new byte[buffer.getInt()];
+            buffer.get(storedKey);
+            if (!Arrays.equals(storedKey, key.getBytes(StandardCharsets.UTF_8))) {
+                logger.debug("Snapshot cache miss for {}: {} belongs to another key", key, file);
+                return Optional.empty();
+            }
+            int count = buffer.getInt();
+            if (count < 0 || count > buffer.remaining()) {
+                logger.debug("Snapshot cache miss for {}: invalid fixture count in {}", key, file);
+                return Optional.empty();
+            }
+            List<T> fixtures = new ArrayList<>(count);
+            AtomicReference<String> rejected = new AtomicReference<>();
+            try (ObjectInputStream input = new SnapshotInputStream(new BufferInputStream(buffer), classLoader)) {
+                long size = buffer.capacity();
+                ObjectInputFilter filter = info -> filter(info, size, classLoader, rejected);
+                ObjectInputFilter serialFilter = input.getObjectInputFilter();
+                input.setObjectInputFilter(serialFilter == null ? filter : ObjectInputFilter.merge(filter, serialFilter));
+                for (int i = 0; i < count; i++) {
+                    fixtures.add((T) input.readObject());
+                }
+            } catch (IOException | ClassNotFoundException | RuntimeException e) {
+                if (rejected.get() != null && rejectionLogged.compareAndSet(false, true)) {
+                    logger.warn("Snapshot {} of {} is not read, the class {} is not allowed by the serialization filter. "
+                                    + "The fixtures are generated on every run, add the class to the {} property.",
+                            file, key, rejected.get(), ALLOWED_CLASSES_PROPERTIES);
+                }
+                throw e;
+            }
+            touch(file);
+            logger.debug("Snapshot cache hit for {}: {} fixtures from {}", key, count, file);
+            return Optional.of(fixtures);
+        } catch (IOException | ClassNotFoundException | RuntimeException e) {
+            logger.debug("Snapshot cache miss for {}: snapshot {} can`t be read", key, file, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Allows only the classes a snapshot of generated fixtures is expected to contain: {@link Fixture}
+     * implementations, {@link SnapshotFixtureData}, enums, the classes defined by the class loader of the fixture
+     * data, the value classes of {@code java.lang}, {@code java.math}, {@code java.time} and {@code java.util},
+     * the classes allowed by {@value #ALLOWED_CLASSES_PROPERTIES}, and arrays of them. Arrays longer than the file
+     * are rejected as well.
+     *
+     * @param info class or array to be deserialized
+     * @param size size of the snapshot file in bytes
+     * @param classLoader class loader of the fixture data, or null
+     * @param rejected receives the name of the rejected class
+     * @return status of the class
+     */
+    private ObjectInputFilter.Status filter(ObjectInputFilter.FilterInfo info, long size, ClassLoader classLoader,
+                                            AtomicReference<String> rejected) {
+        if (info.arrayLength() > size) {
+            return ObjectInputFilter.Status.REJECTED;
+        }
+        Class<?> type = info.serialClass();
+        if (type == null) {
+            return ObjectInputFilter.Status.UNDECIDED;
+        }
+        Class<?> component = type;
+        while (component.isArray()) {
+            component = component.getComponentType();
+        }
+        boolean allowed = component.isPrimitive()
+                || component.isEnum()
+                || component == SnapshotFixtureData.class
+                || Fixture.class.isAssignableFrom(component)
+                || classLoader != null && component.getClassLoader() == classLoader
+                || component.getModule() == Object.class.getModule() && VALUE_PACKAGES.contains(component.getPackageName())
+                || allowedClasses != null && allowedClasses.checkInput(info) == ObjectInputFilter.Status.ALLOWED;
+        if (!allowed) {
+            rejected.compareAndSet(null, type.getName());
+            return ObjectInputFilter.Status.REJECTED;
+        }
+        return ObjectInputFilter.Status.ALLOWED;
+    }
+
+    /**
+     * Writes the fixtures to the snapshot and evicts the least recently used snapshots over the size limit.
+     * The fixtures are serialized straight to a temporary file, which is dropped as soon as it exceeds the size of
+     * the cache. Fixtures that are not serializable are not written.
+     *
+     * @param key snapshot key
+     * @param fixtures generated fixtures
+     */
+    public void write(@NotNull String key, @NotNull List<? extends Fixture> fixtures) {
+        requireNonNull(key, "Snapshot key can`t be null");
+        requireNonNull(fixtures, "Fixtures can`t be null");
+        if (directory == null) {
+            return;
+        }
+        Path file = file(key);
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream output = new LimitedOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(temp)), maxBytes)) {
+                    serialize(key, fixtures, output);
+                } catch (SnapshotTooLargeException e) {
+                    logger.debug("Snapshot of {} is larger than the cache and is not written", key);
+                    return;
+                }
+                try {
+                    Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            logger.debug("Snapshot of {} written to {}", key, file);
+            evict();
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Failed to write the snapshot {}", file, e);
+        }
+    }
+
+    /**
+     * Writes the header and the serialized fixtures to the stream.
+     */
+    private static void serialize(String key, List<? extends Fixture> fixtures, OutputStream stream) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        DataOutputStream header = new DataOutputStream(stream);
+        header.writeInt(MAGIC);
+        header.writeInt(FORMAT);
+        header.writeInt(keyBytes.length);
+        header.write(keyBytes);
+        header.writeInt(fixtures.size());
+        header.flush();
+        try (ObjectOutputStream output = new ObjectOutputStream(stream)) {
+            for (Fixture fixture : fixtures) {
+                output.writeObject(fixture);
+            }
+        }
+    }
+
+    /**
+     * Deletes the least recently used snapshots until the total size fits the limit. Snapshots deleted
+     * concurrently by another fork are skipped.
+     */
+    private void evict() throws IOException {
+        List<SnapshotFile> snapshots;
+        try (Stream<Path> files = Files.list(directory)) {
+            snapshots = files
+                    .filter(path -> path.getFileName().toString().startsWith(FILE_PREFIX)
+                            && path.getFileName().toString().endsWith(FILE_SUFFIX))
+                    .map(SnapshotFile::of)
+                    .flatMap(Optional::stream)
+                    .sorted(Comparator.comparing(SnapshotFile::lastUsed).reversed())
+                    .toList();
+        }
+        long total = 0;
+        for (SnapshotFile snapshot : snapshots) {
+            total += snapshot.size();
+            if (total > maxBytes) {
+                Files.deleteIfExists(snapshot.path());
+                logger.debug("Snapshot {} evicted from the cache", snapshot.path());
+            }
+        }
+    }
+
+    private void touch(Path file) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+        } catch (IOException e) {
+            logger.debug("Failed to touch the snapshot {}", file, e);
+        }
+    }
+
+    private Path file(String key) {
+        return directory.resolve(FILE_PREFIX + hash(key).substring(0, 32) + FILE_SUFFIX);
+    }
+
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    /**
+     * Snapshot file with its size and the time of the last use.
+     */
+    private record SnapshotFile(Path path, long size, FileTime lastUsed) {
+
+        private static Optional<SnapshotFile> of(Path path) {
+            try {
+                return Optional.of(new SnapshotFile(path, Files.size(path), Files.getLastModifiedTime(path)));
+            } catch (IOException e) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    /**
+     * Output stream that fails as soon as more than the limit of bytes is written, so a snapshot larger than the
+     * cache is never held in memory or written in full.
+     */
+    private static final class LimitedOutputStream extends FilterOutputStream {
+        private final long limit;
+        private long written;
+
+        private LimitedOutputStream(OutputStream output, long limit) {
+            super(output);
+            this.limit = limit;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            count(1);
+            out.write(b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            count(length);
+            out.write(bytes, offset, length);
+        }
+
+        private void count(int length) throws SnapshotTooLargeException {
+            written += length;
+            if (written > limit) {
+                throw new SnapshotTooLargeException();
+            }
+        }
+    }
+
+    /**
+     * Thrown by {@link LimitedOutputStream} when the snapshot exceeds the size of the cache.
+     */
+    private static final class SnapshotTooLargeException extends IOException {
+    }
+
+    /**
+     * Input stream over the remaining bytes of a buffer.
+     */
+    private static final class BufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int read = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, read);
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    /**
+     * Object input stream resolving the fixture classes with the class loader of the fixture data.
+     */
+    private static final class SnapshotInputStream extends ObjectInputStream {
+        private final ClassLoader classLoader;
+
+        private SnapshotInputStream(InputStream input, ClassLoader classLoader) throws IOException {
+            super(input);
+            this.classLoader = classLoader;
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass description) throws IOException, ClassNotFoundException {
+            if (classLoader != null) {
+                try {
+                    return Class.forName(description.getName(), false, classLoader);
+                } catch (ClassNotFoundException e) {
+                    // falls back to the default resolution, e.g. for JDK classes
+                }
+            }
+            return super.resolveClass(description);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package io.github.stasbykov.datapreparer.internal.junit;
+
+import io.github.stasbykov.datapreparer.api.core.FixtureGenerator;
+import io.github.stasbykov.datapreparer.internal.util.property.SystemProperties;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Settings of the fixture generation by a {@link FixtureGenerator}.
+ *
+ * @param seed base seed of the generated fixtures
+ * @param parallelThreshold minimum number of fixtures generated concurrently, smaller chunks are generated in the
+ * calling thread
+ * @param parallelism number of threads generating the fixtures, 0 to use the common fork-join pool
+ *
+ * @see TestDataPreparer
+ * @since 1.0.0
+ */
+public record GenerationSettings(long seed, int parallelThreshold, int parallelism) {
+
+    /**
+     * Parameter value for storing the base seed of the generated fixtures.
+     */
+    public static final String SEED_PROPERTIES = "fixture.generation.seed";
+
+    /**
+     * Parameter value for storing the minimum number of fixtures generated concurrently.
+     */
+    public static final String PARALLEL_THRESHOLD_PROPERTIES = "fixture.generation.parallel-threshold";
+
+    /**
+     * Parameter value for storing the number of threads generating the fixtures.
+     */
+    public static final String PARALLELISM_PROPERTIES = "fixture.generation.parallelism";
+
+    /**
+     * Default minimum number of fixtures generated concurrently.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 10_000;
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final Map<Integer, ForkJoinPool> POOLS = new ConcurrentHashMap<>();
+
+    public GenerationSettings {
+        if (parallelThreshold <= 0) {
+            throw new IllegalArgumentException("The parallel threshold of fixture generation must be positive.");
+        }
+        if (parallelism < 0) {
+            throw new IllegalArgumentException("The parallelism of fixture generation can`t be negative.");
+        }
+    }
+
+    /**
+     * Returns the default settings: seed 0, the common fork-join pool for batches of 10000 fixtures and more.
+     *
+     * @return default settings
+     */
+    public static GenerationSettings defaults() {
+        return new GenerationSettings(0L, DEFAULT_PARALLEL_THRESHOLD, 0);
+    }
+
+    /**
+     * Creates settings from the system properties, unset properties keep their default values.
+     *
+     * @return generation settings
+     */
+    public static GenerationSettings fromProperties() {
+        return new GenerationSettings(
+                SystemProperties.getLong(SEED_PROPERTIES, 0L),
+                SystemProperties.getInt(PARALLEL_THRESHOLD_PROPERTIES, DEFAULT_PARALLEL_THRESHOLD),
+                SystemProperties.getInt(PARALLELISM_PROPERTIES, 0));
+    }
+
+    /**
+     * Returns the seed of a template, so that templates with the same generator get different data.
+     *
+     * @param templateName template name
+     * @return template seed
+     */
+    long templateSeed(String templateName) {
+        return mix(seed ^ mix(templateName.hashCode()));
+    }
+
+    /**
+     * Returns the seed of a fixture, it depends only on the template seed and the fixture index.
+     *
+     * @param templateSeed template seed
+     * @param index fixture index
+     * @return fixture seed
+     */
+    static long itemSeed(long templateSeed, int index) {
+        return mix(templateSeed + (index + 1L) * GOLDEN_GAMMA);
+    }
+
+    /**
+     * Returns the pool generating the fixtures, pools of the same parallelism are shared.
+     *
+     * @return fork-join pool
+     */
+    ForkJoinPool pool() {
+        if (parallelism == 0) {
+            return ForkJoinPool.commonPool();
+        }
+        return POOLS.computeIfAbsent(parallelism, ForkJoinPool::new);
+    }
+
+    /**
+     * Mixes the bits of the value, the finalizer of {@link java.util.SplittableRandom}.
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -3,18 +3,22 @@ package io.github.stasbykov.datapreparer.internal.junit;
 import io.github.stasbykov.datapreparer.api.annotation.ClassDataSetup;
 import io.github.stasbykov.datapreparer.api.annotation.MethodDataSetup;
 import io.github.stasbykov.datapreparer.api.annotation.Template;
+import io.github.stasbykov.datapreparer.api.core.AsyncFixtureLoader;
 import io.github.stasbykov.datapreparer.api.core.FixtureBatchCollection;
 import io.github.stasbykov.datapreparer.internal.core.FixtureHandler;
+import io.github.stasbykov.datapreparer.internal.core.FixtureHandlerCache;
+import io.github.stasbykov.datapreparer.internal.jfr.FixtureEvents;
+import io.github.stasbykov.datapreparer.internal.util.property.SystemProperties;
 import io.github.stasbykov.datapreparer.internal.util.scanner.ClassScanner;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.ParameterContext;
 
-import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static java.util.Objects.requireNonNull;
-import static io.github.stasbykov.datapreparer.internal.util.junit.ContextUtils.getAnnotation;
 
 /**
  * Defines the basic logic for working with fixtures
@@ -24,26 +28,53 @@ import static io.github.stasbykov.datapreparer.internal.util.junit.ContextUtils.
  * @since 1.0.0
  */
 public final class PrepareExtensionManager {
+
+    /**
+     * Parameter value for enabling the lazy loading: the fixtures of a template are loaded when a test requests
+     * them for the first time. Shared class fixtures are always loaded eagerly.
+     */
+    public static final String LAZY_PROPERTIES = "fixture.load.lazy";
+
     private final TestDataPreparer testDataPreparer;
     private final ExtensionContext.Namespace namespace;
     private final String LOADED_FIXTURES_KEY = "loadedFixtures";
+    private final String SHARED_FIXTURES_KEY = "sharedFixtures";
 
+    /**
+     * Creates a manager on top of the JVM-wide {@link FixtureHandler} built with the given scanner.
+     * The registries are scanned only by the first manager, all subsequent managers reuse the result.
+     *
+     * @param scanner interface scanner for searching fixture registries
+     * @param namespace JUnit store namespace of the extension
+     * @see FixtureHandlerCache
+     */
     public PrepareExtensionManager(ClassScanner scanner, ExtensionContext.Namespace namespace) {
         requireNonNull(scanner);
-        FixtureHandler handler = new FixtureHandler(scanner);
+        FixtureHandler handler = FixtureHandlerCache.getOrCreate(scanner);
         this.testDataPreparer = new TestDataPreparer(handler);
         this.namespace = requireNonNull(namespace);
     }
 
     /**
      * Computes the fixture value once and stores it in the context storage.
+     * Shared fixtures of {@link ClassDataSetup#shared()} are taken from the {@link SharedFixturePool},
+     * the storage keeps only the lease that releases them.
      *
      * @param context JUnit extension context
+     * @param plan preparation plan of the test class
      * @return prepared fixtures
      */
-    public FixtureBatchCollection computeValueOnce(ExtensionContext context) {
+    public FixtureBatchCollection computeValueOnce(ExtensionContext context, ClassPreparationPlan plan) {
         ExtensionContext.Store store = context.getStore(namespace);
-        return store.getOrComputeIfAbsent(LOADED_FIXTURES_KEY, key -> prepareData(context), FixtureBatchCollection.class);
+        String test = testName(context);
+        if (plan.setup().shared()) {
+            return store.getOrComputeIfAbsent(SHARED_FIXTURES_KEY,
+                            key -> FixtureEvents.inTest(test, () -> acquireSharedData(context, plan)), SharedFixturePool.Lease.class)
+                    .fixtures();
+        }
+        return store.getOrComputeIfAbsent(LOADED_FIXTURES_KEY,
+                        key -> new TestFixtures(test, FixtureEvents.inTest(test, () -> prepareData(context, plan))), TestFixtures.class)
+                .fixtures();
     }
 
     /**
@@ -55,24 +86,77 @@ public final class PrepareExtensionManager {
      */
     public FixtureBatchCollection computeValueOnce(ParameterContext parameterContext, ExtensionContext extensionContext) {
         ExtensionContext.Store store = extensionContext.getStore(namespace);
-        return store.getOrComputeIfAbsent(LOADED_FIXTURES_KEY, key -> prepareData(parameterContext), FixtureBatchCollection.class);
+        String test = testName(extensionContext);
+        return store.getOrComputeIfAbsent(LOADED_FIXTURES_KEY,
+                        key -> new TestFixtures(test, FixtureEvents.inTest(test, () -> prepareData(parameterContext))), TestFixtures.class)
+                .fixtures();
+    }
+
+    /**
+     * Names the test of the context for the JFR events: the class name, followed by the method name if any.
+     *
+     * @param context JUnit extension context
+     * @return test class or method
+     */
+    private static String testName(ExtensionContext context) {
+        return context.getTestClass().map(Class::getName).orElse("")
+                + context.getTestMethod().map(method -> "#" + method.getName()).orElse("");
     }
 
     /**
      * Prepares fixture data based on templates.
+     * The templates are loaded in the calling thread, the data is ready when the method returns, before the test body
+     * runs. Within the loading, independent templates run concurrently in the parallel mode and the chunks of an
+     * {@link AsyncFixtureLoader} are generated while the previous ones load.
+     * Fixtures already prefetched by {@link ClassFixturePrefetcher} are taken instead of loading them again.
+     * In the lazy mode, see {@link #LAZY_PROPERTIES}, nothing is loaded until a test requests it.
      *
      * @param context JUnit extension context
+     * @param plan preparation plan of the test class
      * @return wrapper around prepared fixtures
      */
-    private FixtureBatchCollection prepareData(ExtensionContext context) {
-        return getTemplates(context)
-                .stream()
-                .map(testDataPreparer::processTemplatesForLoading)
-                .flatMap(Collection::stream)
-                .collect(Collectors.collectingAndThen(
-                        Collectors.toList(),
-                        FixtureBatchCollection::new
-                ));
+    private FixtureBatchCollection prepareData(ExtensionContext context, ClassPreparationPlan plan) {
+        Optional<CompletableFuture<FixtureBatchCollection>> prefetched = context.getTestClass()
+                .flatMap(ClassFixturePrefetcher::take);
+        if (prefetched.isPresent()) {
+            return awaitPrefetched(prefetched.get());
+        }
+        if (isLazy() && !plan.setup().shared()) {
+            return prepareLazily(Optional.of(plan.templates()));
+        }
+        return new FixtureBatchCollection(testDataPreparer.processTemplatesForLoading(plan.templates()));
+    }
+
+    /**
+     * Waits for the prefetched fixtures and rethrows the loading failure unwrapped.
+     *
+     * @param prefetched future of the prefetched fixtures
+     * @return prefetched fixtures
+     */
+    private static FixtureBatchCollection awaitPrefetched(CompletableFuture<FixtureBatchCollection> prefetched) {
+        try {
+            return prefetched.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Takes the fixtures of the class templates from the {@link SharedFixturePool}, loading them if needed.
+     *
+     * @param context JUnit extension context
+     * @param plan preparation plan of the test class
+     * @return lease of the shared fixtures
+     */
+    private SharedFixturePool.Lease acquireSharedData(ExtensionContext context, ClassPreparationPlan plan) {
+        String signature = SharedFixturePool.signature(plan.templates());
+        return SharedFixturePool.shared().acquire(signature, () -> prepareData(context, plan));
     }
 
     /**
@@ -82,14 +166,33 @@ public final class PrepareExtensionManager {
      * @return prepared fixture data as {@link FixtureBatchCollection}
      */
     private FixtureBatchCollection prepareData(ParameterContext parameterContext) {
+        if (isLazy()) {
+            return prepareLazily(getTemplates(parameterContext));
+        }
         return getTemplates(parameterContext)
-                .stream()
                 .map(testDataPreparer::processTemplatesForLoading)
-                .flatMap(Collection::stream)
-                .collect(Collectors.collectingAndThen(
-                        Collectors.toList(),
-                        FixtureBatchCollection::new
-                ));
+                .map(FixtureBatchCollection::new)
+                .orElseGet(() -> new FixtureBatchCollection(List.of()));
+    }
+
+    /**
+     * Checks whether the lazy loading is enabled.
+     *
+     * @return true if the {@code fixture.load.lazy} property is set to true
+     */
+    public static boolean isLazy() {
+        return SystemProperties.getBoolean(LAZY_PROPERTIES, false);
+    }
+
+    /**
+     * Prepares a collection that loads the fixtures of the templates on demand.
+     *
+     * @param templates optional array of {@link Template} annotations
+     * @return lazy collection, or an empty collection without templates
+     */
+    private FixtureBatchCollection prepareLazily(Optional<Template[]> templates) {
+        return templates.map(testDataPreparer::processTemplatesLazily)
+                .orElseGet(() -> new FixtureBatchCollection(List.of()));
     }
 
     /**
@@ -103,12 +206,17 @@ public final class PrepareExtensionManager {
     }
 
     /**
-     * Gets an array of {@link Template} annotations from the extension context.
+     * Fixtures of a test kept in the context storage. Closing it deletes the fixtures on behalf of the test,
+     * so that the deletion events name it.
      *
-     * @param extensionContext JUnit extension context
-     * @return optional array of {@link Template} annotations
+     * @param test test class or method
+     * @param fixtures prepared fixtures
      */
-    private Optional<Template[]> getTemplates(ExtensionContext extensionContext) {
-        return getAnnotation(extensionContext, ClassDataSetup.class).map(ClassDataSetup::value);
+    private record TestFixtures(String test, FixtureBatchCollection fixtures) implements AutoCloseable {
+
+        @Override
+        public void close() throws Exception {
+            FixtureEvents.closeInTest(test, fixtures);
+        }
     }
 }
@@ -0,0 +1,116 @@
+package io.github.stasbykov.datapreparer.internal.junit;
+
+import io.github.stasbykov.datapreparer.internal.util.property.SystemProperties;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Settings of the test data preparation.
+ *
+ * @param parallel if true, independent templates of one setup are loaded concurrently on virtual threads
+ * @param parallelism maximum number of templates loaded at the same time in parallel mode
+ * @param chunkSize number of fixtures generated and passed to a
+ * {@link io.github.stasbykov.datapreparer.api.core.StreamingFixtureLoader} at once, unless the loader sets its own size
+ * @param pipelineDepth maximum number of chunks of one template loaded at the same time by an
+ * {@link io.github.stasbykov.datapreparer.api.core.AsyncFixtureLoader}
+ * @param deleteParallelism maximum number of independent templates deleted at the same time, 1 to delete them
+ * one after another
+ * @param generation settings of the fixture generation
+ *
+ * @see TestDataPreparer
+ * @since 1.0.0
+ */
+public record PreparerSettings(boolean parallel, int parallelism, int chunkSize, int pipelineDepth,
+                               int deleteParallelism, GenerationSettings generation) {
+
+    /**
+     * Parameter value for enabling the parallel loading of templates.
+     */
+    public static final String PARALLEL_PROPERTIES = "fixture.load.parallel";
+
+    /**
+     * Parameter value for storing the maximum number of templates loaded at the same time.
+     */
+    public static final String PARALLELISM_PROPERTIES = "fixture.load.parallelism";
+
+    /**
+     * Default maximum number of templates loaded at the same time.
+     */
+    public static final int DEFAULT_PARALLELISM = 8;
+
+    /**
+     * Parameter value for storing the number of fixtures in one chunk of a streaming loader.
+     */
+    public static final String CHUNK_SIZE_PROPERTIES = "fixture.load.chunk-size";
+
+    /**
+     * Default number of fixtures in one chunk of a streaming loader.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 1_000;
+
+    /**
+     * Parameter value for storing the maximum number of chunks loaded at the same time by an asynchronous loader.
+     */
+    public static final String PIPELINE_DEPTH_PROPERTIES = "fixture.load.pipeline-depth";
+
+    /**
+     * Default maximum number of chunks loaded at the same time by an asynchronous loader.
+     */
+    public static final int DEFAULT_PIPELINE_DEPTH = 2;
+
+    /**
+     * Parameter value for storing the maximum number of templates deleted at the same time.
+     */
+    public static final String DELETE_PARALLELISM_PROPERTIES = "fixture.delete.parallelism";
+
+    /**
+     * Default maximum number of templates deleted at the same time.
+     */
+    public static final int DEFAULT_DELETE_PARALLELISM = 4;
+
+    public PreparerSettings {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("The parallelism of template loading must be positive.");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("The chunk size of template loading must be positive.");
+        }
+        if (pipelineDepth <= 0) {
+            throw new IllegalArgumentException("The pipeline depth of template loading must be positive.");
+        }
+        if (deleteParallelism <= 0) {
+            throw new IllegalArgumentException("The parallelism of template deletion must be positive.");
+        }
+        requireNonNull(generation, "Generation settings can`t be null");
+    }
+
+    public PreparerSettings(boolean parallel, int parallelism) {
+        this(parallel, parallelism, DEFAULT_CHUNK_SIZE, DEFAULT_PIPELINE_DEPTH, DEFAULT_DELETE_PARALLELISM,
+                GenerationSettings.defaults());
+    }
+
+    /**
+     * Returns the default settings: templates are loaded one after another.
+     *
+     * @return default settings
+     */
+    public static PreparerSettings defaults() {
+        return new PreparerSettings(false, DEFAULT_PARALLELISM, DEFAULT_CHUNK_SIZE, DEFAULT_PIPELINE_DEPTH,
+                DEFAULT_DELETE_PARALLELISM, GenerationSettings.defaults());
+    }
+
+    /**
+     * Creates settings from the system properties, unset properties keep their default values.
+     *
+     * @return preparation settings
+     */
+    public static PreparerSettings fromProperties() {
+        return new PreparerSettings(
+                SystemProperties.getBoolean(PARALLEL_PROPERTIES, false),
+                SystemProperties.getInt(PARALLELISM_PROPERTIES, DEFAULT_PARALLELISM),
+                SystemProperties.getInt(CHUNK_SIZE_PROPERTIES, DEFAULT_CHUNK_SIZE),
+                SystemProperties.getInt(PIPELINE_DEPTH_PROPERTIES, DEFAULT_PIPELINE_DEPTH),
+                SystemProperties.getInt(DELETE_PARALLELISM_PROPERTIES, DEFAULT_DELETE_PARALLELISM),
+                GenerationSettings.fromProperties());
+    }
+}
@@ -0,0 +1,65 @@
+package io.github.stasbykov.datapreparer.internal.junit;
+
+import org.junit.platform.launcher.LauncherSession;
+import org.junit.platform.launcher.LauncherSessionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Launcher session listener that loads the session fixtures before any test runs and deletes them when the session
+ * is closed. Registered through the service loader, does nothing if {@code fixture.session.templates} is not set.
+ * When the session is closed, it first waits for the deferred deletions and deletes the idle shared fixtures, both
+ * may depend on the session fixtures, then deletes the session fixtures and writes the fixture report. A failing step does not skip the following ones.
+ *
+ * @see SessionFixtures
+ * @see DeferredDeletion
+ * @see SharedFixturePool
+ * @see FixtureMetrics
+ * @since 1.0.0
+ */
+public final class SessionFixtureListener implements LauncherSessionListener {
+
+    private final Logger logger = LoggerFactory.getLogger(SessionFixtureListener.class);
+
+    @Override
+    public void launcherSessionOpened(LauncherSession session) {
+        if (SessionFixtures.isConfigured()) {
+            logger.info("Loading session fixtures.");
+            SessionFixtures.open();
+        }
+    }
+
+    @Override
+    public void launcherSessionClosed(LauncherSession session) {
+        runAll(DeferredDeletion::flushShared,
+                SharedFixturePool.shared()::flush,
+                SessionFixtures::close,
+                FixtureMetrics::writeSharedReport);
+    }
+
+    /**
+     * Runs every step even if the previous ones fail, the first failure is thrown with the others as suppressed.
+     *
+     * @param steps steps in the order of execution
+     */
+    private static void runAll(Runnable... steps) {
+        Throwable failure = null;
+        for (Runnable step : steps) {
+            try {
+                step.run();
+            } catch (RuntimeException | Error e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+        }
+        if (failure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.stasbykov.datapreparer.internal.junit;
+
+import io.github.stasbykov.datapreparer.api.annotation.Template;
+import io.github.stasbykov.datapreparer.api.core.FixtureBatchCollection;
+import io.github.stasbykov.datapreparer.internal.core.FixtureHandlerCache;
+import io.github.stasbykov.datapreparer.internal.util.property.SystemProperties;
+import io.github.stasbykov.datapreparer.internal.util.scanner.ClassScanners;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Holder of the fixtures loaded once per launcher session.
+ * <p>
+ * The templates are declared in the {@code fixture.session.templates} property as comma-separated
+ * {@code name:count} pairs, the count defaults to 1. The fixtures are loaded by {@link SessionFixtureListener}
+ * when the session opens, or on the first request if the launcher does not register the listener,
+ * and deleted when the session closes.
+ * </p>
+ *
+ * @see SessionFixtureListener
+ * @since 1.0.0
+ */
+public final class SessionFixtures {
+
+    /**
+     * Parameter value for storing the templates of the session fixtures.
+     */
+    public static final String TEMPLATES_PROPERTIES = "fixture.session.templates";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SessionFixtures.class);
+
+    private static FixtureBatchCollection fixtures;
+    private static RuntimeException failure;
+
+    private SessionFixtures() {}
+
+    /**
+     * Checks whether session templates are declared.
+     *
+     * @return true if the {@code fixture.session.templates} property is set
+     */
+    public static boolean isConfigured() {
+        return !SystemProperties.getList(TEMPLATES_PROPERTIES).isEmpty();
+    }
+
+    /**
+     * Returns the session fixtures, loading them on the first call.
+     *
+     * @return session fixtures
+     * @throws IllegalStateException if no session templates are declared
+     */
+    public static synchronized FixtureBatchCollection get() {
+        open();
+        if (failure != null) {
+            throw failure;
+        }
+        if (fixtures == null) {
+            throw new IllegalStateException("No session templates are declared, set the property " + TEMPLATES_PROPERTIES);
+        }
+        return fixtures;
+    }
+
+    /**
+     * Loads the session fixtures if they are declared and not loaded yet. A loading failure is kept
+     * and thrown by {@link #get()}, so that it fails the tests that use the fixtures.
+     */
+    public static synchronized void open() {
+        if (fixtures != null || failure != null || !isConfigured()) {
+            return;
+        }
+        try {
+            TestDataPreparer preparer = new TestDataPreparer(FixtureHandlerCache.getOrCreate(ClassScanners.create()));
+            fixtures = new FixtureBatchCollection(preparer.processTemplatesForLoading(parseTemplates()));
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to load session fixtures.", e);
+            failure = e;
+        }
+    }
+
+    /**
+     * Deletes the session fixtures, the next session loads them again.
+     */
+    public static synchronized void close() {
+        FixtureBatchCollection loaded = fixtures;
+        fixtures = null;
+        failure = null;
+        if (loaded == null) {
+            return;
+        }
+        try {
+            TestDataPreparer.processTemplatesForDeletion(loaded.batches());
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to delete session fixtures.", e);
+        }
+    }
+
+    /**
+     * Parses the templates of the {@code fixture.session.templates} property.
+     *
+     * @return array of annotations {@link Template}
+     * @throws IllegalArgumentException if a count is not an integer
+     */
+    static Template[] parseTemplates() {
+        return SystemProperties.getList(TEMPLATES_PROPERTIES).stream()
+                .map(SessionFixtures::parseTemplate)
+                .toArray(Template[]::new);
+    }
+
+    private static Template parseTemplate(String value) {
+        int separator = value.lastIndexOf(':');
+        if (separator < 0) {
+            return new SessionTemplate(value, 1);
+        }
+        String count = value.substring(separator + 1).trim();
+        try {
+            return new SessionTemplate(value.substring(0, separator).trim(), Integer.parseInt(count));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("The count of the session template '" + value + "' must be an integer", e);
+        }
+    }
+
+    /**
+     * {@link Template} declared in the property.
+     */
+    private record SessionTemplate(String name, int count) implements Template {
+
+        @Override
+        public Class<? extends Annotation> annotationType() {
+            return Template.class;
+        }
+    }
+}
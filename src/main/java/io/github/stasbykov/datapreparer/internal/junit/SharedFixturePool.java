@@ -0,0 +1,265 @@
+package io.github.stasbykov.datapreparer.internal.junit;
+
+import io.github.stasbykov.datapreparer.api.annotation.ClassDataSetup;
+import io.github.stasbykov.datapreparer.api.annotation.Template;
+import io.github.stasbykov.datapreparer.api.core.FixtureBatchCollection;
+import io.github.stasbykov.datapreparer.internal.util.property.SystemProperties;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * JVM-wide pool of read-only fixtures shared between test classes, see {@link ClassDataSetup#shared()}.
+ * <p>
+ * Fixtures are kept by the signature of their {@link Template} annotations and counted by references:
+ * the first class that needs a signature loads the fixtures, the following classes reuse them. When the last
+ * reference is released, the fixtures are kept for the grace period, so that the next class with the same signature
+ * does not load them again, and then deleted. Fixtures still idle at the end of the launcher session are deleted by
+ * {@link SessionFixtureListener}, the shutdown hook only deletes those left if the session is not closed.
+ * </p>
+ *
+ * @see PrepareExtensionManager
+ * @since 1.0.0
+ */
+public final class SharedFixturePool {
+
+    /**
+     * Parameter value for storing the idle time of shared fixtures in milliseconds before they are deleted.
+     */
+    public static final String GRACE_PERIOD_PROPERTIES = "fixture.shared.grace-period";
+
+    /**
+     * Default idle time of shared fixtures in milliseconds.
+     */
+    public static final long DEFAULT_GRACE_PERIOD_MILLIS = 5_000;
+
+    private static final SharedFixturePool SHARED = new SharedFixturePool(
+            Duration.ofMillis(SystemProperties.getLong(GRACE_PERIOD_PROPERTIES, DEFAULT_GRACE_PERIOD_MILLIS)));
+
+    private final Logger logger = LoggerFactory.getLogger(SharedFixturePool.class);
+    private final Duration gracePeriod;
+    private final Map<String, Entry> entries = new HashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates a pool. Use {@link #shared()} except in tests.
+     *
+     * @param gracePeriod idle time of fixtures before they are deleted, zero to delete them on the last release
+     */
+    public SharedFixturePool(@NotNull Duration gracePeriod) {
+        requireNonNull(gracePeriod, "Grace period can`t be null");
+        if (gracePeriod.isNegative()) {
+            throw new IllegalArgumentException("The grace period of shared fixtures can`t be negative.");
+        }
+        this.gracePeriod = gracePeriod;
+    }
+
+    /**
+     * Returns the JVM-wide pool configured by the system properties.
+     *
+     * @return shared pool
+     */
+    public static SharedFixturePool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Returns the canonical signature of the templates: names and counts sorted, independent of the declared order.
+     *
+     * @param templates array of annotations {@link Template}
+     * @return signature of the templates
+     */
+    public static String signature(@NotNull Template[] templates) {
+        requireNonNull(templates, "The list of templates (@Template) cannot be null");
+        return Arrays.stream(templates)
+                .map(template -> template.name() + ":" + template.count())
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Takes a reference to the fixtures of the signature, loading them if the pool has none.
+     * Concurrent callers with the same signature wait for one loading, a failed loading is not kept.
+     *
+     * @param signature signature of the templates
+     * @param loader loads the fixtures of the signature
+     * @return lease that releases the reference when closed
+     */
+    public Lease acquire(@NotNull String signature, @NotNull Supplier<FixtureBatchCollection> loader) {
+        requireNonNull(signature, "Signature can`t be null");
+        requireNonNull(loader, "Loader can`t be null");
+
+        Entry entry;
+        boolean created = false;
+        synchronized (this) {
+            entry = entries.get(signature);
+            if (entry == null) {
+                entry = new Entry();
+                entries.put(signature, entry);
+                created = true;
+            }
+            entry.references++;
+            if (entry.pendingDeletion != null) {
+                entry.pendingDeletion.cancel(false);
+                entry.pendingDeletion = null;
+            }
+        }
+
+        if (created) {
+            try {
+                entry.fixtures.complete(loader.get());
+            } catch (RuntimeException | Error e) {
+                synchronized (this) {
+                    entries.remove(signature, entry);
+                }
+                entry.fixtures.completeExceptionally(e);
+                throw e;
+            }
+        }
+        return new Lease(signature, await(entry.fixtures));
+    }
+
+    /**
+     * Deletes all fixtures that are not referenced, including those waiting for the end of the grace period.
+     */
+    public void flush() {
+        List<Map.Entry<String, Entry>> idle;
+        synchronized (this) {
+            idle = entries.entrySet().stream()
+                    .filter(entry -> entry.getValue().references == 0)
+                    .toList();
+            idle.forEach(entry -> {
+                entries.remove(entry.getKey());
+                if (entry.getValue().pendingDeletion != null) {
+                    entry.getValue().pendingDeletion.cancel(false);
+                }
+            });
+        }
+        idle.forEach(entry -> delete(entry.getKey(), entry.getValue()));
+    }
+
+    /**
+     * Releases a reference, the fixtures of the last reference are deleted now or after the grace period.
+     *
+     * @param signature signature of the templates
+     */
+    private void release(String signature) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(signature);
+            if (entry == null || --entry.references > 0) {
+                return;
+            }
+            if (!gracePeriod.isZero()) {
+                entry.pendingDeletion = scheduler().schedule(() -> expire(signature, entry),
+                        gracePeriod.toMillis(), TimeUnit.MILLISECONDS);
+                return;
+            }
+            entries.remove(signature);
+        }
+        delete(signature, entry);
+    }
+
+    /**
+     * Deletes the fixtures at the end of the grace period, unless they have been acquired again.
+     */
+    private void expire(String signature, Entry entry) {
+        synchronized (this) {
+            if (entry.references > 0 || !entries.remove(signature, entry)) {
+                return;
+            }
+        }
+        delete(signature, entry);
+    }
+
+    private void delete(String signature, Entry entry) {
+        logger.debug("Deleting shared fixtures [{}].", signature);
+        try {
+            TestDataPreparer.processTemplatesForDeletion(entry.fixtures.join().batches());
+        } catch (RuntimeException e) {
+            logger.error("Failed to delete shared fixtures [{}].", signature, e);
+        }
+    }
+
+    private synchronized ScheduledExecutorService scheduler() {
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(null, task, "shared-fixture-pool", 0, false);
+                thread.setDaemon(true);
+                return thread;
+            });
+            Runtime.getRuntime().addShutdownHook(new Thread(null, this::flush, "shared-fixture-pool-flush", 0, false));
+        }
+        return scheduler;
+    }
+
+    private static FixtureBatchCollection await(CompletableFuture<FixtureBatchCollection> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Shared fixtures and their references, guarded by the pool.
+     */
+    private static final class Entry {
+        private final CompletableFuture<FixtureBatchCollection> fixtures = new CompletableFuture<>();
+        private int references;
+        private ScheduledFuture<?> pendingDeletion;
+    }
+
+    /**
+     * Reference to shared fixtures. Closing the lease releases the reference, not the fixtures.
+     */
+    public final class Lease implements AutoCloseable {
+        private final String signature;
+        private final FixtureBatchCollection fixtures;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease(String signature, FixtureBatchCollection fixtures) {
+            this.signature = signature;
+            this.fixtures = fixtures;
+        }
+
+        /**
+         * Returns the shared fixtures, they must not be modified or closed by tests.
+         *
+         * @return shared fixtures
+         */
+        public FixtureBatchCollection fixtures() {
+            return fixtures;
+        }
+
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                release(signature);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.stasbykov.datapreparer.internal.junit;
+
+import io.github.stasbykov.datapreparer.api.core.Fixture;
+import io.github.stasbykov.datapreparer.api.core.FixtureTemplate;
+import io.github.stasbykov.datapreparer.internal.jfr.FixtureWaitEvent;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Enforces {@link FixtureTemplate#maxConcurrency()} across all tests of the JVM.
+ * <p>
+ * Every template with a limit gets a fair semaphore, keyed by the template name, so loadings and deletions of the
+ * template wait in the arrival order while templates without a limit are not affected. The semaphore is created with
+ * the limit of the first template of the name. The time spent waiting is recorded in {@link FixtureMetrics} and as
+ * a {@link FixtureWaitEvent}.
+ * </p>
+ *
+ * @see TestDataPreparer
+ * @since 1.0.0
+ */
+public final class TemplateConcurrencyLimits {
+
+    private static final TemplateConcurrencyLimits SHARED = new TemplateConcurrencyLimits(FixtureMetrics.shared());
+    private static final Permit UNLIMITED = () -> {};
+
+    private final Map<String, Semaphore> semaphores = new ConcurrentHashMap<>();
+    private final FixtureMetrics metrics;
+
+    /**
+     * Creates limits. Use {@link #shared()} except in tests.
+     *
+     * @param metrics aggregator of the wait times
+     */
+    public TemplateConcurrencyLimits(@NotNull FixtureMetrics metrics) {
+        this.metrics = requireNonNull(metrics, "Metrics can`t be null");
+    }
+
+    /**
+     * Returns the JVM-wide limits used by {@link TestDataPreparer}.
+     *
+     * @return shared limits
+     */
+    public static TemplateConcurrencyLimits shared() {
+        return SHARED;
+    }
+
+    /**
+     * Waits for a permit of the template. A template without a limit gets a permit right away.
+     *
+     * @param template fixture template
+     * @param operation name of the operation, load or delete
+     * @return permit released when closed
+     * @throws IllegalStateException if the thread is interrupted while waiting
+     */
+    public Permit acquire(@NotNull FixtureTemplate<? extends Fixture> template, @NotNull String operation) {
+        requireNonNull(template, "FixtureTemplate cannot be null");
+        if (template.maxConcurrency() == 0) {
+            return UNLIMITED;
+        }
+        Semaphore semaphore = semaphores.computeIfAbsent(template.name(),
+                key -> new Semaphore(template.maxConcurrency(), true));
+
+        FixtureWaitEvent event = new FixtureWaitEvent();
+        event.template = template.name();
+        event.operation = operation;
+        event.maxConcurrency = template.maxConcurrency();
+        event.begin();
+        long start = System.nanoTime();
+        try {
+            semaphore.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            event.finish(e);
+            throw new IllegalStateException("Interrupted while waiting for a permit of the template named:"
+                    + template.name(), e);
+        }
+        metrics.recordWait(template.name(), System.nanoTime() - start);
+        event.finish(null);
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                semaphore.release();
+            }
+        };
+    }
+
+    /**
+     * Permit of a template operation, closing it lets the next waiting operation run.
+     */
+    @FunctionalInterface
+    public interface Permit extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
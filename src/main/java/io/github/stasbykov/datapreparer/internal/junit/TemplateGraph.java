@@ -0,0 +1,90 @@
+package io.github.stasbykov.datapreparer.internal.junit;
+
+import io.github.stasbykov.datapreparer.api.core.FixtureTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Dependency graph of fixture templates declared with {@link FixtureTemplate#dependencies()}.
+ * <p>
+ * Splits the templates of one setup into topological levels: every template depends only on templates of the
+ * previous levels, so the templates of one level are independent of each other. Dependencies on templates that are
+ * not part of the setup are ignored. Within a level the templates keep their declared order.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+final class TemplateGraph {
+
+    private TemplateGraph() {}
+
+    /**
+     * Splits the items into topological levels.
+     *
+     * @param items items in the declared order
+     * @param name function returning the template name of an item
+     * @param dependencies function returning the names of the templates the item depends on
+     * @param <E> item type
+     * @return levels in the loading order
+     * @throws IllegalStateException if the dependencies contain a cycle
+     */
+    static <E> List<List<E>> levels(List<E> items, Function<E, String> name, Function<E, List<String>> dependencies) {
+        Map<String, List<Integer>> positionsByName = new HashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            positionsByName.computeIfAbsent(name.apply(items.get(i)), key -> new ArrayList<>()).add(i);
+        }
+
+        int[] unresolved = new int[items.size()];
+        List<List<Integer>> dependents = new ArrayList<>(items.size());
+        items.forEach(item -> dependents.add(new ArrayList<>()));
+        for (int i = 0; i < items.size(); i++) {
+            for (String dependency : new LinkedHashSet<>(Optional.ofNullable(dependencies.apply(items.get(i))).orElse(List.of()))) {
+                for (int position : positionsByName.getOrDefault(dependency, List.of())) {
+                    dependents.get(position).add(i);
+                    unresolved[i]++;
+                }
+            }
+        }
+
+        List<List<E>> levels = new ArrayList<>();
+        List<Integer> current = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (unresolved[i] == 0) {
+                current.add(i);
+            }
+        }
+        int placed = 0;
+        while (!current.isEmpty()) {
+            levels.add(current.stream().map(items::get).toList());
+            placed += current.size();
+            List<Integer> next = new ArrayList<>();
+            for (int position : current) {
+                for (int dependent : dependents.get(position)) {
+                    if (--unresolved[dependent] == 0) {
+                        next.add(dependent);
+                    }
+                }
+            }
+            next.sort(Comparator.naturalOrder());
+            current = next;
+        }
+
+        if (placed != items.size()) {
+            List<String> cycle = new ArrayList<>();
+            for (int i = 0; i < items.size(); i++) {
+                if (unresolved[i] > 0) {
+                    cycle.add(name.apply(items.get(i)));
+                }
+            }
+            throw new IllegalStateException("Cyclic dependency between fixture templates: " + cycle);
+        }
+        return levels;
+    }
+}
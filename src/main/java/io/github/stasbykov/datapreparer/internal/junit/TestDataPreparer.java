@@ -1,33 +1,120 @@
 package io.github.stasbykov.datapreparer.internal.junit;
 
 import io.github.stasbykov.datapreparer.api.annotation.Template;
+import io.github.stasbykov.datapreparer.api.core.AsyncFixtureDeleter;
+import io.github.stasbykov.datapreparer.api.core.AsyncFixtureLoader;
 import io.github.stasbykov.datapreparer.api.core.Fixture;
 import io.github.stasbykov.datapreparer.api.core.FixtureBatch;
+import io.github.stasbykov.datapreparer.api.core.FixtureBatchCollection;
+import io.github.stasbykov.datapreparer.api.core.FixtureGenerator;
 import io.github.stasbykov.datapreparer.api.core.FixtureLoader;
+import io.github.stasbykov.datapreparer.api.core.FixtureSavepoint;
 import io.github.stasbykov.datapreparer.api.core.FixtureTemplate;
+import io.github.stasbykov.datapreparer.api.core.SnapshotFixtureData;
+import io.github.stasbykov.datapreparer.api.core.StreamingFixtureLoader;
+import io.github.stasbykov.datapreparer.api.core.TransactionalFixtureDeleter;
 import io.github.stasbykov.datapreparer.internal.core.FixtureHandler;
+import io.github.stasbykov.datapreparer.internal.jfr.FixtureDeleteEvent;
+import io.github.stasbykov.datapreparer.internal.jfr.FixtureGenerateEvent;
+import io.github.stasbykov.datapreparer.internal.jfr.FixtureLoadEvent;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 import static java.util.Objects.requireNonNull;
 
 /**
  * Class for preparing test data using {@link Template} annotations.
+ * <p>
+ * Templates are loaded in the order of their {@link FixtureTemplate#dependencies() dependencies}: a template is
+ * loaded only after all templates it depends on, and deleted before them. Independent templates are loaded one after
+ * another, or concurrently on virtual threads if the parallel mode is enabled in {@link PreparerSettings}.
+ * In both modes the batches keep the declared order of the templates, and if one template fails, the batches
+ * that have already been loaded are deleted. Loadings and deletions of a template with a
+ * {@link FixtureTemplate#maxConcurrency() concurrency limit} wait for a permit of {@link TemplateConcurrencyLimits}.
+ * Loadings and deletions are recorded in {@link FixtureMetrics}, the shared ones unless the preparer is given its own.
+ * </p>
  *
  * @see FixtureHandler
+ * @see PreparerSettings
  * @since 1.0.0
  */
 public class TestDataPreparer {
 
+    private static final Executor ASYNC_EXECUTOR = task -> Thread.ofVirtual().name("fixture-loading").start(task);
+
     private final FixtureHandler fixtureHandler;
+    private final PreparerSettings settings;
+    private final FixtureSnapshotCache snapshotCache;
+    private final TemplateConcurrencyLimits limits;
+    private final FixtureMetrics metrics;
 
+    /**
+     * Creates a preparer with the settings from the system properties.
+     *
+     * @param fixtureHandler fixture template handler
+     */
     public TestDataPreparer(@NotNull FixtureHandler fixtureHandler) {
+        this(fixtureHandler, PreparerSettings.fromProperties());
+    }
+
+    public TestDataPreparer(@NotNull FixtureHandler fixtureHandler, @NotNull PreparerSettings settings) {
+        this(fixtureHandler, settings, FixtureSnapshotCache.shared());
+    }
+
+    /**
+     * Creates a preparer with its own cache of {@link SnapshotFixtureData} snapshots.
+     *
+     * @param fixtureHandler fixture template handler
+     * @param settings preparation settings
+     * @param snapshotCache cache of the generated fixtures
+     */
+    public TestDataPreparer(@NotNull FixtureHandler fixtureHandler, @NotNull PreparerSettings settings,
+                            @NotNull FixtureSnapshotCache snapshotCache) {
+        this(fixtureHandler, settings, snapshotCache, TemplateConcurrencyLimits.shared(), FixtureMetrics.shared());
+    }
+
+    /**
+     * Creates a preparer with its own concurrency limits and metrics. Use the shared ones except in tests.
+     *
+     * @param fixtureHandler fixture template handler
+     * @param settings preparation settings
+     * @param snapshotCache cache of the generated fixtures
+     * @param limits concurrency limits of the templates
+     * @param metrics aggregator of the loading and deletion times
+     */
+    public TestDataPreparer(@NotNull FixtureHandler fixtureHandler, @NotNull PreparerSettings settings,
+                            @NotNull FixtureSnapshotCache snapshotCache, @NotNull TemplateConcurrencyLimits limits,
+                            @NotNull FixtureMetrics metrics) {
         this.fixtureHandler = fixtureHandler;
+        this.settings = requireNonNull(settings, "Preparer settings can`t be null");
+        this.snapshotCache = requireNonNull(snapshotCache, "Snapshot cache can`t be null");
+        this.limits = requireNonNull(limits, "Concurrency limits can`t be null");
+        this.metrics = requireNonNull(metrics, "Metrics can`t be null");
     }
 
     /**
@@ -38,66 +125,751 @@ public class TestDataPreparer {
      */
     public List<FixtureBatch<? extends Fixture>> processTemplatesForLoading(Template[] templates) {
         validateTemplate(templates);
-        return Arrays.stream(templates)
-                .map(this::loadTemplate)
-                .flatMap(Optional::stream)
-                .toList();
+
+        List<ResolvedTemplate> resolved = resolveTemplates(templates);
+        List<List<ResolvedTemplate>> levels = TemplateGraph.levels(resolved,
+                item -> item.template().name(),
+                item -> item.template().dependencies());
+
+        FixtureBatch<?>[] batches = new FixtureBatch<?>[templates.length];
+        for (List<ResolvedTemplate> level : levels) {
+            Map<Integer, FixtureSavepoint> savepoints;
+            try {
+                savepoints = beginSavepoints(level);
+            } catch (RuntimeException | Error e) {
+                deleteAfterFailure(inDeclaredOrder(batches), e);
+                throw e;
+            }
+            Outcome<FixtureBatch<? extends Fixture>> outcome = runAll(level,
+                    item -> loadTemplate(item, savepoints.get(item.position())),
+                    settings.parallel() ? settings.parallelism() : 1, true);
+            for (int i = 0; i < level.size(); i++) {
+                ResolvedTemplate item = level.get(i);
+                FixtureBatch<? extends Fixture> batch = outcome.results().get(i);
+                if (batch == null && savepoints.containsKey(item.position())) {
+                    batch = emptyBatch(item.template(), savepoints.get(item.position()));
+                }
+                batches[item.position()] = batch;
+            }
+            if (outcome.failure() != null) {
+                deleteAfterFailure(inDeclaredOrder(batches), outcome.failure());
+                throw asUnchecked(outcome.failure());
+            }
+        }
+        return inDeclaredOrder(batches);
+    }
+
+    /**
+     * Prepares a collection that loads the fixtures of a template when a test requests them for the first time,
+     * see {@link FixtureBatchCollection#lazy(Set, Function)}.
+     * <p>
+     * The annotations are validated now. A requested template is loaded together with the declared templates it
+     * depends on, directly or transitively, that have not been loaded yet. The collection serializes the loadings,
+     * so the loaded names need no further synchronization.
+     * </p>
+     *
+     * @param templates array of annotations {@link Template}
+     * @return collection without loaded batches
+     */
+    public FixtureBatchCollection processTemplatesLazily(Template[] templates) {
+        validateTemplate(templates);
+
+        Set<String> declared = Arrays.stream(templates)
+                .map(Template::name)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Set<String> loaded = new HashSet<>();
+        return FixtureBatchCollection.lazy(declared, templateName -> {
+            Set<String> required = new HashSet<>();
+            collectRequired(templateName, declared, loaded, required);
+            List<FixtureBatch<? extends Fixture>> batches = processTemplatesForLoading(Arrays.stream(templates)
+                    .filter(template -> required.contains(template.name()))
+                    .toArray(Template[]::new));
+            loaded.addAll(required);
+            return batches;
+        });
+    }
+
+    /**
+     * Collects the template and the declared templates it depends on that have not been loaded yet.
+     *
+     * @param templateName name of the template
+     * @param declared names of the declared templates
+     * @param loaded names of the loaded templates
+     * @param required collected names
+     */
+    private void collectRequired(String templateName, Set<String> declared, Set<String> loaded, Set<String> required) {
+        if (!declared.contains(templateName) || loaded.contains(templateName) || !required.add(templateName)) {
+            return;
+        }
+        fixtureHandler.getTemplate(templateName).ifPresent(template -> template.dependencies()
+                .forEach(dependency -> collectRequired(dependency, declared, loaded, required)));
+    }
+
+    /**
+     * Starts processing an array of {@link Template} annotations on a virtual thread.
+     *
+     * @param templates array of annotations {@link Template}
+     * @return future of the fixture batches, completed exceptionally if the loading fails
+     * @see #processTemplatesForLoading(Template[])
+     */
+    public CompletableFuture<List<FixtureBatch<? extends Fixture>>> processTemplatesForLoadingAsync(Template[] templates) {
+        return CompletableFuture.supplyAsync(() -> processTemplatesForLoading(templates), ASYNC_EXECUTOR);
+    }
+
+    /**
+     * Waits for the fixture batches loaded by {@link #processTemplatesForLoadingAsync(Template[])}.
+     *
+     * @param loading future of the fixture batches
+     * @return fixture batches
+     */
+    public static List<FixtureBatch<? extends Fixture>> awaitLoading(CompletableFuture<List<FixtureBatch<? extends Fixture>>> loading) {
+        return await(loading);
     }
 
     /**
      * Processes a list of fixture packages to remove.
+     * <p>
+     * Batches of the same template are merged, so every deleter is called once. Batches are deleted in the reverse
+     * order of the template dependencies, so a batch is deleted before the batches it depends on. Independent batches
+     * are deleted concurrently, at most {@link PreparerSettings#deleteParallelism()} at a time. The chunks of a batch
+     * are deleted by an {@link AsyncFixtureDeleter} with at most {@link PreparerSettings#pipelineDepth()} chunks
+     * in flight. Batches with a
+     * {@link FixtureSavepoint} are rolled back one after another in the reverse order instead. All batches are
+     * deleted even if some deletions fail, the first failure is thrown with the others as suppressed.
+     * </p>
      *
      * @param fixtures list of fixture batches containing the template name and a list of fixtures
      */
     public static void processTemplatesForDeletion(List<FixtureBatch<? extends Fixture>> fixtures) {
-        fixtures.forEach(TestDataPreparer::deleteBatch);
+        deleteInLevels(fixtures, PreparerSettings.fromProperties(), TemplateConcurrencyLimits.shared(),
+                FixtureMetrics.shared());
+    }
+
+    /**
+     * Deletes the fixture batches like {@link #processTemplatesForDeletion(List)}, but with the settings,
+     * the concurrency limits and the metrics of this preparer.
+     *
+     * @param fixtures list of fixture batches containing the template name and a list of fixtures
+     */
+    public void deleteTemplates(List<FixtureBatch<? extends Fixture>> fixtures) {
+        deleteInLevels(fixtures, settings, limits, metrics);
+    }
+
+    /**
+     * Deletes the batches of several loadings with {@link #processTemplatesForDeletion(List)}, the last loading first.
+     * The batches of a loading can depend on the batches of the previous loadings, but not on the following ones.
+     * All loadings are deleted even if some deletions fail, the first failure is thrown with the others as suppressed.
+     *
+     * @param loadings batches of the loadings in the loading order
+     */
+    public static void processLoadingsForDeletion(List<List<FixtureBatch<? extends Fixture>>> loadings) {
+        Throwable failure = null;
+        for (int i = loadings.size() - 1; i >= 0; i--) {
+            try {
+                processTemplatesForDeletion(loadings.get(i));
+            } catch (RuntimeException | Error e) {
+                failure = addFailure(failure, e);
+            }
+        }
+        if (failure != null) {
+            throw asUnchecked(failure);
+        }
+    }
+
+    /**
+     * Merges the batches of the same template and deletes them level by level in the reverse order
+     * of the template dependencies.
+     *
+     * @param fixtures batches to delete
+     * @param settings deletion settings
+     * @param limits concurrency limits of the templates
+     * @param metrics aggregator of the deletion times
+     */
+    private static void deleteInLevels(List<FixtureBatch<? extends Fixture>> fixtures, PreparerSettings settings,
+                                       TemplateConcurrencyLimits limits, FixtureMetrics metrics) {
+        List<List<FixtureBatch<? extends Fixture>>> levels = new ArrayList<>(TemplateGraph.levels(coalesce(fixtures),
+                batch -> batch.template().name(),
+                batch -> batch.template().dependencies()));
+        Collections.reverse(levels);
+
+        Throwable failure = null;
+        for (List<FixtureBatch<? extends Fixture>> level : levels) {
+            failure = rollbackSavepoints(level, failure, limits, metrics);
+            Outcome<Void> outcome = runAll(level.stream().filter(batch -> batch.savepoint() == null).toList(), batch -> {
+                deleteBatch(batch, settings.pipelineDepth(), limits, metrics);
+                return null;
+            }, settings.deleteParallelism(), false);
+            if (outcome.failure() != null) {
+                failure = addFailure(failure, outcome.failure());
+            }
+        }
+        if (failure != null) {
+            throw asUnchecked(failure);
+        }
+    }
+
+    /**
+     * Rolls back the savepoints of the level one after another in the reverse order.
+     *
+     * @param level batches of one dependency level in the declared order
+     * @param failure failure of the previous levels, or null
+     * @param limits concurrency limits of the templates
+     * @param metrics aggregator of the deletion times
+     * @return failure with the rollback errors added
+     */
+    private static Throwable rollbackSavepoints(List<FixtureBatch<? extends Fixture>> level, Throwable failure,
+                                                TemplateConcurrencyLimits limits, FixtureMetrics metrics) {
+        for (int i = level.size() - 1; i >= 0; i--) {
+            FixtureSavepoint savepoint = level.get(i).savepoint();
+            if (savepoint == null) {
+                continue;
+            }
+            FixtureBatch<? extends Fixture> batch = level.get(i);
+            try (TemplateConcurrencyLimits.Permit permit = limits.acquire(batch.template(), "delete")) {
+                FixtureDeleteEvent event = beginDeletion(batch);
+                long start = System.nanoTime();
+                try {
+                    savepoint.rollback();
+                } catch (RuntimeException | Error e) {
+                    event.finish(e);
+                    throw e;
+                }
+                metrics.recordDeletion(batch.template().name(), size(batch.fixtures()),
+                        System.nanoTime() - start);
+                event.finish(null);
+            } catch (RuntimeException | Error e) {
+                failure = addFailure(failure, e);
+            }
+        }
+        return failure;
     }
 
     /**
-     * Loads a fixture template based on the {@link Template} annotation and using {@link FixtureHandler}
+     * Merges the batches of the same template into one batch, keeping the order of the first batch of each template.
+     * The fixtures of the batches loaded in one chunk are joined, so the deleter is called once for them, the batches
+     * loaded in several chunks keep their chunks, see {@link ChunkedFixtures}. Batches with a savepoint are kept as they are, every savepoint is rolled back on its own.
      *
-     * @param template template fixture {@link Template}
-     * @return Optional of batch fixtures containing the template name and a list of fixtures
+     * @param batches batches to merge
+     * @return one batch per template
      */
-    private Optional<FixtureBatch<? extends Fixture>> loadTemplate(Template template) {
-        validateTemplate(template);
+    private static List<FixtureBatch<? extends Fixture>> coalesce(List<FixtureBatch<? extends Fixture>> batches) {
+        Map<Object, List<FixtureBatch<? extends Fixture>>> byTemplate = new LinkedHashMap<>();
+        batches.forEach(batch -> byTemplate.computeIfAbsent(batch.savepoint() == null ? batch.template() : batch,
+                key -> new ArrayList<>()).add(batch));
+
+        return byTemplate.values().stream()
+                .<FixtureBatch<? extends Fixture>>map(group -> group.size() == 1
+                        ? group.getFirst()
+                        : merge(group.getFirst().template(), group))
+                .toList();
+    }
 
-        return fixtureHandler.getTemplate(template.name())
-                .map(tmpl -> loadTemplateWithCount(tmpl, template.count()));
+    @SuppressWarnings("unchecked")
+    private static <T extends Fixture> FixtureBatch<T> merge(FixtureTemplate<T> template,
+                                                             List<FixtureBatch<? extends Fixture>> batches) {
+        List<List<T>> chunks = new ArrayList<>();
+        List<T> joined = null;
+        for (FixtureBatch<? extends Fixture> batch : batches) {
+            List<T> fixtures = (List<T>) batch.fixtures();
+            if (fixtures == null) {
+                continue;
+            }
+            List<List<T>> batchChunks = ChunkedFixtures.chunks(fixtures);
+            if (batchChunks.size() > 1) {
+                chunks.addAll(batchChunks);
+                continue;
+            }
+            if (joined == null) {
+                joined = new ArrayList<>();
+                chunks.add(joined);
+            }
+            joined.addAll(fixtures);
+        }
+        return new FixtureBatch<>(template, ChunkedFixtures.of(chunks));
+    }
+
+    /**
+     * Finds the fixture templates of the annotations, annotations without a template are skipped.
+     *
+     * @param templates array of annotations {@link Template}
+     * @return resolved templates in the declared order
+     */
+    private List<ResolvedTemplate> resolveTemplates(Template[] templates) {
+        List<ResolvedTemplate> resolved = new ArrayList<>(templates.length);
+        for (int i = 0; i < templates.length; i++) {
+            int position = i;
+            fixtureHandler.getTemplate(templates[i].name())
+                    .ifPresent(template -> resolved.add(new ResolvedTemplate(position, templates[position], template)));
+        }
+        return resolved;
+    }
+
+    private static List<FixtureBatch<? extends Fixture>> inDeclaredOrder(FixtureBatch<?>[] batches) {
+        List<FixtureBatch<? extends Fixture>> ordered = new ArrayList<>(batches.length);
+        for (FixtureBatch<?> batch : batches) {
+            if (batch != null) {
+                ordered.add(batch);
+            }
+        }
+        return List.copyOf(ordered);
+    }
+
+    /**
+     * Runs the action for every item, one after another if the parallelism is 1, otherwise concurrently
+     * on virtual threads with at most {@code parallelism} running at a time. In the parallel mode all items
+     * are awaited, so that the result of every successful action is known. If the calling thread is interrupted
+     * while waiting, the running actions are interrupted and still awaited, the results of those that complete are
+     * kept, the interrupt flag is restored and the interruption is the failure, with the other failures as suppressed.
+     *
+     * @param items items in the declared order
+     * @param action action for an item
+     * @param parallelism maximum number of actions running at the same time
+     * @param failFast if true, the sequential run stops at the first failure
+     * @return results in the order of the items, null for the items that were not completed,
+     * and the first failure with the others as suppressed
+     */
+    private static <E, R> Outcome<R> runAll(List<E> items, Function<E, R> action, int parallelism, boolean failFast) {
+        List<R> results = new ArrayList<>(items.size());
+        Throwable failure = null;
+
+        if (parallelism == 1 || items.size() < 2) {
+            for (E item : items) {
+                if (failure != null && failFast) {
+                    results.add(null);
+                    continue;
+                }
+                try {
+                    results.add(action.apply(item));
+                } catch (RuntimeException | Error e) {
+                    results.add(null);
+                    failure = addFailure(failure, e);
+                }
+            }
+            return new Outcome<>(results, failure);
+        }
+
+        Semaphore permits = new Semaphore(parallelism, true);
+        InterruptedException interrupted = null;
+        List<Future<R>> futures;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            futures = items.stream()
+                    .map(item -> executor.submit(() -> {
+                        permits.acquire();
+                        try {
+                            return action.apply(item);
+                        } finally {
+                            permits.release();
+                        }
+                    }))
+                    .toList();
+
+            for (Future<R> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    // the failure is collected with the results below
+                } catch (InterruptedException e) {
+                    interrupted = e;
+                    executor.shutdownNow();
+                    break;
+                }
+            }
+        }
+
+        for (Future<R> future : futures) {
+            if (future.state() == Future.State.SUCCESS) {
+                results.add(future.resultNow());
+            } else {
+                results.add(null);
+                if (future.state() == Future.State.FAILED) {
+                    failure = addFailure(failure, future.exceptionNow());
+                }
+            }
+        }
+        if (interrupted != null) {
+            Thread.currentThread().interrupt();
+            if (failure != null) {
+                interrupted.addSuppressed(failure);
+            }
+            failure = interrupted;
+        }
+        return new Outcome<>(results, failure);
+    }
+
+    /**
+     * Deletes the batches loaded before a failure, deletion errors are added to the failure as suppressed.
+     * If the loading was interrupted, the interrupt flag is cleared for the deletion and restored after it.
+     *
+     * @param loaded batches loaded before the failure
+     * @param failure loading failure
+     */
+    private void deleteAfterFailure(List<FixtureBatch<? extends Fixture>> loaded, Throwable failure) {
+        boolean interrupted = Thread.interrupted();
+        try {
+            deleteInLevels(loaded, settings, limits, metrics);
+        } catch (RuntimeException | Error e) {
+            failure.addSuppressed(e);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static Throwable addFailure(Throwable failure, Throwable next) {
+        if (failure == null) {
+            return next;
+        }
+        failure.addSuppressed(next);
+        return failure;
+    }
+
+    private static RuntimeException asUnchecked(Throwable failure) {
+        if (failure instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException("Fixture loading failed", failure);
+    }
+
+    /**
+     * Marks the stores of the templates with a {@link TransactionalFixtureDeleter} in the declared order,
+     * so that the marks can be rolled back in the reverse order. If a mark fails, the marks already taken
+     * are rolled back.
+     *
+     * @param level templates of one dependency level
+     * @return marks by the template position
+     */
+    private static Map<Integer, FixtureSavepoint> beginSavepoints(List<ResolvedTemplate> level) {
+        Map<Integer, FixtureSavepoint> savepoints = new LinkedHashMap<>();
+        try {
+            for (ResolvedTemplate item : level) {
+                if (item.template().deleter() instanceof TransactionalFixtureDeleter<?> deleter) {
+                    savepoints.put(item.position(), requireNonNull(deleter.begin(),
+                            "FixtureSavepoint cannot be null in template named:" + item.template().name()));
+                }
+            }
+        } catch (RuntimeException | Error e) {
+            List<FixtureSavepoint> taken = new ArrayList<>(savepoints.values());
+            Collections.reverse(taken);
+            taken.forEach(savepoint -> {
+                try {
+                    savepoint.rollback();
+                } catch (RuntimeException other) {
+                    e.addSuppressed(other);
+                }
+            });
+            throw e;
+        }
+        return savepoints;
+    }
+
+    private static <T extends Fixture> FixtureBatch<T> emptyBatch(FixtureTemplate<T> template, FixtureSavepoint savepoint) {
+        return new FixtureBatch<>(template, List.of(), savepoint);
+    }
+
+    /**
+     * Loads a resolved fixture template with the count of its {@link Template} annotation.
+     *
+     * @param resolved template resolved by {@link FixtureHandler}
+     * @param savepoint mark of the template store, or null
+     * @return batch fixtures containing the template name and a list of fixtures
+     */
+    private FixtureBatch<? extends Fixture> loadTemplate(ResolvedTemplate resolved, FixtureSavepoint savepoint) {
+        return loadTemplateWithCount(resolved.template(), resolved.annotation().count(), savepoint);
     }
 
     /**
      * Loads a fixture template with the given number of instances.
+     * <p>
+     * The fixtures are generated and loaded chunk by chunk, see {@link StreamingFixtureLoader}. A plain
+     * {@link FixtureLoader} receives all fixtures in one chunk. The batch keeps the results of the chunks without
+     * joining them, see {@link ChunkedFixtures}. An {@link AsyncFixtureLoader} loads up to
+     * {@link PreparerSettings#pipelineDepth()} chunks while the next chunk is generated. The time of both phases is
+     * recorded in {@link FixtureMetrics}. If a chunk fails,
+     * the in-flight chunks are awaited and all chunks that have been loaded are deleted, unless the template
+     * has a savepoint, which is then rolled back with the other batches.
+     * </p>
+     * <p>
+     * A template with a {@link FixtureTemplate#maxConcurrency() concurrency limit} holds a permit of
+     * {@link TemplateConcurrencyLimits} only while its chunks are loaded. The permit is taken before a chunk is passed
+     * to the loader and released when no chunk is in flight, so a chunk generated while the previous ones are awaited
+     * does not keep other loadings of the template waiting. The wait is not counted as loading time.
+     * </p>
      *
      * @param template fixture template
      * @param count  number of fixture instances
+     * @param savepoint mark of the template store taken before loading, or null
      * @param <T>  fixture type
      * @return batch fixtures containing the template name and a list of fixtures
      */
-    private <T extends Fixture> FixtureBatch<T> loadTemplateWithCount(FixtureTemplate<T> template, int count) {
+    private <T extends Fixture> FixtureBatch<T> loadTemplateWithCount(FixtureTemplate<T> template, int count,
+                                                                     FixtureSavepoint savepoint) {
         validateFixtureTemplate(template, template.loader(), "FixtureLoader");
+        return loadChunks(template, count, savepoint);
+    }
 
-        List<T> data = IntStream.range(0, count)
-                .mapToObj(i -> template.data().get())
-                .filter(Objects::nonNull)
-                .toList();
+    /**
+     * Generates and loads the fixtures of a template chunk by chunk, see {@link #loadTemplateWithCount}.
+     */
+    private <T extends Fixture> FixtureBatch<T> loadChunks(FixtureTemplate<T> template, int count,
+                                                          FixtureSavepoint savepoint) {
+        FixtureLoadEvent event = new FixtureLoadEvent();
+        event.template = template.name();
+        event.count = count;
+        event.begin();
+        long start = System.nanoTime();
+        long generateNanos = 0;
+        long waitNanos = 0;
+        TemplateConcurrencyLimits.Permit permit = null;
+        AsyncFixtureLoader<T> loader = AsyncFixtureLoader.of(template.loader());
+        int chunkSize = loader.chunkSize() > 0 ? loader.chunkSize() : settings.chunkSize();
 
-        List<T> fixtures = template.loader().load(data);
+        Deque<CompletableFuture<List<T>>> inFlight = new ArrayDeque<>();
+        List<List<T>> loadedChunks = new ArrayList<>();
+        try {
+            for (int from = 0; from < count; from += chunkSize) {
+                if (inFlight.size() >= settings.pipelineDepth()) {
+                    loadedChunks.add(await(inFlight.removeFirst()));
+                }
+                if (inFlight.isEmpty() && permit != null) {
+                    permit.close();
+                    permit = null;
+                }
+                int to = (int) Math.min(count, (long) from + chunkSize);
+                long generateStart = System.nanoTime();
+                List<T> chunk = generate(template, from, to);
+                generateNanos += System.nanoTime() - generateStart;
+                if (permit == null) {
+                    long waitStart = System.nanoTime();
+                    permit = limits.acquire(template, "load");
+                    waitNanos += System.nanoTime() - waitStart;
+                }
+                inFlight.addLast(loader.loadChunkAsync(chunk));
+            }
+            while (!inFlight.isEmpty()) {
+                loadedChunks.add(await(inFlight.removeFirst()));
+            }
+        } catch (RuntimeException | Error e) {
+            for (CompletableFuture<List<T>> chunk : inFlight) {
+                try {
+                    loadedChunks.add(await(chunk));
+                } catch (RuntimeException | Error other) {
+                    e.addSuppressed(other);
+                }
+            }
+            if (permit != null) {
+                permit.close();
+            }
+            if (savepoint == null) {
+                deleteLoadedChunks(template, loadedChunks, e);
+            }
+            event.finish(e);
+            throw e;
+        } finally {
+            if (permit != null) {
+                permit.close();
+            }
+        }
 
-        return new FixtureBatch<>(template, fixtures);
+        List<T> fixtures = ChunkedFixtures.of(loadedChunks);
+        metrics.recordLoad(template.name(), count, size(fixtures), generateNanos,
+                System.nanoTime() - start - generateNanos - waitNanos);
+        event.finish(null);
+        return new FixtureBatch<>(template, fixtures, savepoint);
     }
 
     /**
-     * Removes a fixture package.
+     * Generates the fixtures with the indexes from {@code from} (inclusive) to {@code to} (exclusive).
+     * <p>
+     * A {@link FixtureGenerator} receives the index and the seed of every fixture, and at least
+     * {@link GenerationSettings#parallelThreshold()} fixtures are generated on a fork-join pool. The fixtures keep
+     * the index order, so the result does not depend on the number of threads. A plain supplier is called
+     * sequentially in the calling thread. The fixtures of a {@link SnapshotFixtureData} are read from the
+     * {@link FixtureSnapshotCache} if it has them, otherwise generated by the wrapped data and written to the cache.
+     * Every call is recorded as a {@link FixtureGenerateEvent}.
+     * </p>
+     *
+     * @param template fixture template
+     * @param from first index
+     * @param to index after the last one
+     * @param <T> fixture type
+     * @return generated fixtures without nulls
+     */
+    private <T extends Fixture> List<T> generate(FixtureTemplate<T> template, int from, int to) {
+        FixtureGenerateEvent event = new FixtureGenerateEvent();
+        event.template = template.name();
+        event.count = to - from;
+        event.begin();
+        try {
+            List<T> fixtures = generateItems(template, from, to);
+            event.finish(null);
+            return fixtures;
+        } catch (RuntimeException | Error e) {
+            event.finish(e);
+            throw e;
+        }
+    }
+
+    private <T extends Fixture> List<T> generateItems(FixtureTemplate<T> template, int from, int to) {
+        if (!(template.data() instanceof SnapshotFixtureData<T> snapshot)) {
+            return generateItems(template.name(), template.data(), from, to);
+        }
+        String key = FixtureSnapshotCache.key(template.name(), from, to,
+                settings.generation().templateSeed(template.name()), snapshot.version());
+        return snapshotCache.<T>read(key, snapshot.data().getClass().getClassLoader()).orElseGet(() -> {
+            List<T> fixtures = generateItems(template.name(), snapshot.data(), from, to);
+            snapshotCache.write(key, fixtures);
+            return fixtures;
+        });
+    }
+
+    private <T extends Fixture> List<T> generateItems(String templateName, Supplier<T> data, int from, int to) {
+        if (!(data instanceof FixtureGenerator<T> generator)) {
+            return IntStream.range(from, to)
+                    .mapToObj(i -> data.get())
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+
+        GenerationSettings generation = settings.generation();
+        long templateSeed = generation.templateSeed(templateName);
+        IntFunction<T> generateItem = i -> generator.generate(i, GenerationSettings.itemSeed(templateSeed, i));
+
+        if (to - from < generation.parallelThreshold()) {
+            return IntStream.range(from, to)
+                    .mapToObj(generateItem)
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+        return generation.pool()
+                .submit(() -> IntStream.range(from, to)
+                        .parallel()
+                        .mapToObj(generateItem)
+                        .filter(Objects::nonNull)
+                        .toList())
+                .join();
+    }
+
+    /**
+     * Deletes the chunks loaded before a failure as one batch, see {@link #deleteBatch}, so the
+     * deletion gets a permit, is recorded and deletes the chunks one by one. Deletion errors are added to the failure
+     * as suppressed.
+     *
+     * @param template fixture template
+     * @param loadedChunks chunks returned by the loader
+     * @param failure loading failure
+     * @param <T> fixture type
+     */
+    private <T extends Fixture> void deleteLoadedChunks(FixtureTemplate<T> template, List<List<T>> loadedChunks,
+                                                        Throwable failure) {
+        List<List<T>> chunks = loadedChunks.stream()
+                .filter(chunk -> chunk != null && !chunk.isEmpty())
+                .toList();
+        if (template.deleter() == null || chunks.isEmpty()) {
+            return;
+        }
+        try {
+            deleteBatch(new FixtureBatch<>(template, ChunkedFixtures.of(chunks)), settings.pipelineDepth(), limits, metrics);
+        } catch (RuntimeException | Error e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Waits for the future and rethrows its failure unwrapped.
+     *
+     * @param future future to wait for
+     * @param <R> result type
+     * @return result of the future
+     */
+    private static <R> R await(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Removes a fixture package. The fixtures loaded in chunks are passed to the deleter chunk by chunk, an
+     * {@link AsyncFixtureDeleter} deletes up to {@code pipelineDepth} chunks at the same time, a synchronous deleter
+     * deletes them one after another. All chunks are deleted even if some of them fail, the first failure is thrown
+     * with the others as suppressed.
      *
      * @param batch batch fixtures
+     * @param pipelineDepth maximum number of chunks deleted at the same time
+     * @param limits concurrency limits of the templates
+     * @param metrics aggregator of the deletion times
      * @param <T> type of fixture
      */
-    private static <T extends Fixture> void deleteBatch(FixtureBatch<T> batch) {
+    private static <T extends Fixture> void deleteBatch(FixtureBatch<T> batch, int pipelineDepth,
+                                                        TemplateConcurrencyLimits limits, FixtureMetrics metrics) {
         FixtureTemplate<T> template = batch.template();
         validateFixtureTemplate(template, template.deleter(), "FixtureDeleter");
 
-        template.deleter().delete(batch.fixtures());
+        try (TemplateConcurrencyLimits.Permit permit = limits.acquire(template, "delete")) {
+            FixtureDeleteEvent event = beginDeletion(batch);
+            long start = System.nanoTime();
+            AsyncFixtureDeleter<T> deleter = AsyncFixtureDeleter.of(template.deleter());
+            Deque<CompletableFuture<Void>> inFlight = new ArrayDeque<>();
+            Throwable failure = null;
+            for (List<T> chunk : ChunkedFixtures.chunks(batch.fixtures())) {
+                if (inFlight.size() >= pipelineDepth) {
+                    failure = awaitDeletion(inFlight.removeFirst(), failure);
+                }
+                try {
+                    inFlight.addLast(deleter.deleteAsync(chunk));
+                } catch (RuntimeException | Error e) {
+                    failure = addFailure(failure, e);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                failure = awaitDeletion(inFlight.removeFirst(), failure);
+            }
+            if (failure != null) {
+                event.finish(failure);
+                throw asUnchecked(failure);
+            }
+            metrics.recordDeletion(template.name(), size(batch.fixtures()), System.nanoTime() - start);
+            event.finish(null);
+        }
+    }
+
+    /**
+     * Waits for the deletion of a chunk.
+     *
+     * @param deletion future of the chunk deletion
+     * @param failure failure of the previous chunks, or null
+     * @return failure with the deletion error added
+     */
+    private static Throwable awaitDeletion(CompletableFuture<Void> deletion, Throwable failure) {
+        try {
+            await(deletion);
+            return failure;
+        } catch (RuntimeException | Error e) {
+            return addFailure(failure, e);
+        }
+    }
+
+    private static FixtureDeleteEvent beginDeletion(FixtureBatch<? extends Fixture> batch) {
+        FixtureDeleteEvent event = new FixtureDeleteEvent();
+        event.template = batch.template().name();
+        event.count = size(batch.fixtures());
+        event.begin();
+        return event;
+    }
+
+    private static int size(List<?> fixtures) {
+        return fixtures == null ? 0 : fixtures.size();
     }
 
     /**
@@ -108,9 +880,9 @@ public class TestDataPreparer {
      * @throws IllegalArgumentException if any of the templates fail validation
      * @see #validateTemplate(Template) for validating an individual template.
      */
-    private void validateTemplate(Template[] templates) {
+    static void validateTemplate(Template[] templates) {
         requireNonNull(templates, "The list of templates (@Template) cannot be null");
-        Arrays.stream(templates).forEach(this::validateTemplate);
+        Arrays.stream(templates).forEach(TestDataPreparer::validateTemplate);
     }
 
     /**
@@ -120,7 +892,7 @@ public class TestDataPreparer {
      * @throws NullPointerException if the template is null
      * @throws IllegalArgumentException if the template fails validation
      */
-    private void validateTemplate(Template template) {
+    private static void validateTemplate(Template template) {
         requireNonNull(template, "The template parameter annotation cannot be null");
 
         if (template.name() == null || template.name().isBlank()) {
@@ -146,4 +918,18 @@ public class TestDataPreparer {
         requireNonNull(template.data(), "Fixture cannot be null in template named:" + template.name());
         requireNonNull(component, componentName + " cannot be null in template named:" + template.name());
     }
+
+    /**
+     * Fixture template found for a {@link Template} annotation.
+     *
+     * @param position position of the annotation in the declared order
+     * @param annotation annotation {@link Template}
+     * @param template fixture template
+     */
+    private record ResolvedTemplate(int position, Template annotation, FixtureTemplate<? extends Fixture> template) {}
+
+    /**
+     * Results of {@link #runAll} in the order of the items and the failure, if any.
+     */
+    private record Outcome<R>(List<R> results, Throwable failure) {}
 }
@@ -0,0 +1,176 @@
+package io.github.stasbykov.datapreparer.internal.processor;
+
+import io.github.stasbykov.datapreparer.api.core.FixtureRegistry;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Filer;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Annotation processor that records every concrete {@link FixtureRegistry} implementation of the compiled sources
+ * into the {@value #INDEX_LOCATION} resource.
+ * <p>
+ * The index lets {@code RegistryIndexScanner} load registries without scanning the classpath. Template names are
+ * not recorded, because they are runtime values returned by {@link FixtureRegistry#getTemplates()}.
+ * Entries of a previous compilation are kept as long as the classes still exist, so incremental builds
+ * do not lose registries from unchanged sources.
+ * </p>
+ *
+ * @see FixtureRegistry
+ * @since 1.0.0
+ */
+@SupportedAnnotationTypes("*")
+public class FixtureRegistryIndexProcessor extends AbstractProcessor {
+
+    /**
+     * Location of the registry index in the compiled classes.
+     */
+    public static final String INDEX_LOCATION = "META-INF/junit-data-preparer/fixture-registries.idx";
+
+    private final Set<String> registries = new TreeSet<>();
+    private boolean previousIndexRead;
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement registryElement = processingEnv.getElementUtils().getTypeElement(FixtureRegistry.class.getCanonicalName());
+        if (registryElement == null) {
+            return false;
+        }
+        TypeMirror registryType = processingEnv.getTypeUtils().erasure(registryElement.asType());
+
+        if (!previousIndexRead) {
+            previousIndexRead = true;
+            readPreviousIndex(registryType);
+        }
+
+        ElementFilter.typesIn(roundEnv.getRootElements())
+                .forEach(type -> collectRegistries(type, registryType));
+
+        if (roundEnv.processingOver()) {
+            writeIndex();
+        }
+        return false;
+    }
+
+    /**
+     * Adds the type and its nested types to the index if they are concrete registry implementations.
+     *
+     * @param type type to check
+     * @param registryType erased {@link FixtureRegistry} type
+     */
+    private void collectRegistries(TypeElement type, TypeMirror registryType) {
+        if (isConcreteRegistry(type, registryType)) {
+            if (!hasNoArgsConstructor(type)) {
+                processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "Fixture registry " + type.getQualifiedName() + " has no constructor without arguments and can`t be instantiated.", type);
+            }
+            registries.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+        }
+        ElementFilter.typesIn(type.getEnclosedElements())
+                .forEach(nested -> collectRegistries(nested, registryType));
+    }
+
+    /**
+     * Checks whether the type is a non-abstract top-level or static nested class implementing {@link FixtureRegistry}.
+     *
+     * @param type type to check
+     * @param registryType erased {@link FixtureRegistry} type
+     * @return true if the type is a concrete registry implementation
+     */
+    private boolean isConcreteRegistry(TypeElement type, TypeMirror registryType) {
+        if (type.getKind() != ElementKind.CLASS && type.getKind() != ElementKind.RECORD) {
+            return false;
+        }
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        if (type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+            return false;
+        }
+        if (type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+            return false;
+        }
+        return processingEnv.getTypeUtils().isAssignable(processingEnv.getTypeUtils().erasure(type.asType()), registryType);
+    }
+
+    /**
+     * Checks whether the type can be created through a constructor without arguments.
+     *
+     * @param type type to check
+     * @return true if there is a constructor without arguments
+     */
+    private boolean hasNoArgsConstructor(TypeElement type) {
+        return ElementFilter.constructorsIn(type.getEnclosedElements())
+                .stream()
+                .anyMatch(constructor -> constructor.getParameters().isEmpty());
+    }
+
+    /**
+     * Reads the index left by a previous compilation and keeps the entries whose classes still implement the registry.
+     *
+     * @param registryType erased {@link FixtureRegistry} type
+     */
+    private void readPreviousIndex(TypeMirror registryType) {
+        try {
+            FileObject resource = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (Reader reader = resource.openReader(true);
+                 BufferedReader lines = new BufferedReader(reader)) {
+                lines.lines()
+                        .map(String::trim)
+                        .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                        .filter(name -> {
+                            TypeElement type = processingEnv.getElementUtils().getTypeElement(name.replace('$', '.'));
+                            return type != null && isConcreteRegistry(type, registryType);
+                        })
+                        .forEach(registries::add);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            // There is no index from a previous compilation
+        }
+    }
+
+    /**
+     * Writes the collected registries to the index resource.
+     */
+    private void writeIndex() {
+        if (registries.isEmpty()) {
+            return;
+        }
+        Filer filer = processingEnv.getFiler();
+        try {
+            FileObject resource = filer.createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (Writer writer = resource.openWriter()) {
+                writer.write("# Generated by " + FixtureRegistryIndexProcessor.class.getName() + System.lineSeparator());
+                for (String registry : registries) {
+                    writer.write(registry);
+                    writer.write(System.lineSeparator());
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to write fixture registry index " + INDEX_LOCATION + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.stasbykov.datapreparer.internal.util.property;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Helper class for reading the library settings from the system properties (pom.xml, gradle.properties or -D).
+ *
+ * @since 1.0.0
+ */
+public final class SystemProperties {
+
+    private SystemProperties() {}
+
+    /**
+     * Returns the trimmed value of the property.
+     *
+     * @param name property name
+     * @return property value, or empty if the property is not set or blank
+     */
+    public static Optional<String> getString(@NotNull String name) {
+        return Optional.ofNullable(System.getProperty(name))
+                .map(String::trim)
+                .filter(value -> !value.isBlank());
+    }
+
+    /**
+     * Returns the boolean value of the property.
+     *
+     * @param name property name
+     * @param defaultValue value used if the property is not set
+     * @return property value
+     */
+    public static boolean getBoolean(@NotNull String name, boolean defaultValue) {
+        return getString(name)
+                .map(Boolean::parseBoolean)
+                .orElse(defaultValue);
+    }
+
+    /**
+     * Returns the integer value of the property.
+     *
+     * @param name property name
+     * @param defaultValue value used if the property is not set
+     * @return property value
+     * @throws IllegalArgumentException if the property is not an integer
+     */
+    public static int getInt(@NotNull String name, int defaultValue) {
+        return getString(name)
+                .map(value -> parseInt(name, value))
+                .orElse(defaultValue);
+    }
+
+    /**
+     * Returns the long value of the property.
+     *
+     * @param name property name
+     * @param defaultValue value used if the property is not set
+     * @return property value
+     * @throws IllegalArgumentException if the property is not an integer
+     */
+    public static long getLong(@NotNull String name, long defaultValue) {
+        return getString(name)
+                .map(value -> parseLong(name, value))
+                .orElse(defaultValue);
+    }
+
+    /**
+     * Returns the comma-separated values of the property.
+     *
+     * @param name property name
+     * @return trimmed non-blank values, or an empty list if the property is not set
+     */
+    public static List<String> getList(@NotNull String name) {
+        return getString(name)
+                .map(SystemProperties::split)
+                .orElse(List.of());
+    }
+
+    /**
+     * Splits comma-separated values.
+     *
+     * @param value comma-separated values, may be null
+     * @return trimmed non-blank values
+     */
+    public static List<String> split(String value) {
+        if (value == null) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isBlank())
+                .toList();
+    }
+
+    private static int parseInt(String name, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("The property " + name + " must be an integer, but was '" + value + "'", e);
+        }
+    }
+
+    private static long parseLong(String name, String value) {
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("The property " + name + " must be an integer, but was '" + value + "'", e);
+        }
+    }
+}
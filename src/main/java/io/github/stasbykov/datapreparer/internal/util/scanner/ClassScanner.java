@@ -19,4 +19,14 @@ public interface ClassScanner {
      * @return the list of created instances
      */
     <T> List<T> findAndInstantiate(Class<T> interfaceClass, String packageName);
+
+    /**
+     * Returns the description of the scanner configuration, including its fallback scanners.
+     * Scanners with the same configuration find the same classes.
+     *
+     * @return configuration of the scanner
+     */
+    default String configuration() {
+        return getClass().getName();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,50 @@
+package io.github.stasbykov.datapreparer.internal.util.scanner;
+
+import io.github.stasbykov.datapreparer.internal.util.property.SystemProperties;
+
+import java.util.Locale;
+
+/**
+ * Factory of the class scanner selected in the properties.
+ * <p>
+ * The scanner is selected by the {@value #SCANNER_PROPERTIES} property (pom.xml, gradle.properties or -D):
+ * <ul>
+ *     <li>{@code auto} (default) - ServiceLoader providers if they exist and their configuration is valid, otherwise
+ *     the compile-time registry index, otherwise Classgraph;</li>
+ *     <li>{@code service-loader} - only ServiceLoader providers;</li>
+ *     <li>{@code index} - the compile-time registry index, or Classgraph if there is no index;</li>
+ *     <li>{@code classgraph} - only Classgraph.</li>
+ * </ul>
+ *
+ * @since 1.0.0
+ */
+public final class ClassScanners {
+
+    /**
+     * Parameter value for storing the type of the scanner used to find fixture registries.
+     */
+    public static final String SCANNER_PROPERTIES = "fixture.registry.scanner";
+
+    private ClassScanners() {}
+
+    /**
+     * Creates the scanner selected in the properties.
+     *
+     * @return class scanner
+     * @throws IllegalArgumentException if the property contains an unknown scanner type
+     */
+    public static ClassScanner create() {
+        String type = SystemProperties.getString(SCANNER_PROPERTIES)
+                .map(s -> s.toLowerCase(Locale.ROOT))
+                .orElse("auto");
+
+        return switch (type) {
+            case "auto" -> new ServiceLoaderScanner(new RegistryIndexScanner(new ClassgraphScanner()));
+            case "service-loader" -> new ServiceLoaderScanner();
+            case "index" -> new RegistryIndexScanner(new ClassgraphScanner());
+            case "classgraph" -> new ClassgraphScanner();
+            default -> throw new IllegalArgumentException("Unknown scanner type '" + type + "' in the property " + SCANNER_PROPERTIES
+                    + ". Supported values: auto, service-loader, index, classgraph.");
+        };
+    }
+}
@@ -1,7 +1,10 @@
 package io.github.stasbykov.datapreparer.internal.util.scanner;
 
 import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
 import io.github.classgraph.ScanResult;
+import io.github.stasbykov.datapreparer.internal.util.property.SystemProperties;
+import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -10,21 +13,53 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
+import static java.util.Objects.requireNonNull;
+
 /**
  * Implementation of a scanner based on the {@code io.github.classgraph:classgraph} library.
+ * <p>
+ * The names of the found classes are stored in an on-disk cache keyed by a fingerprint of the classpath,
+ * so later runs against an unchanged classpath skip the scan.
+ * </p>
+ * <p>
+ * The package name may contain several comma-separated packages. Other scan settings are described
+ * by {@link ScanProfile}.
+ * </p>
  *
+ * @see ScanCache
  * @since 1.0.0
  */
-public class ClassgraphScanner implements ClassScanner {
+public class ClassgraphScanner implements LazyClassScanner {
 
     private final Logger log;
+    private final ScanProfile profile;
+    private final ScanCache cache;
 
+    /**
+     * Creates a scanner with the scan profile from the system properties.
+     */
     public ClassgraphScanner() {
-        this.log = LoggerFactory.getLogger(ClassScanner.class);
+        this(LoggerFactory.getLogger(ClassScanner.class));
     }
 
     public ClassgraphScanner(Logger logger) {
+        this(ScanProfile.fromProperties(), logger);
+    }
+
+    /**
+     * Creates a scanner with the given scan profile.
+     *
+     * @param profile scan settings
+     * @throws NullPointerException if the profile was not transmitted
+     */
+    public ClassgraphScanner(@NotNull ScanProfile profile) {
+        this(profile, LoggerFactory.getLogger(ClassScanner.class));
+    }
+
+    public ClassgraphScanner(@NotNull ScanProfile profile, Logger logger) {
         this.log = logger;
+        this.profile = requireNonNull(profile, "Scan profile can`t be null");
+        this.cache = ScanCache.fromProperties(logger);
     }
 
     /**
@@ -32,43 +67,133 @@ public class ClassgraphScanner implements ClassScanner {
      * implementing the specified interface in the package from the system property.
      *
      * @param interfaceClass the interface to search for
-     * @param packageName the package name (e.g., "app.some.package") to search for classes
+     * @param packageName the package name (e.g., "app.some.package") or comma-separated package names to search for classes
      * @param <T> the interface type
      * @return the list of created instances
      */
     @Override
     public <T> List<T> findAndInstantiate(Class<T> interfaceClass, String packageName) {
+        return findLazily(interfaceClass, packageName)
+                .stream()
+                .map(LazyInstance::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds all non-abstract classes implementing the specified interface in the package from the system property
+     * without instantiating them. The scan is skipped if the cache matches the current classpath.
+     * The found classes are loaded without initialization, a class that cannot be loaded is skipped.
+     *
+     * @param interfaceClass the interface to search for
+     * @param packageName the package name (e.g., "app.some.package") to search for classes
+     * @param <T> the interface type
+     * @return the found classes with their instance suppliers
+     */
+    @Override
+    public <T> List<LazyInstance<T>> findLazily(Class<T> interfaceClass, String packageName) {
+        List<String> packages = SystemProperties.split(packageName);
+        String cacheKey = interfaceClass.getName() + "|" + String.join(",", packages) + "|" + profile;
+        String fingerprint = cache.fingerprint(cacheKey, packages);
+        List<String> classNames = cache.read(cacheKey, fingerprint).orElseGet(() -> {
+            List<String> scanned = scan(interfaceClass, packageName);
+            cache.write(cacheKey, fingerprint, scanned);
+            return scanned;
+        });
 
+        ClassLoader classLoader = Optional.ofNullable(Thread.currentThread().getContextClassLoader())
+                .orElseGet(ClassgraphScanner.class::getClassLoader);
+        return classNames.stream()
+                .map(className -> load(className, interfaceClass, classLoader))
+                .filter(Objects::nonNull)
+                .map(type -> new LazyInstance<T>(type, () -> instantiate(type, interfaceClass)))
+                .toList();
+    }
+
+    @Override
+    public String configuration() {
+        return getClass().getName() + "(" + profile + ")";
+    }
+
+    /**
+     * Scans the classpath for non-abstract classes implementing the specified interface.
+     *
+     * @param interfaceClass the interface to search for
+     * @param packageName the package name (e.g., "app.some.package") to search for classes
+     * @return the names of the found classes
+     */
+    private List<String> scan(Class<?> interfaceClass, String packageName) {
         ClassGraph classGraph = new ClassGraph()
-                .enableAllInfo()
                 .ignoreClassVisibility();
 
-        Optional.ofNullable(packageName)
-                .map(String::trim)
-                .filter(s -> !s.isBlank() )
-                .ifPresent(classGraph::acceptPackages);
+        if (profile.minimal()) {
+            classGraph.enableClassInfo();
+        } else {
+            classGraph.enableAllInfo();
+        }
 
-        try (ScanResult scanResult = classGraph
-                .scan()) {
+        List<String> packages = SystemProperties.split(packageName);
+        if (!packages.isEmpty()) {
+            classGraph.acceptPackages(packages.toArray(String[]::new));
+        }
+        if (!profile.acceptedJars().isEmpty()) {
+            classGraph.acceptJars(profile.acceptedJars().toArray(String[]::new));
+        }
+        if (!profile.rejectedJars().isEmpty()) {
+            classGraph.rejectJars(profile.rejectedJars().toArray(String[]::new));
+        }
+        if (profile.modulePathOnly()) {
+            classGraph.disableDirScanning()
+                    .disableJarScanning();
+        }
+
+        try (ScanResult scanResult = profile.threads() > 0
+                ? classGraph.scan(profile.threads())
+                : classGraph.scan()) {
 
             return scanResult.getClassesImplementing(interfaceClass.getName())
                     .stream()
                     .filter(classInfo -> !classInfo.isAbstract() && !classInfo.isInterface())
-                    .map(classInfo -> {
-                        try {
-                            @SuppressWarnings("unchecked")
-                            Class<T> clazz = (Class<T>) classInfo.loadClass();
-                            return clazz.getDeclaredConstructor().newInstance();
-                        } catch (Exception e) {
-                            log.warn("Failed to create instance {}", classInfo.getName(), e);
-                            return null;
-                        }
-                    })
-                    .filter(Objects::nonNull)
+                    .map(ClassInfo::getName)
                     .collect(Collectors.toList());
 
         } catch (Exception e) {
             throw new IllegalStateException("Packet scan error '" + packageName + "'", e);
         }
     }
+
+    /**
+     * Loads the class without initializing it.
+     *
+     * @param className name of the class
+     * @param interfaceClass the interface the class implements
+     * @param classLoader class loader used to load the class
+     * @param <T> the interface type
+     * @return loaded class, or null if the class could not be loaded
+     */
+    private <T> Class<? extends T> load(String className, Class<T> interfaceClass, ClassLoader classLoader) {
+        try {
+            return Class.forName(className, false, classLoader).asSubclass(interfaceClass);
+        } catch (ClassNotFoundException | LinkageError | ClassCastException e) {
+            log.warn("Failed to load class {}", className, e);
+            return null;
+        }
+    }
+
+    /**
+     * Creates an instance of the class.
+     *
+     * @param type the class to instantiate
+     * @param interfaceClass the interface the class implements
+     * @param <T> the interface type
+     * @return created instance, or null if the class could not be instantiated
+     */
+    private <T> T instantiate(Class<? extends T> type, Class<T> interfaceClass) {
+        try {
+            return interfaceClass.cast(type.getDeclaredConstructor().newInstance());
+        } catch (Exception e) {
+            log.warn("Failed to create instance {}", type.getName(), e);
+            return null;
+        }
+    }
 }
@@ -0,0 +1,23 @@
+package io.github.stasbykov.datapreparer.internal.util.scanner;
+
+import java.util.List;
+
+/**
+ * Defines a class scanner that can find classes without instantiating them.
+ *
+ * @since 1.0.0
+ */
+public interface LazyClassScanner extends ClassScanner {
+
+    /**
+     * Finds all non-abstract classes implementing the specified interface in the package from the system property
+     * and returns suppliers that create their instances on demand.
+     * A supplier returns null if the instance could not be created.
+     *
+     * @param interfaceClass  the interface to search for
+     * @param packageName  the package name (e.g., "app.some.package") to search for classes
+     * @param <T>  the interface type
+     * @return the found classes with their instance suppliers
+     */
+    <T> List<LazyInstance<T>> findLazily(Class<T> interfaceClass, String packageName);
+}
@@ -0,0 +1,49 @@
+package io.github.stasbykov.datapreparer.internal.util.scanner;
+
+import java.util.function.Supplier;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A class found by a {@link LazyClassScanner} and the supplier of its instance.
+ * <p>
+ * The class is known before the instance is created, so the caller can decide from the class which instances
+ * are needed right away.
+ * </p>
+ *
+ * @param type the found class
+ * @param factory supplier creating an instance of the class, returns null if the instance could not be created
+ * @param <T> the interface type
+ *
+ * @see LazyClassScanner#findLazily(Class, String)
+ * @since 1.0.0
+ */
+public record LazyInstance<T>(Class<? extends T> type, Supplier<T> factory) implements Supplier<T> {
+
+    public LazyInstance {
+        requireNonNull(type, "Type can`t be null");
+        requireNonNull(factory, "Factory can`t be null");
+    }
+
+    /**
+     * Wraps an instance that has already been created.
+     *
+     * @param instance created instance
+     * @param <T> the interface type
+     * @return lazy instance returning the given instance
+     */
+    @SuppressWarnings("unchecked")
+    static <T> LazyInstance<T> of(T instance) {
+        return new LazyInstance<>((Class<? extends T>) instance.getClass(), () -> instance);
+    }
+
+    /**
+     * Creates an instance of the class.
+     *
+     * @return created instance, or null if the instance could not be created
+     */
+    @Override
+    public T get() {
+        return factory.get();
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.stasbykov.datapreparer.internal.util.scanner;
+
+import io.github.stasbykov.datapreparer.internal.util.property.SystemProperties;
+
+import java.util.List;
+
+/**
+ * Helper class for checking whether a class belongs to the scanned package.
+ *
+ * @since 1.0.0
+ */
+final class PackageFilter {
+
+    private PackageFilter() {}
+
+    /**
+     * Checks whether the class belongs to one of the packages or their subpackages.
+     *
+     * @param className binary name of the class
+     * @param packageName the package name or comma-separated package names, or blank for all packages
+     * @return true if the class belongs to the package
+     */
+    static boolean matches(String className, String packageName) {
+        List<String> packages = SystemProperties.split(packageName);
+        return packages.isEmpty() || packages.stream().anyMatch(name -> className.startsWith(name + "."));
+    }
+}
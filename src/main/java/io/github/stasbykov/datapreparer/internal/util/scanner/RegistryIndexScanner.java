@@ -0,0 +1,189 @@
+package io.github.stasbykov.datapreparer.internal.util.scanner;
+
+import io.github.stasbykov.datapreparer.api.core.FixtureRegistry;
+import io.github.stasbykov.datapreparer.internal.processor.FixtureRegistryIndexProcessor;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Implementation of a scanner that reads {@link FixtureRegistry} implementations from the index generated
+ * by {@link FixtureRegistryIndexProcessor} at compile time.
+ * <p>
+ * Reading the index costs as much as reading a small resource file. If there is no index on the classpath,
+ * or the requested interface is not {@link FixtureRegistry}, the search is delegated to the fallback scanner. A missing
+ * index is logged as a warning, since it usually means that the annotation processor did not run.
+ * </p>
+ *
+ * @see FixtureRegistryIndexProcessor
+ * @since 1.0.0
+ */
+public class RegistryIndexScanner implements LazyClassScanner {
+
+    private final ClassScanner fallback;
+    private final Logger log;
+
+    /**
+     * Creates a scanner with a fallback used when there is no registry index.
+     *
+     * @param fallback scanner used when there is no registry index
+     * @throws NullPointerException if the fallback scanner was not transmitted
+     */
+    public RegistryIndexScanner(@NotNull ClassScanner fallback) {
+        this(fallback, LoggerFactory.getLogger(ClassScanner.class));
+    }
+
+    public RegistryIndexScanner(@NotNull ClassScanner fallback, Logger logger) {
+        this.fallback = requireNonNull(fallback, "Fallback scanner can`t be null");
+        this.log = logger;
+    }
+
+    /**
+     * Finds and creates instances of all registries listed in the index
+     * that belong to the package from the system property.
+     *
+     * @param interfaceClass the interface to search for
+     * @param packageName the package name (e.g., "app.some.package") to search for classes
+     * @param <T> the interface type
+     * @return the list of created instances
+     */
+    @Override
+    public <T> List<T> findAndInstantiate(Class<T> interfaceClass, String packageName) {
+        if (!FixtureRegistry.class.equals(interfaceClass)) {
+            return fallback.findAndInstantiate(interfaceClass, packageName);
+        }
+        return findLazily(interfaceClass, packageName)
+                .stream()
+                .map(LazyInstance::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Finds all registries listed in the index that belong to the package from the system property
+     * without instantiating them. The registries are loaded without initialization, a class that cannot be loaded
+     * is skipped.
+     *
+     * @param interfaceClass the interface to search for
+     * @param packageName the package name (e.g., "app.some.package") to search for classes
+     * @param <T> the interface type
+     * @return the found registries with their instance suppliers
+     */
+    @Override
+    public <T> List<LazyInstance<T>> findLazily(Class<T> interfaceClass, String packageName) {
+        ClassLoader classLoader = getClassLoader();
+        Set<String> classNames = FixtureRegistry.class.equals(interfaceClass) ? readIndex(classLoader) : Set.of();
+        if (classNames.isEmpty()) {
+            if (FixtureRegistry.class.equals(interfaceClass)) {
+                log.warn("Fixture registry index {} was not found, falling back to {}. Check that the annotation "
+                                + "processor ran: on JDK 23+ compile the tests with -proc:full or add the library "
+                                + "to the annotation processor path.",
+                        FixtureRegistryIndexProcessor.INDEX_LOCATION, fallback.getClass().getSimpleName());
+            }
+            if (fallback instanceof LazyClassScanner lazyFallback) {
+                return lazyFallback.findLazily(interfaceClass, packageName);
+            }
+            return fallback.findAndInstantiate(interfaceClass, packageName)
+                    .stream()
+                    .map(LazyInstance::of)
+                    .toList();
+        }
+
+        return classNames.stream()
+                .filter(className -> PackageFilter.matches(className, packageName))
+                .map(className -> load(className, interfaceClass, classLoader))
+                .filter(Objects::nonNull)
+                .map(type -> new LazyInstance<T>(type, () -> instantiate(type, interfaceClass)))
+                .toList();
+    }
+
+    @Override
+    public String configuration() {
+        return getClass().getName() + "(" + fallback.configuration() + ")";
+    }
+
+    /**
+     * Reads the names of the registries from all index resources visible to the class loader.
+     *
+     * @param classLoader class loader used to find the index resources
+     * @return names of the registries in the order of the index resources
+     */
+    private Set<String> readIndex(ClassLoader classLoader) {
+        Set<String> classNames = new LinkedHashSet<>();
+        try {
+            Enumeration<URL> resources = classLoader.getResources(FixtureRegistryIndexProcessor.INDEX_LOCATION);
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+                    reader.lines()
+                            .map(String::trim)
+                            .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                            .forEach(classNames::add);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read fixture registry index " + FixtureRegistryIndexProcessor.INDEX_LOCATION, e);
+        }
+        return classNames;
+    }
+
+    /**
+     * Loads the class from the index without initializing it.
+     *
+     * @param className binary name of the class
+     * @param interfaceClass the interface the class must implement
+     * @param classLoader class loader used to load the class
+     * @param <T> the interface type
+     * @return loaded class, or null if the class could not be loaded or does not implement the interface
+     */
+    private <T> Class<? extends T> load(String className, Class<T> interfaceClass, ClassLoader classLoader) {
+        try {
+            Class<?> clazz = Class.forName(className, false, classLoader);
+            if (!interfaceClass.isAssignableFrom(clazz)) {
+                log.warn("Class {} from the fixture registry index does not implement {}", className, interfaceClass.getName());
+                return null;
+            }
+            return clazz.asSubclass(interfaceClass);
+        } catch (ClassNotFoundException | LinkageError e) {
+            log.warn("Failed to load class {}", className, e);
+            return null;
+        }
+    }
+
+    /**
+     * Creates an instance of the registry class.
+     *
+     * @param type the class to instantiate
+     * @param interfaceClass the interface the class implements
+     * @param <T> the interface type
+     * @return created instance, or null if the class could not be instantiated
+     */
+    private <T> T instantiate(Class<? extends T> type, Class<T> interfaceClass) {
+        try {
+            return interfaceClass.cast(type.getDeclaredConstructor().newInstance());
+        } catch (Exception e) {
+            log.warn("Failed to create instance {}", type.getName(), e);
+            return null;
+        }
+    }
+
+    private ClassLoader getClassLoader() {
+        return Optional.ofNullable(Thread.currentThread().getContextClassLoader())
+                .orElseGet(RegistryIndexScanner.class::getClassLoader);
+    }
+}
@@ -0,0 +1,262 @@
+package io.github.stasbykov.datapreparer.internal.util.scanner;
+
+import io.github.stasbykov.datapreparer.internal.util.property.SystemProperties;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * On-disk cache of the classes found by a classpath scan.
+ * <p>
+ * A cache file is stored per scanned interface and package and contains a fingerprint of the classpath and module
+ * path entries: paths, sizes and modification times of the jars, and of the class files and jars under the scanned
+ * packages of every directory entry. The fingerprint reads only file attributes and never opens a file, so it is
+ * cheap compared to the scan. The cached result is used only if the fingerprint of the current classpath matches.
+ * Files are written to a temporary file and moved atomically, so concurrent forks never read a partially written
+ * cache.
+ * </p>
+ * <p>
+ * The cache directory is set by the {@value #CACHE_DIR_PROPERTIES} property, by default it is
+ * {@code target/junit-data-preparer} or {@code build/junit-data-preparer} of the working directory, if one of these
+ * build directories exists. The cache is disabled by setting {@value #CACHE_ENABLED_PROPERTIES} to {@code false}.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+final class ScanCache {
+
+    /**
+     * Parameter value for storing the directory of the scan cache.
+     */
+    static final String CACHE_DIR_PROPERTIES = "fixture.scan.cache.dir";
+
+    /**
+     * Parameter value for disabling the scan cache.
+     */
+    static final String CACHE_ENABLED_PROPERTIES = "fixture.scan.cache.enabled";
+
+    private static final String CACHE_FORMAT = "junit-data-preparer-scan-cache-v2";
+    private static final String CACHE_DIR_NAME = "junit-data-preparer";
+    private static final List<String> BUILD_DIRS = List.of("target", "build");
+
+    private final Path directory;
+    private final Logger log;
+
+    private ScanCache(@Nullable Path directory, Logger log) {
+        this.directory = directory;
+        this.log = log;
+    }
+
+    /**
+     * Creates a cache configured by the system properties.
+     *
+     * @param log logger for cache hits and misses
+     * @return scan cache, disabled if there is no cache directory
+     */
+    static ScanCache fromProperties(Logger log) {
+        if (!SystemProperties.getBoolean(CACHE_ENABLED_PROPERTIES, true)) {
+            return new ScanCache(null, log);
+        }
+        Path directory = SystemProperties.getString(CACHE_DIR_PROPERTIES)
+                .map(Path::of)
+                .orElseGet(() -> BUILD_DIRS.stream()
+                        .map(Path::of)
+                        .filter(Files::isDirectory)
+                        .findFirst()
+                        .map(buildDir -> buildDir.resolve(CACHE_DIR_NAME))
+                        .orElse(null));
+        return new ScanCache(directory, log);
+    }
+
+    /**
+     * Reads the cached class names if the cache was written for the current classpath.
+     *
+     * @param key scan key, e.g. the interface and the package name
+     * @param fingerprint fingerprint of the current classpath, see {@link #fingerprint(String, List)}
+     * @return cached class names, or empty on a cache miss
+     */
+    Optional<List<String>> read(String key, String fingerprint) {
+        if (directory == null) {
+            return Optional.empty();
+        }
+        Path file = cacheFile(key);
+        if (!Files.isRegularFile(file)) {
+            log.debug("Scan cache miss for {}: no cache file {}", key, file);
+            return Optional.empty();
+        }
+        try {
+            List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+            if (lines.isEmpty() || !lines.get(0).equals(fingerprint)) {
+                log.debug("Scan cache miss for {}: classpath fingerprint changed", key);
+                return Optional.empty();
+            }
+            log.debug("Scan cache hit for {}: {} classes from {}", key, lines.size() - 1, file);
+            return Optional.of(List.copyOf(lines.subList(1, lines.size())));
+        } catch (IOException | UncheckedIOException e) {
+            log.debug("Scan cache miss for {}: cache file {} can`t be read", key, file, e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the found class names to the cache.
+     *
+     * @param key scan key, e.g. the interface and the package name
+     * @param fingerprint fingerprint of the classpath that was scanned
+     * @param classNames found class names
+     */
+    void write(String key, String fingerprint, List<String> classNames) {
+        if (directory == null) {
+            return;
+        }
+        Path file = cacheFile(key);
+        try {
+            Files.createDirectories(directory);
+            List<String> lines = new ArrayList<>(classNames.size() + 1);
+            lines.add(fingerprint);
+            lines.addAll(classNames);
+
+            Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                Files.write(temp, lines, StandardCharsets.UTF_8);
+                try {
+                    Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            log.debug("Scan cache for {} written to {}", key, file);
+        } catch (IOException | UncheckedIOException e) {
+            log.debug("Failed to write scan cache {}", file, e);
+        }
+    }
+
+    private Path cacheFile(String key) {
+        return directory.resolve("scan-" + hash(key).substring(0, 16) + ".cache");
+    }
+
+    /**
+     * Computes the fingerprint of the classpath and module path entries. Only file attributes are read: the path, size
+     * and modification time of every jar entry, and of every class file and jar under the scanned packages of every
+     * directory entry. Jars are not opened.
+     *
+     * @param key scan key included in the fingerprint
+     * @param packages scanned packages, empty for all packages
+     * @return hex fingerprint, or an empty string if the cache is disabled
+     */
+    String fingerprint(String key, List<String> packages) {
+        if (directory == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(CACHE_FORMAT).append('\n').append(key).append('\n');
+        Stream.of("java.class.path", "jdk.module.path")
+                .map(System::getProperty)
+                .filter(Objects::nonNull)
+                .flatMap(path -> Arrays.stream(path.split(File.pathSeparator)))
+                .filter(entry -> !entry.isBlank())
+                .map(entry -> Path.of(entry).toAbsolutePath().normalize())
+                .distinct()
+                .forEach(entry -> appendEntry(builder, entry, packages));
+        return hash(builder.toString());
+    }
+
+    /**
+     * Appends the fingerprint of one classpath entry. For a directory the class files and jars under the scanned
+     * packages, or under the whole directory if no package is set, are walked, so an added, removed or recompiled
+     * class in any subpackage changes the fingerprint. The jars of a module path directory are covered the same way.
+     *
+     * @param builder fingerprint builder
+     * @param entry classpath entry
+     * @param packages scanned packages
+     */
+    private void appendEntry(StringBuilder builder, Path entry, List<String> packages) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+            if (!attributes.isDirectory()) {
+                appendAttributes(builder, entry, attributes);
+                return;
+            }
+            builder.append(entry).append("|directory\n");
+            List<Path> roots = packages.isEmpty()
+                    ? List.of(entry)
+                    : packages.stream().map(packageName -> entry.resolve(packageName.replace('.', File.separatorChar))).toList();
+            for (Path root : roots) {
+                appendFiles(builder, root);
+            }
+        } catch (NoSuchFileException e) {
+            builder.append(entry).append("|missing\n");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Appends the attributes of the class files and jars under the directory sorted by path.
+     *
+     * @param builder fingerprint builder
+     * @param root directory to walk, skipped if it does not exist
+     * @throws IOException if the directory can`t be walked
+     */
+    private static void appendFiles(StringBuilder builder, Path root) throws IOException {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        List<String> files = new ArrayList<>();
+        Files.walkFileTree(root, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                String name = file.getFileName().toString();
+                if (attributes.isRegularFile() && (name.endsWith(".class") || name.endsWith(".jar"))) {
+                    StringBuilder line = new StringBuilder();
+                    appendAttributes(line, file, attributes);
+                    files.add(line.toString());
+                }
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        files.sort(null);
+        files.forEach(builder::append);
+    }
+
+    private static void appendAttributes(StringBuilder builder, Path path, BasicFileAttributes attributes) {
+        builder.append(path).append('|').append(attributes.size()).append('|')
+                .append(attributes.lastModifiedTime().toMillis()).append('\n');
+    }
+
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+}
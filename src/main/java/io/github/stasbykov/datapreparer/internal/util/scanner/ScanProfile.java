@@ -0,0 +1,80 @@
+package io.github.stasbykov.datapreparer.internal.util.scanner;
+
+import io.github.stasbykov.datapreparer.internal.util.property.SystemProperties;
+
+import java.util.List;
+
+/**
+ * Settings of the classpath scan performed by {@link ClassgraphScanner}.
+ *
+ * @param minimal if true, only the class hierarchy is read; otherwise fields, methods and annotations are read too
+ * @param threads number of scan worker threads, or 0 for the Classgraph default
+ * @param acceptedJars jar names (wildcards allowed, e.g. {@code "company-*.jar"}) that are scanned; empty for all jars
+ * @param rejectedJars jar names (wildcards allowed) that are never scanned
+ * @param modulePathOnly if true, only the module path is scanned, classpath directories and jars are skipped
+ *
+ * @see ClassgraphScanner
+ * @since 1.0.0
+ */
+public record ScanProfile(boolean minimal,
+                          int threads,
+                          List<String> acceptedJars,
+                          List<String> rejectedJars,
+                          boolean modulePathOnly) {
+
+    /**
+     * Parameter value for enabling the scan that reads only the class hierarchy.
+     */
+    public static final String MINIMAL_PROPERTIES = "fixture.scan.minimal";
+
+    /**
+     * Parameter value for storing the number of scan worker threads.
+     */
+    public static final String THREADS_PROPERTIES = "fixture.scan.threads";
+
+    /**
+     * Parameter value for storing the comma-separated names of the scanned jars.
+     */
+    public static final String ACCEPTED_JARS_PROPERTIES = "fixture.scan.jars.accept";
+
+    /**
+     * Parameter value for storing the comma-separated names of the jars that are not scanned.
+     */
+    public static final String REJECTED_JARS_PROPERTIES = "fixture.scan.jars.reject";
+
+    /**
+     * Parameter value for enabling the scan of the module path only.
+     */
+    public static final String MODULE_PATH_ONLY_PROPERTIES = "fixture.scan.module-path-only";
+
+    public ScanProfile {
+        if (threads < 0) {
+            throw new IllegalArgumentException("The number of scan threads cannot be negative.");
+        }
+        acceptedJars = List.copyOf(acceptedJars);
+        rejectedJars = List.copyOf(rejectedJars);
+    }
+
+    /**
+     * Returns the default profile: only the class hierarchy is read, all jars and directories are scanned.
+     *
+     * @return default scan profile
+     */
+    public static ScanProfile defaults() {
+        return new ScanProfile(true, 0, List.of(), List.of(), false);
+    }
+
+    /**
+     * Creates a profile from the system properties, unset properties keep their default values.
+     *
+     * @return scan profile
+     */
+    public static ScanProfile fromProperties() {
+        return new ScanProfile(
+                SystemProperties.getBoolean(MINIMAL_PROPERTIES, true),
+                SystemProperties.getInt(THREADS_PROPERTIES, 0),
+                SystemProperties.getList(ACCEPTED_JARS_PROPERTIES),
+                SystemProperties.getList(REJECTED_JARS_PROPERTIES),
+                SystemProperties.getBoolean(MODULE_PATH_ONLY_PROPERTIES, false));
+    }
+}
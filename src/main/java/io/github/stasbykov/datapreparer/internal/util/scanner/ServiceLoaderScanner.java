@@ -0,0 +1,145 @@
+package io.github.stasbykov.datapreparer.internal.util.scanner;
+
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Implementation of a scanner based on {@link ServiceLoader}.
+ * <p>
+ * Finds the providers declared with {@code provides ... with ...} in {@code module-info.java}
+ * or in {@code META-INF/services}. Providers are found without instantiation, an instance is created
+ * only when its supplier is called. If no providers are found, or the provider configuration is invalid, the search is
+ * delegated to the fallback scanner. Without a fallback scanner an invalid configuration is thrown as
+ * {@link ServiceConfigurationError}.
+ * </p>
+ *
+ * @since 1.0.0
+ */
+public class ServiceLoaderScanner implements LazyClassScanner {
+
+    private final ClassScanner fallback;
+    private final Logger log;
+
+    /**
+     * Creates a scanner that returns an empty result if no providers are found.
+     */
+    public ServiceLoaderScanner() {
+        this(null);
+    }
+
+    /**
+     * Creates a scanner with a fallback used when no providers are found.
+     *
+     * @param fallback scanner used when no providers are found, or null
+     */
+    public ServiceLoaderScanner(@Nullable ClassScanner fallback) {
+        this(fallback, LoggerFactory.getLogger(ClassScanner.class));
+    }
+
+    public ServiceLoaderScanner(@Nullable ClassScanner fallback, Logger logger) {
+        this.fallback = fallback;
+        this.log = logger;
+    }
+
+    /**
+     * Finds and creates instances of all providers of the specified interface in the package from the system property.
+     *
+     * @param interfaceClass the interface to search for
+     * @param packageName the package name (e.g., "app.some.package") to search for classes
+     * @param <T> the interface type
+     * @return the list of created instances
+     */
+    @Override
+    public <T> List<T> findAndInstantiate(Class<T> interfaceClass, String packageName) {
+        return findLazily(interfaceClass, packageName)
+                .stream()
+                .map(LazyInstance::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    /**
+     * Finds all providers of the specified interface in the package from the system property without instantiating them.
+     *
+     * @param interfaceClass the interface to search for
+     * @param packageName the package name (e.g., "app.some.package") to search for classes
+     * @param <T> the interface type
+     * @return the found providers with their instance suppliers
+     */
+    @Override
+    public <T> List<LazyInstance<T>> findLazily(Class<T> interfaceClass, String packageName) {
+        ServiceLoaderScanner.class.getModule().addUses(interfaceClass);
+
+        List<LazyInstance<T>> providers;
+        try {
+            providers = ServiceLoader.load(interfaceClass)
+                    .stream()
+                    .filter(provider -> PackageFilter.matches(provider.type().getName(), packageName))
+                    .map(this::toSupplier)
+                    .toList();
+        } catch (ServiceConfigurationError e) {
+            if (fallback == null) {
+                throw e;
+            }
+            log.warn("Invalid ServiceLoader configuration of {}, falling back to {}",
+                    interfaceClass.getName(), fallback.getClass().getSimpleName(), e);
+            return findWithFallback(interfaceClass, packageName);
+        }
+
+        if (!providers.isEmpty() || fallback == null) {
+            log.debug("Found {} providers of {} with ServiceLoader", providers.size(), interfaceClass.getName());
+            return providers;
+        }
+
+        log.debug("No providers of {} were found with ServiceLoader, falling back to {}",
+                interfaceClass.getName(), fallback.getClass().getSimpleName());
+        return findWithFallback(interfaceClass, packageName);
+    }
+
+    @Override
+    public String configuration() {
+        return getClass().getName() + "(" + (fallback == null ? "" : fallback.configuration()) + ")";
+    }
+
+    /**
+     * Finds the classes with the fallback scanner, instances of a scanner that is not lazy are created now.
+     *
+     * @param interfaceClass the interface to search for
+     * @param packageName the package name (e.g., "app.some.package") to search for classes
+     * @param <T> the interface type
+     * @return the found classes with their instance suppliers
+     */
+    private <T> List<LazyInstance<T>> findWithFallback(Class<T> interfaceClass, String packageName) {
+        if (fallback instanceof LazyClassScanner lazyFallback) {
+            return lazyFallback.findLazily(interfaceClass, packageName);
+        }
+        return fallback.findAndInstantiate(interfaceClass, packageName)
+                .stream()
+                .map(LazyInstance::of)
+                .toList();
+    }
+
+    /**
+     * Wraps the provider into a supplier that logs instantiation errors instead of throwing them.
+     *
+     * @param provider service provider
+     * @param <T> the interface type
+     * @return provider class with its instance supplier
+     */
+    private <T> LazyInstance<T> toSupplier(ServiceLoader.Provider<T> provider) {
+        return new LazyInstance<>(provider.type(), () -> {
+            try {
+                return provider.get();
+            } catch (ServiceConfigurationError e) {
+                log.warn("Failed to create instance {}", provider.type().getName(), e);
+                return null;
+            }
+        });
+    }
+}
@@ -1,20 +1,40 @@
 module io.github.stasbykov.datapreparer {
     requires org.junit.jupiter.api;
+    requires org.junit.platform.launcher;
     requires org.slf4j;
     requires org.jetbrains.annotations;
     requires io.github.classgraph;
+    requires static java.compiler;
+    requires jdk.jfr;
 
     exports io.github.stasbykov.datapreparer.api.annotation;
     exports io.github.stasbykov.datapreparer.api.core;
     exports io.github.stasbykov.datapreparer.api.junit;
 
+    uses io.github.stasbykov.datapreparer.api.core.FixtureRegistry;
+
     exports io.github.stasbykov.datapreparer.internal.core to
             io.github.stasbykov.datapreparer.test;
 
+    exports io.github.stasbykov.datapreparer.internal.jfr to
+            io.github.stasbykov.datapreparer.test;
+
+    exports io.github.stasbykov.datapreparer.internal.junit to
+            io.github.stasbykov.datapreparer.test;
+
     exports io.github.stasbykov.datapreparer.internal.util.junit to
             io.github.stasbykov.datapreparer.test;
 
     exports io.github.stasbykov.datapreparer.internal.util.scanner to
             io.github.stasbykov.datapreparer.test;
 
+    provides org.junit.platform.launcher.TestExecutionListener with
+            io.github.stasbykov.datapreparer.internal.junit.ClassFixturePrefetcher;
+
+    provides org.junit.platform.launcher.LauncherSessionListener with
+            io.github.stasbykov.datapreparer.internal.junit.SessionFixtureListener;
+
+    provides javax.annotation.processing.Processor with
+            io.github.stasbykov.datapreparer.internal.processor.FixtureRegistryIndexProcessor;
+
 }
\ No newline at end of file
@@ -0,0 +1,145 @@
+package io.github.stasbykov.datapreparer.test.core;
+
+import io.github.stasbykov.datapreparer.api.core.FixtureRegistry;
+import io.github.stasbykov.datapreparer.internal.util.scanner.ClassgraphScanner;
+import io.github.stasbykov.datapreparer.internal.util.scanner.ScanProfile;
+import io.github.stasbykov.datapreparer.test.junit.extension.fixture.TestFixtureRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовый класс для проверки кэширования результатов сканирования {@link ClassgraphScanner}.
+ */
+public class ClassgraphScannerTest {
+    /**
+     * Значение параметра для хранения каталога кэша сканирования
+     */
+    private final static String CACHE_DIR_PROPERTIES = "fixture.scan.cache.dir";
+
+    /**
+     * Пакет с тестовыми реестрами
+     */
+    private final static String TEST_PACKAGE_REGISTRY = "io.github.stasbykov.datapreparer.test";
+
+    @TempDir
+    Path cacheDir;
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty(CACHE_DIR_PROPERTIES, cacheDir.toString());
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(CACHE_DIR_PROPERTIES);
+    }
+
+    /**
+     * Проверяет, что повторное сканирование использует кэш, записанный первым сканированием.
+     */
+    @Test
+    void shouldUseCacheForUnchangedClasspath() throws IOException {
+        List<FixtureRegistry> scanned = new ClassgraphScanner().findAndInstantiate(FixtureRegistry.class, TEST_PACKAGE_REGISTRY);
+        Path cacheFile = findCacheFile();
+        // Оставляем в кэше только отпечаток classpath, чтобы отличить попадание в кэш от повторного сканирования
+        Files.write(cacheFile, Files.readAllLines(cacheFile, StandardCharsets.UTF_8).subList(0, 1), StandardCharsets.UTF_8);
+        List<FixtureRegistry> cached = new ClassgraphScanner().findAndInstantiate(FixtureRegistry.class, TEST_PACKAGE_REGISTRY);
+
+        assertAll(
+                () -> assertTrue(scanned.stream().anyMatch(TestFixtureRegistry.class::isInstance), "Реестр не был найден сканированием"),
+                () -> assertTrue(cached.isEmpty(), "Результат должен быть прочитан из кэша")
+        );
+    }
+
+    /**
+     * Проверяет повторное сканирование при несовпадении отпечатка classpath.
+     */
+    @Test
+    void shouldRescanForChangedFingerprint() throws IOException {
+        new ClassgraphScanner().findAndInstantiate(FixtureRegistry.class, TEST_PACKAGE_REGISTRY);
+        Path cacheFile = findCacheFile();
+        Files.writeString(cacheFile, "stale-fingerprint" + System.lineSeparator(), StandardCharsets.UTF_8);
+
+        List<FixtureRegistry> rescanned = new ClassgraphScanner().findAndInstantiate(FixtureRegistry.class, TEST_PACKAGE_REGISTRY);
+
+        assertAll(
+                () -> assertTrue(rescanned.stream().anyMatch(TestFixtureRegistry.class::isInstance), "Реестр не был найден повторным сканированием"),
+                () -> assertNotEquals("stale-fingerprint", Files.readAllLines(cacheFile, StandardCharsets.UTF_8).get(0), "Кэш должен быть перезаписан")
+        );
+    }
+
+    /**
+     * Проверяет повторное сканирование после добавления класса во вложенный пакет пакета реестров.
+     */
+    @Test
+    void shouldRescanAfterClassIsAddedToNestedPackage() throws IOException, URISyntaxException {
+        assertRescanAfterClassIsAddedToNestedPackage(TEST_PACKAGE_REGISTRY);
+    }
+
+    /**
+     * Проверяет повторное сканирование после добавления класса во вложенный пакет, если пакет реестров не задан.
+     */
+    @Test
+    void shouldRescanAfterClassIsAddedToNestedPackageWithoutRegistryPackage() throws IOException, URISyntaxException {
+        assertRescanAfterClassIsAddedToNestedPackage("");
+    }
+
+    /**
+     * Проверяет поиск реестров с настроенным профилем сканирования в нескольких пакетах.
+     */
+    @Test
+    void shouldFindRegistriesWithScanProfileInSeveralPackages() {
+        ScanProfile profile = new ScanProfile(false, 2, List.of(), List.of("classgraph-*.jar"), false);
+
+        List<FixtureRegistry> scanned = new ClassgraphScanner(profile).findAndInstantiate(FixtureRegistry.class, "custom.package, " + TEST_PACKAGE_REGISTRY);
+
+        assertTrue(scanned.stream().anyMatch(TestFixtureRegistry.class::isInstance), "Реестр не был найден сканированием");
+    }
+
+    /**
+     * Сканирует классы, оставляет в кэше только отпечаток classpath и добавляет копию класса реестра в новый пакет,
+     * вложенный в пакет тестового реестра. Повторное сканирование должно снова найти реестр, а не прочитать пустой кэш.
+     */
+    private void assertRescanAfterClassIsAddedToNestedPackage(String packageName) throws IOException, URISyntaxException {
+        new ClassgraphScanner().findAndInstantiate(FixtureRegistry.class, packageName);
+        Path cacheFile = findCacheFile();
+        Files.write(cacheFile, Files.readAllLines(cacheFile, StandardCharsets.UTF_8).subList(0, 1), StandardCharsets.UTF_8);
+
+        Path classes = Path.of(TestFixtureRegistry.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        Path registryClass = classes.resolve(TestFixtureRegistry.class.getName().replace('.', File.separatorChar) + ".class");
+        Path nestedPackage = registryClass.getParent().resolve("nested");
+        Path addedClass = nestedPackage.resolve("AddedFixtureRegistry.class");
+        try {
+            Files.createDirectories(nestedPackage);
+            Files.copy(registryClass, addedClass);
+
+            List<FixtureRegistry> rescanned = new ClassgraphScanner().findAndInstantiate(FixtureRegistry.class, packageName);
+
+            assertTrue(rescanned.stream().anyMatch(TestFixtureRegistry.class::isInstance), "После добавления класса должно быть выполнено повторное сканирование");
+        } finally {
+            Files.deleteIfExists(addedClass);
+            Files.deleteIfExists(nestedPackage);
+        }
+    }
+
+    private Path findCacheFile() throws IOException {
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            List<Path> cacheFiles = files.filter(file -> file.getFileName().toString().endsWith(".cache")).toList();
+            assertEquals(1, cacheFiles.size(), "Должен быть записан один файл кэша");
+            return cacheFiles.get(0);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.stasbykov.datapreparer.test.core;
+
+import io.github.stasbykov.datapreparer.api.core.Fixture;
+import io.github.stasbykov.datapreparer.api.core.FixtureBatch;
+import io.github.stasbykov.datapreparer.api.core.FixtureBatchCollection;
+import io.github.stasbykov.datapreparer.api.core.FixtureTemplate;
+import io.github.stasbykov.datapreparer.test.junit.extension.fixture.TestFixture;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовый класс для проверки работы {@link FixtureBatchCollection}.
+ */
+public class FixtureBatchCollectionTest {
+
+    private final FixtureTemplate<Fixture> users = template("users");
+    private final FixtureTemplate<Fixture> orders = template("orders");
+    private final TestFixture firstUser = new TestFixture("users", "first");
+    private final TestFixture secondUser = new TestFixture("users", "second");
+    private final OtherFixture otherUser = new OtherFixture();
+    private final TestFixture order = new TestFixture("orders", "order");
+
+    /**
+     * Проверяет поиск фикстур по имени шаблона и типу во всех пакетах шаблона.
+     */
+    @Test
+    void shouldFindFixturesByTemplateAndType() {
+        FixtureBatchCollection collection = collection();
+
+        assertAll(
+                () -> assertEquals(List.of(firstUser, secondUser), collection.get("users", TestFixture.class), "Фикстуры должны быть отфильтрованы по типу в порядке пакетов"),
+                () -> assertEquals(List.of(firstUser, otherUser, secondUser), collection.get("users", Fixture.class), "Фикстуры всех типов должны быть найдены"),
+                () -> assertEquals(List.of(order), collection.get("orders", TestFixture.class), "Фикстуры другого шаблона не должны попадать в результат"),
+                () -> assertEquals(List.of(), collection.get("products", TestFixture.class), "Для неизвестного шаблона результат должен быть пустым")
+        );
+    }
+
+    /**
+     * Проверяет, что повторный поиск возвращает тот же неизменяемый список.
+     */
+    @Test
+    void shouldReuseUnmodifiableView() {
+        FixtureBatchCollection collection = collection();
+
+        List<TestFixture> first = collection.get("users", TestFixture.class);
+        List<TestFixture> second = collection.get("users", TestFixture.class);
+
+        assertAll(
+                () -> assertSame(first, second, "Повторный поиск не должен создавать новый список"),
+                () -> assertThrows(UnsupportedOperationException.class, () -> first.add(firstUser), "Список должен быть неизменяемым")
+        );
+    }
+
+    /**
+     * Проверяет сохранение семантики записи: сравнение и строковое представление по пакетам.
+     */
+    @Test
+    void shouldKeepRecordSemantics() {
+        FixtureBatchCollection collection = collection();
+        FixtureBatchCollection same = collection();
+        int deconstructed = collection instanceof FixtureBatchCollection(var batches) ? batches.size() : 0;
+
+        assertAll(
+                () -> assertEquals(collection, same, "Коллекции с одинаковыми пакетами должны быть равны"),
+                () -> assertEquals(collection.hashCode(), same.hashCode(), "Хеш-коды должны совпадать"),
+                () -> assertEquals("FixtureBatchCollection[batches=" + collection.batches() + "]", collection.toString()),
+                () -> assertThrows(UnsupportedOperationException.class, () -> collection.batches().clear(), "Пакеты должны быть неизменяемыми"),
+                () -> assertTrue(FixtureBatchCollection.class.isRecord(), "Коллекция должна оставаться записью"),
+                () -> assertEquals(3, deconstructed, "Коллекция должна поддерживать деконструкцию")
+        );
+    }
+
+    /**
+     * Проверяет, что найденные фикстуры являются неизменяемым представлением списков пакетов, а не их копией.
+     */
+    @Test
+    void shouldViewFixturesOfBatchesWithoutCopy() {
+        List<Fixture> firstLoaded = new ArrayList<>(List.of(firstUser));
+        List<Fixture> secondLoaded = new ArrayList<>(List.of(secondUser));
+        FixtureBatchCollection collection = new FixtureBatchCollection(List.of(
+                new FixtureBatch<>(users, firstLoaded),
+                new FixtureBatch<>(users, secondLoaded)));
+
+        List<TestFixture> found = collection.get("users", TestFixture.class);
+        firstLoaded.set(0, order);
+
+        assertAll(
+                () -> assertEquals(List.of(order, secondUser), found, "Фикстуры должны читаться из списков пакетов"),
+                () -> assertThrows(UnsupportedOperationException.class, () -> found.set(0, firstUser), "Список должен быть неизменяемым")
+        );
+    }
+
+    private FixtureBatchCollection collection() {
+        return new FixtureBatchCollection(List.of(
+                new FixtureBatch<>(users, List.of(firstUser, otherUser)),
+                new FixtureBatch<>(orders, List.of(order)),
+                new FixtureBatch<>(users, List.of(secondUser))));
+    }
+
+    private static FixtureTemplate<Fixture> template(String name) {
+        return new FixtureTemplate<>(name, fixtures -> fixtures, fixtures -> {}, () -> null);
+    }
+
+    private static final class OtherFixture implements Fixture {
+    }
+}
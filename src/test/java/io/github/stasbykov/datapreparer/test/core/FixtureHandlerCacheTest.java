@@ -0,0 +1,153 @@
+package io.github.stasbykov.datapreparer.test.core;
+
+import io.github.stasbykov.datapreparer.api.core.FixtureRegistry;
+import io.github.stasbykov.datapreparer.internal.core.FixtureHandler;
+import io.github.stasbykov.datapreparer.internal.core.FixtureHandlerCache;
+import io.github.stasbykov.datapreparer.internal.util.scanner.ClassScanner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Тестовый класс для проверки работы {@link FixtureHandlerCache}.
+ */
+@ExtendWith(MockitoExtension.class)
+public class FixtureHandlerCacheTest {
+    /**
+     * Значение параметра для хранения названия пакета с {@link FixtureRegistry} по умолчанию
+     */
+    private final static String PACKAGE_NAME_PROPERTIES = "fixture.package.registry";
+
+    /**
+     * Количество потоков, одновременно запрашивающих обработчик
+     */
+    private final static int THREAD_COUNT = 8;
+
+    @Mock
+    private ClassScanner classScanner;
+
+    @Mock
+    private ClassScanner otherScanner;
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(PACKAGE_NAME_PROPERTIES);
+        FixtureHandlerCache.invalidate();
+    }
+
+    /**
+     * Проверяет, что повторные запросы используют уже созданный обработчик.
+     */
+    @Test
+    void shouldScanRegistriesOnce() {
+        when(classScanner.findAndInstantiate(any(), any())).thenReturn(List.of());
+
+        FixtureHandler first = FixtureHandlerCache.getOrCreate(classScanner);
+        FixtureHandler second = FixtureHandlerCache.getOrCreate(classScanner);
+
+        assertAll(
+                () -> assertSame(first, second, "Должен быть возвращен один и тот же обработчик"),
+                () -> verify(classScanner, times(1)).findAndInstantiate(FixtureRegistry.class, "")
+        );
+    }
+
+    /**
+     * Проверяет, что при одновременных запросах сканирование выполняется только один раз.
+     */
+    @Test
+    void shouldScanRegistriesOnceForConcurrentCallers() throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        when(classScanner.findAndInstantiate(any(), any())).thenAnswer(invocation -> {
+            Thread.sleep(100);
+            return List.of();
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            List<Future<FixtureHandler>> futures = IntStream.range(0, THREAD_COUNT)
+                    .mapToObj(i -> executor.submit(() -> {
+                        start.await();
+                        return FixtureHandlerCache.getOrCreate(classScanner);
+                    }))
+                    .toList();
+            start.countDown();
+
+            FixtureHandler expected = futures.get(0).get();
+            for (Future<FixtureHandler> future : futures) {
+                assertSame(expected, future.get(), "Все потоки должны получить один и тот же обработчик");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(classScanner, times(1)).findAndInstantiate(FixtureRegistry.class, "");
+    }
+
+    /**
+     * Проверяет повторное сканирование после сброса кэша и при смене пакета реестров.
+     */
+    @Test
+    void shouldRescanAfterInvalidationAndPackageChange() {
+        when(classScanner.findAndInstantiate(any(), any())).thenReturn(List.of());
+
+        FixtureHandler first = FixtureHandlerCache.getOrCreate(classScanner);
+        FixtureHandlerCache.invalidate();
+        FixtureHandler second = FixtureHandlerCache.getOrCreate(classScanner);
+        System.setProperty(PACKAGE_NAME_PROPERTIES, "custom.package");
+        FixtureHandler third = FixtureHandlerCache.getOrCreate(classScanner);
+
+        assertAll(
+                () -> assertNotSame(first, second, "После сброса кэша должен быть создан новый обработчик"),
+                () -> assertNotSame(second, third, "Для другого пакета должен быть создан новый обработчик"),
+                () -> verify(classScanner, times(2)).findAndInstantiate(FixtureRegistry.class, ""),
+                () -> verify(classScanner, times(1)).findAndInstantiate(FixtureRegistry.class, "custom.package")
+        );
+    }
+
+    /**
+     * Проверяет, что сканеры одного типа с разной конфигурацией, например auto и service-loader, не используют
+     * один обработчик.
+     */
+    @Test
+    void shouldScanAgainForOtherScannerConfiguration() {
+        when(classScanner.findAndInstantiate(any(), any())).thenReturn(List.of());
+        when(classScanner.configuration()).thenReturn("ServiceLoaderScanner()");
+        when(otherScanner.findAndInstantiate(any(), any())).thenReturn(List.of());
+        when(otherScanner.configuration()).thenReturn("ServiceLoaderScanner(ClassgraphScanner)");
+
+        FixtureHandler first = FixtureHandlerCache.getOrCreate(classScanner);
+        FixtureHandler second = FixtureHandlerCache.getOrCreate(otherScanner);
+
+        assertAll(
+                () -> assertNotSame(first, second, "Для другой конфигурации сканера должен быть создан новый обработчик"),
+                () -> verify(otherScanner, times(1)).findAndInstantiate(FixtureRegistry.class, "")
+        );
+    }
+
+    /**
+     * Проверяет, что неудачное сканирование не кэшируется.
+     */
+    @Test
+    void shouldNotCacheFailedScan() {
+        when(classScanner.findAndInstantiate(any(), any()))
+                .thenThrow(new IllegalStateException("Scan failed"))
+                .thenReturn(List.of());
+
+        assertThrows(IllegalStateException.class, () -> FixtureHandlerCache.getOrCreate(classScanner));
+        assertNotNull(FixtureHandlerCache.getOrCreate(classScanner));
+        verify(classScanner, times(2)).findAndInstantiate(FixtureRegistry.class, "");
+    }
+}
@@ -5,6 +5,8 @@ import io.github.stasbykov.datapreparer.api.core.FixtureRegistry;
 import io.github.stasbykov.datapreparer.api.core.FixtureTemplate;
 import io.github.stasbykov.datapreparer.internal.core.FixtureHandler;
 import io.github.stasbykov.datapreparer.internal.util.scanner.ClassScanner;
+import io.github.stasbykov.datapreparer.internal.util.scanner.LazyClassScanner;
+import io.github.stasbykov.datapreparer.internal.util.scanner.LazyInstance;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -12,6 +14,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -43,6 +47,12 @@ public class FixtureHandlerTest {
     @Mock
     private FixtureRegistry<Fixture> registry;
 
+    @Mock
+    private FixtureRegistry<Fixture> secondRegistry;
+
+    @Mock
+    private LazyClassScanner lazyClassScanner;
+
     @Mock
     private FixtureTemplate<Fixture> template;
 
@@ -104,6 +114,154 @@ public class FixtureHandlerTest {
         ); // Проверяем, что системная настройка не передается, т.к. мы не устанавливали соответствующее свойство
     }
 
+    /**
+     * Проверяет, что реестры ленивого сканера без объявленных имен создаются только до нахождения
+     * искомого шаблона.
+     */
+    @Test
+    void shouldInstantiateLazyRegistriesOnDemand() {
+        AtomicInteger firstInstances = new AtomicInteger();
+        AtomicInteger secondInstances = new AtomicInteger();
+        List<LazyInstance<Object>> suppliers = List.of(
+                new LazyInstance<>(FixtureRegistry.class, () -> {
+                    firstInstances.incrementAndGet();
+                    return registry;
+                }),
+                new LazyInstance<>(FixtureRegistry.class, () -> {
+                    secondInstances.incrementAndGet();
+                    return secondRegistry;
+                }));
+        doReturn(suppliers).when(lazyClassScanner).findLazily(any(), any());
+        when(registry.getTemplates()).thenReturn(List.of(template));
+        when(template.name()).thenReturn(FIXTURE_TEMPLATE_NAME);
+
+        FixtureHandler handler = new FixtureHandler(lazyClassScanner);
+        int instancesBeforeSearch = firstInstances.get() + secondInstances.get();
+        Optional<FixtureTemplate<? extends  Fixture>> firstSearch = handler.getTemplate(FIXTURE_TEMPLATE_NAME);
+        Optional<FixtureTemplate<? extends  Fixture>> secondSearch = handler.getTemplate(FIXTURE_TEMPLATE_NAME);
+
+        assertAll(
+                () -> assertEquals(template, firstSearch.orElseThrow(), "Полученный шаблон не соответствует ожидаемому"),
+                () -> assertEquals(template, secondSearch.orElseThrow(), "Полученный шаблон не соответствует ожидаемому"),
+                () -> assertEquals(0, instancesBeforeSearch, "Реестры не должны создаваться до поиска шаблона"),
+                () -> assertEquals(1, firstInstances.get(), "Реестр должен быть создан один раз"),
+                () -> assertEquals(0, secondInstances.get(), "Реестр после найденного шаблона не должен создаваться"),
+                () -> verify(registry, times(1)).getTemplates(),
+                () -> verify(lazyClassScanner, never()).findAndInstantiate(any(), any())
+        );
+    }
+
+    /**
+     * Проверяет обнаружение одинаковых объявленных имен шаблонов при создании обработчика с ленивым сканером.
+     */
+    @Test
+    void shouldThrowForDuplicateDeclaredNamesOfLazyRegistries() {
+        List<LazyInstance<Object>> suppliers = List.of(lazyInstanceOf(registry), lazyInstanceOf(secondRegistry));
+        doReturn(suppliers).when(lazyClassScanner).findLazily(any(), any());
+        when(registry.getTemplateNames()).thenReturn(Optional.of(Set.of(FIXTURE_TEMPLATE_NAME)));
+        when(secondRegistry.getTemplateNames()).thenReturn(Optional.of(Set.of(FIXTURE_TEMPLATE_NAME)));
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> new FixtureHandler(lazyClassScanner));
+
+        assertAll(
+                () -> assertTrue(thrown.getMessage().contains("Duplicate fixture template name '" + FIXTURE_TEMPLATE_NAME + "'"), "Сообщение об ошибке не содержит имя шаблона"),
+                () -> verify(registry, never()).getTemplates(),
+                () -> verify(secondRegistry, never()).getTemplates()
+        );
+    }
+
+    /**
+     * Проверяет, что реестр с повторяющимся именем не добавляется частично и ошибка повторяется при каждом поиске.
+     */
+    @Test
+    void shouldNotRegisterRegistryWithDuplicateNamePartially() {
+        FixtureTemplate<Fixture> otherTemplate = mock();
+        List<LazyInstance<Object>> suppliers = List.of(
+                lazyInstanceOf(registry),
+                new LazyInstance<>(FixtureRegistry.class, () -> secondRegistry));
+        doReturn(suppliers).when(lazyClassScanner).findLazily(any(), any());
+        when(registry.getTemplateNames()).thenReturn(Optional.of(Set.of(FIXTURE_TEMPLATE_NAME)));
+        when(secondRegistry.getTemplates()).thenReturn(List.of(otherTemplate, template));
+        when(template.name()).thenReturn(FIXTURE_TEMPLATE_NAME);
+        when(otherTemplate.name()).thenReturn("other_template");
+
+        FixtureHandler handler = new FixtureHandler(lazyClassScanner);
+
+        assertAll(
+                () -> assertThrows(IllegalStateException.class, () -> handler.getTemplate("other_template")),
+                () -> assertThrows(IllegalStateException.class, () -> handler.getTemplate("other_template"), "Ошибка должна повторяться при следующем поиске")
+        );
+    }
+
+    /**
+     * Проверяет, что ленивый сканер при создании обработчика создает только реестры с объявленными именами,
+     * а остальные реестры создаются при первом поиске их шаблонов.
+     */
+    @Test
+    void shouldCreateOnlyRegistriesWithDeclaredNamesWhenHandlerIsBuilt() {
+        AtomicInteger plainInstances = new AtomicInteger();
+        AtomicInteger declaringInstances = new AtomicInteger();
+        List<LazyInstance<Object>> suppliers = List.of(
+                new LazyInstance<>(PlainRegistry.class, () -> new PlainRegistry(plainInstances)),
+                new LazyInstance<>(DeclaringRegistry.class, () -> new DeclaringRegistry(declaringInstances)));
+        doReturn(suppliers).when(lazyClassScanner).findLazily(any(), any());
+
+        FixtureHandler handler = new FixtureHandler(lazyClassScanner);
+        int plainBeforeSearch = plainInstances.get();
+        int declaringBeforeSearch = declaringInstances.get();
+        Optional<FixtureTemplate<? extends  Fixture>> declaredTemplate = handler.getTemplate(DeclaringRegistry.TEMPLATE_NAME);
+        int plainAfterDeclaredSearch = plainInstances.get();
+        Optional<FixtureTemplate<? extends  Fixture>> plainTemplate = handler.getTemplate(PlainRegistry.TEMPLATE_NAME);
+        handler.getTemplate(PlainRegistry.TEMPLATE_NAME);
+
+        assertAll(
+                () -> assertEquals(0, plainBeforeSearch, "Реестр без объявленных имен не должен создаваться при создании обработчика"),
+                () -> assertEquals(1, declaringBeforeSearch, "Реестр с объявленными именами должен быть создан при создании обработчика"),
+                () -> assertTrue(declaredTemplate.isPresent(), "Шаблон реестра с объявленными именами не найден"),
+                () -> assertEquals(0, plainAfterDeclaredSearch, "Поиск объявленного шаблона не должен создавать другие реестры"),
+                () -> assertTrue(plainTemplate.isPresent(), "Шаблон реестра без объявленных имен не найден"),
+                () -> assertEquals(1, plainInstances.get(), "Реестр без объявленных имен должен быть создан один раз"),
+                () -> assertEquals(1, declaringInstances.get(), "Реестр с объявленными именами должен быть создан один раз")
+        );
+    }
+
+    /**
+     * Проверяет, что шаблоны реестра с объявленными именами создаются только при первом запросе.
+     */
+    @Test
+    void shouldCreateDeclaredTemplatesOnFirstRequest() {
+        when(classScanner.findAndInstantiate(any(), any())).thenReturn(List.of(registry));
+        when(registry.getTemplateNames()).thenReturn(Optional.of(Set.of(FIXTURE_TEMPLATE_NAME)));
+        when(registry.getTemplates()).thenReturn(List.of(template));
+        when(template.name()).thenReturn(FIXTURE_TEMPLATE_NAME);
+
+        FixtureHandler handler = new FixtureHandler(classScanner);
+        verify(registry, never()).getTemplates();
+        FixtureTemplate<? extends  Fixture> firstSearch = handler.getTemplate(FIXTURE_TEMPLATE_NAME).orElseThrow();
+        FixtureTemplate<? extends  Fixture> secondSearch = handler.getTemplate(FIXTURE_TEMPLATE_NAME).orElseThrow();
+
+        assertAll(
+                () -> assertEquals(template, firstSearch, "Полученный шаблон не соответствует ожидаемому"),
+                () -> assertEquals(template, secondSearch, "Полученный шаблон не соответствует ожидаемому"),
+                () -> verify(registry, times(1)).getTemplates()
+        );
+    }
+
+    /**
+     * Проверяет выброс исключения при одинаковых именах шаблонов в разных реестрах.
+     */
+    @Test
+    void shouldThrowIllegalStateExceptionForDuplicateTemplateNames() {
+        when(classScanner.findAndInstantiate(any(), any())).thenReturn(List.of(registry, secondRegistry));
+        when(registry.getTemplates()).thenReturn(List.of(template));
+        when(secondRegistry.getTemplates()).thenReturn(List.of(template));
+        when(template.name()).thenReturn(FIXTURE_TEMPLATE_NAME);
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> new FixtureHandler(classScanner));
+
+        assertTrue(thrown.getMessage().contains("Duplicate fixture template name '" + FIXTURE_TEMPLATE_NAME + "'"), "Сообщение об ошибке не содержит имя шаблона");
+    }
+
     /**
      * Проверяет выброс исключения при передаче null вместо имени шаблона.
      */
@@ -115,4 +273,48 @@ public class FixtureHandlerTest {
 
     }
 
+    /**
+     * Оборачивает mock реестра, найденного как класс, который объявляет имена шаблонов.
+     */
+    private static LazyInstance<Object> lazyInstanceOf(FixtureRegistry<Fixture> registry) {
+        return new LazyInstance<>(DeclaringRegistry.class, () -> registry);
+    }
+
+    /**
+     * Реестр без объявленных имен, считающий созданные экземпляры.
+     */
+    public static class PlainRegistry implements FixtureRegistry<Fixture> {
+        static final String TEMPLATE_NAME = "plain_template";
+
+        PlainRegistry(AtomicInteger instances) {
+            instances.incrementAndGet();
+        }
+
+        @Override
+        public List<FixtureTemplate<Fixture>> getTemplates() {
+            return List.of(new FixtureTemplate<>(TEMPLATE_NAME, fixtures -> fixtures, fixtures -> {}, () -> null));
+        }
+    }
+
+    /**
+     * Реестр с объявленными именами, считающий созданные экземпляры.
+     */
+    public static class DeclaringRegistry implements FixtureRegistry<Fixture> {
+        static final String TEMPLATE_NAME = "declared_template";
+
+        DeclaringRegistry(AtomicInteger instances) {
+            instances.incrementAndGet();
+        }
+
+        @Override
+        public List<FixtureTemplate<Fixture>> getTemplates() {
+            return List.of(new FixtureTemplate<>(TEMPLATE_NAME, fixtures -> fixtures, fixtures -> {}, () -> null));
+        }
+
+        @Override
+        public Optional<Set<String>> getTemplateNames() {
+            return Optional.of(Set.of(TEMPLATE_NAME));
+        }
+    }
+
 }
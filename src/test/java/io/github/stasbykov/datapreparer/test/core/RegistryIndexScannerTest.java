@@ -0,0 +1,70 @@
+package io.github.stasbykov.datapreparer.test.core;
+
+import io.github.stasbykov.datapreparer.api.core.Fixture;
+import io.github.stasbykov.datapreparer.api.core.FixtureRegistry;
+import io.github.stasbykov.datapreparer.internal.util.scanner.ClassScanner;
+import io.github.stasbykov.datapreparer.internal.util.scanner.RegistryIndexScanner;
+import io.github.stasbykov.datapreparer.test.junit.extension.fixture.TestFixtureRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Тестовый класс для проверки работы {@link RegistryIndexScanner}.
+ * Индекс реестров тестового модуля формируется процессором аннотаций при компиляции тестов.
+ */
+@ExtendWith(MockitoExtension.class)
+public class RegistryIndexScannerTest {
+    /**
+     * Пакет с тестовыми реестрами
+     */
+    private final static String TEST_PACKAGE_REGISTRY = "io.github.stasbykov.datapreparer.test";
+
+    @Mock
+    private ClassScanner fallback;
+
+    /**
+     * Проверяет загрузку реестров из индекса без обращения к резервному сканеру.
+     */
+    @Test
+    void shouldLoadRegistriesFromIndex() {
+        List<FixtureRegistry> registries = new RegistryIndexScanner(fallback).findAndInstantiate(FixtureRegistry.class, TEST_PACKAGE_REGISTRY);
+
+        assertAll(
+                () -> assertTrue(registries.stream().anyMatch(TestFixtureRegistry.class::isInstance), "Реестр из индекса не был создан"),
+                () -> verifyNoInteractions(fallback)
+        );
+    }
+
+    /**
+     * Проверяет фильтрацию реестров из индекса по пакету.
+     */
+    @Test
+    void shouldFilterIndexedRegistriesByPackage() {
+        List<FixtureRegistry> registries = new RegistryIndexScanner(fallback).findAndInstantiate(FixtureRegistry.class, "custom.package");
+
+        assertAll(
+                () -> assertTrue(registries.isEmpty(), "Должен быть возвращен пустой результат"),
+                () -> verifyNoInteractions(fallback)
+        );
+    }
+
+    /**
+     * Проверяет передачу поиска резервному сканеру для интерфейсов, которых нет в индексе.
+     */
+    @Test
+    void shouldDelegateNotIndexedInterfaceToFallback() {
+        when(fallback.findAndInstantiate(any(), any())).thenReturn(List.of());
+
+        new RegistryIndexScanner(fallback).findAndInstantiate(Fixture.class, TEST_PACKAGE_REGISTRY);
+
+        verify(fallback, times(1)).findAndInstantiate(Fixture.class, TEST_PACKAGE_REGISTRY);
+    }
+}
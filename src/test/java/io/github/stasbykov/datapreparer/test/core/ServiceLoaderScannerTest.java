@@ -0,0 +1,73 @@
+package io.github.stasbykov.datapreparer.test.core;
+
+import io.github.stasbykov.datapreparer.api.core.Fixture;
+import io.github.stasbykov.datapreparer.api.core.FixtureRegistry;
+import io.github.stasbykov.datapreparer.internal.util.scanner.ClassScanner;
+import io.github.stasbykov.datapreparer.internal.util.scanner.LazyInstance;
+import io.github.stasbykov.datapreparer.internal.util.scanner.ServiceLoaderScanner;
+import io.github.stasbykov.datapreparer.test.junit.extension.fixture.TestFixtureRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Тестовый класс для проверки работы {@link ServiceLoaderScanner}.
+ * Тестовый реестр объявлен провайдером в module-info тестового модуля.
+ */
+@ExtendWith(MockitoExtension.class)
+public class ServiceLoaderScannerTest {
+    /**
+     * Пакет с тестовыми реестрами
+     */
+    private final static String TEST_PACKAGE_REGISTRY = "io.github.stasbykov.datapreparer.test";
+
+    @Mock
+    private ClassScanner fallback;
+
+    /**
+     * Проверяет поиск провайдеров реестров без обращения к резервному сканеру.
+     */
+    @Test
+    void shouldFindRegistryProviders() {
+        List<LazyInstance<FixtureRegistry>> providers = new ServiceLoaderScanner(fallback).findLazily(FixtureRegistry.class, TEST_PACKAGE_REGISTRY);
+
+        assertAll(
+                () -> assertEquals(1, providers.size(), "Должен быть найден один провайдер"),
+                () -> assertEquals(TestFixtureRegistry.class, providers.get(0).type(), "Найден провайдер другого класса"),
+                () -> assertInstanceOf(TestFixtureRegistry.class, providers.get(0).get(), "Провайдер создал экземпляр другого класса"),
+                () -> verifyNoInteractions(fallback)
+        );
+    }
+
+    /**
+     * Проверяет передачу поиска резервному сканеру, если провайдеры не найдены.
+     */
+    @Test
+    void shouldDelegateToFallbackWithoutProviders() {
+        when(fallback.findAndInstantiate(any(), any())).thenReturn(List.of());
+
+        List<Fixture> instances = new ServiceLoaderScanner(fallback).findAndInstantiate(Fixture.class, TEST_PACKAGE_REGISTRY);
+
+        assertAll(
+                () -> assertTrue(instances.isEmpty(), "Должен быть возвращен пустой результат"),
+                () -> verify(fallback, times(1)).findAndInstantiate(Fixture.class, TEST_PACKAGE_REGISTRY)
+        );
+    }
+
+    /**
+     * Проверяет пустой результат без резервного сканера, если провайдеры находятся вне пакета.
+     */
+    @Test
+    void shouldReturnEmptyResultForProvidersOutsidePackage() {
+        List<FixtureRegistry> instances = new ServiceLoaderScanner().findAndInstantiate(FixtureRegistry.class, "custom.package");
+
+        assertTrue(instances.isEmpty(), "Должен быть возвращен пустой результат");
+    }
+}
@@ -0,0 +1,139 @@
+package io.github.stasbykov.datapreparer.test.junit;
+
+import io.github.stasbykov.datapreparer.api.annotation.ClassDataSetup;
+import io.github.stasbykov.datapreparer.api.annotation.Template;
+import io.github.stasbykov.datapreparer.api.core.FixtureBatch;
+import io.github.stasbykov.datapreparer.api.core.FixtureBatchCollection;
+import io.github.stasbykov.datapreparer.api.core.FixtureTemplate;
+import io.github.stasbykov.datapreparer.internal.junit.ClassFixturePrefetcher;
+import io.github.stasbykov.datapreparer.test.junit.extension.fixture.TestFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+import org.junit.platform.launcher.core.LauncherFactory;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+import static org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder.request;
+
+/**
+ * Тестовый класс для проверки работы {@link ClassFixturePrefetcher}.
+ */
+public class ClassFixturePrefetcherTest {
+    /**
+     * Значение параметра для хранения названия пакета с реестрами фикстур
+     */
+    private final static String PACKAGE_NAME_PROPERTIES = "fixture.package.registry";
+
+    private TestPlan testPlan;
+
+    @BeforeEach
+    void setUp() {
+        System.setProperty(PACKAGE_NAME_PROPERTIES, "io.github.stasbykov.datapreparer.test");
+        testPlan = LauncherFactory.create().discover(request()
+                .selectors(selectClass(FirstPrefetchSpec.class), selectClass(SecondPrefetchSpec.class), selectClass(ThirdPrefetchSpec.class))
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        System.clearProperty(PACKAGE_NAME_PROPERTIES);
+    }
+
+    /**
+     * Проверяет загрузку фикстур следующих классов в пределах окна и удаление неиспользованных фикстур.
+     */
+    @Test
+    void shouldPrefetchFixturesWithinWindow() {
+        ClassFixturePrefetcher prefetcher = new ClassFixturePrefetcher(true, 2);
+
+        prefetcher.testPlanExecutionStarted(testPlan);
+        boolean thirdPrefetchedBeforeStart = ClassFixturePrefetcher.take(ThirdPrefetchSpec.class).isPresent();
+        prefetcher.executionStarted(classIdentifier(FirstPrefetchSpec.class));
+        FixtureBatchCollection first = ClassFixturePrefetcher.take(FirstPrefetchSpec.class).orElseThrow().join();
+        prefetcher.executionSkipped(classIdentifier(SecondPrefetchSpec.class), "disabled");
+        boolean secondKeptAfterSkip = ClassFixturePrefetcher.take(SecondPrefetchSpec.class).isPresent();
+        prefetcher.executionFinished(classIdentifier(FirstPrefetchSpec.class), TestExecutionResult.successful());
+        prefetcher.testPlanExecutionFinished(testPlan);
+
+        assertAll(
+                () -> assertFalse(thirdPrefetchedBeforeStart, "Фикстуры за пределами окна не должны загружаться"),
+                () -> assertEquals(3, first.get("test_template_1", TestFixture.class).size(), "Количество фикстур не соответствует ожидаемому"),
+                () -> assertFalse(secondKeptAfterSkip, "Фикстуры пропущенного класса должны удаляться"),
+                () -> assertTrue(ClassFixturePrefetcher.take(ThirdPrefetchSpec.class).isEmpty(), "Неиспользованные фикстуры должны удаляться")
+        );
+    }
+
+    /**
+     * Проверяет, что по завершении плана загружаемые и удаляемые фикстуры удаляются до возврата из слушателя.
+     */
+    @Test
+    void shouldDeleteInFlightPrefetchesWhenPlanFinishes() {
+        Queue<String> deleted = new ConcurrentLinkedQueue<>();
+        FixtureTemplate<TestFixture> template = new FixtureTemplate<>("slow_prefetch_template", fixtures -> fixtures,
+                fixtures -> fixtures.forEach(fixture -> deleted.add(fixture.name())), () -> null);
+        ClassFixturePrefetcher prefetcher = new ClassFixturePrefetcher(true, 2, testClass -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new FixtureBatchCollection(List.of(new FixtureBatch<>(template,
+                    List.of(new TestFixture(testClass.getSimpleName(), "value")))));
+        });
+
+        prefetcher.testPlanExecutionStarted(testPlan);
+        prefetcher.executionSkipped(classIdentifier(SecondPrefetchSpec.class), "disabled");
+        prefetcher.testPlanExecutionFinished(testPlan);
+
+        assertEquals(3, deleted.size(), "Все неиспользованные фикстуры должны быть удалены по завершении плана");
+    }
+
+    /**
+     * Проверяет, что выключенный слушатель не загружает фикстуры.
+     */
+    @Test
+    void shouldNotPrefetchWhenDisabled() {
+        ClassFixturePrefetcher prefetcher = new ClassFixturePrefetcher(false, 2);
+
+        prefetcher.testPlanExecutionStarted(testPlan);
+
+        assertTrue(ClassFixturePrefetcher.take(FirstPrefetchSpec.class).isEmpty());
+    }
+
+    private TestIdentifier classIdentifier(Class<?> testClass) {
+        return testPlan.getRoots().stream()
+                .flatMap(root -> testPlan.getDescendants(root).stream())
+                .filter(identifier -> identifier.getSource()
+                        .filter(source -> source instanceof ClassSource classSource && classSource.getJavaClass() == testClass)
+                        .isPresent())
+                .findFirst()
+                .orElseThrow();
+    }
+
+    @ClassDataSetup(@Template(name = "test_template_1", count = 3))
+    static class FirstPrefetchSpec {
+        @Test
+        void someTest() {}
+    }
+
+    @ClassDataSetup(@Template(name = "test_template_2", count = 2))
+    static class SecondPrefetchSpec {
+        @Test
+        void someTest() {}
+    }
+
+    @ClassDataSetup(@Template(name = "test_template_1", count = 1))
+    static class ThirdPrefetchSpec {
+        @Test
+        void someTest() {}
+    }
+}
@@ -0,0 +1,139 @@
+package io.github.stasbykov.datapreparer.test.junit;
+
+import io.github.stasbykov.datapreparer.api.core.Fixture;
+import io.github.stasbykov.datapreparer.api.core.FixtureBatch;
+import io.github.stasbykov.datapreparer.api.core.FixtureTemplate;
+import io.github.stasbykov.datapreparer.internal.jfr.FixtureEvents;
+import io.github.stasbykov.datapreparer.internal.junit.DeferredDeletion;
+import io.github.stasbykov.datapreparer.test.junit.extension.fixture.TestFixture;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовый класс для проверки работы {@link DeferredDeletion}.
+ */
+public class DeferredDeletionTest {
+    /**
+     * Время удаления одного пакета в миллисекундах
+     */
+    private final static long DELETE_DELAY_MILLIS = 200;
+
+    private final Queue<String> deletedTemplates = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Проверяет, что удаление выполняется в фоне и завершается при сбросе очереди.
+     */
+    @Test
+    void shouldDeleteInBackgroundUntilFlush() {
+        DeferredDeletion deletion = new DeferredDeletion(2, 4);
+
+        long start = System.nanoTime();
+        deletion.submit(batches("first", false));
+        deletion.submit(batches("second", false));
+        long submitMillis = (System.nanoTime() - start) / 1_000_000;
+        List<Throwable> failures = deletion.flush();
+
+        assertAll(
+                () -> assertTrue(submitMillis < DELETE_DELAY_MILLIS, "Удаление не должно блокировать вызывающий поток: " + submitMillis + " мс"),
+                () -> assertEquals(List.of("first", "second"), deletedTemplates.stream().sorted().toList(), "Все пакеты должны быть удалены после сброса"),
+                () -> assertTrue(failures.isEmpty(), "Ошибок удаления быть не должно")
+        );
+    }
+
+    /**
+     * Проверяет блокировку отправки при заполненной очереди удаления.
+     */
+    @Test
+    void shouldBlockSubmitWhenBacklogIsFull() {
+        DeferredDeletion deletion = new DeferredDeletion(1, 1);
+
+        deletion.submit(batches("first", false));
+        long start = System.nanoTime();
+        deletion.submit(batches("second", false));
+        long submitMillis = (System.nanoTime() - start) / 1_000_000;
+        deletion.flush();
+
+        assertTrue(submitMillis >= DELETE_DELAY_MILLIS / 2, "Отправка должна ждать освобождения очереди: " + submitMillis + " мс");
+    }
+
+    /**
+     * Проверяет, что ошибки удаления сообщаются при сбросе очереди.
+     */
+    @Test
+    void shouldReportFailuresOnFlush() {
+        DeferredDeletion deletion = new DeferredDeletion(2, 4);
+
+        deletion.submit(batches("failing", true));
+        deletion.submit(batches("second", false));
+        List<Throwable> failures = deletion.flush();
+
+        assertAll(
+                () -> assertEquals(List.of("Deletion of failing failed"), failures.stream().map(Throwable::getMessage).toList()),
+                () -> assertEquals(List.of("second"), List.copyOf(deletedTemplates), "Остальные пакеты должны быть удалены"),
+                () -> assertTrue(deletion.flush().isEmpty(), "Ошибки должны сообщаться один раз")
+        );
+    }
+
+    /**
+     * Проверяет, что фикстуры метода удаляются раньше фикстур класса, от которых они могут зависеть,
+     * а фикстуры разных классов удаляются параллельно.
+     */
+    @Test
+    void shouldDeleteInSubmissionOrderWithinClass() {
+        DeferredDeletion deletion = new DeferredDeletion(4, 8);
+
+        FixtureEvents.inTest("SampleTest#test", () -> {
+            deletion.submitLoadings(List.of(batches("method", false)));
+            return null;
+        });
+        FixtureEvents.inTest("SampleTest$Nested", () -> {
+            deletion.submitLoadings(List.of(batches("nested", false)));
+            return null;
+        });
+        long start = System.nanoTime();
+        FixtureEvents.inTest("SampleTest", () -> {
+            deletion.submitLoadings(List.of(batches("class", false)));
+            return null;
+        });
+        FixtureEvents.inTest("OtherTest", () -> {
+            deletion.submitLoadings(List.of(batches("other", false)));
+            return null;
+        });
+        deletion.flush();
+        long flushMillis = (System.nanoTime() - start) / 1_000_000;
+
+        List<String> deleted = List.copyOf(deletedTemplates);
+        List<String> sameClass = deleted.stream().filter(name -> !name.equals("other")).toList();
+        assertAll(
+                () -> assertEquals(List.of("method", "nested", "class"), sameClass, "Фикстуры одного класса должны удаляться в порядке отправки"),
+                () -> assertTrue(deleted.indexOf("other") < deleted.indexOf("nested"), "Фикстуры другого класса не должны ждать очереди первого класса"),
+                () -> assertTrue(flushMillis >= DELETE_DELAY_MILLIS * 2, "Удаления одного класса должны выполняться последовательно: " + flushMillis + " мс")
+        );
+    }
+
+    private List<FixtureBatch<? extends Fixture>> batches(String name, boolean failing) {
+        FixtureTemplate<TestFixture> template = new FixtureTemplate<>(name, fixtures -> fixtures,
+                fixtures -> {
+                    sleep();
+                    if (failing) {
+                        throw new IllegalStateException("Deletion of " + name + " failed");
+                    }
+                    deletedTemplates.add(name);
+                },
+                () -> new TestFixture(name, name));
+        return List.of(new FixtureBatch<>(template, List.of(new TestFixture(name, name))));
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(DELETE_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.stasbykov.datapreparer.test.junit;
+
+import io.github.stasbykov.datapreparer.internal.junit.FixtureMetrics;
+import io.github.stasbykov.datapreparer.internal.junit.FixtureMetrics.TemplateSummary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовый класс для проверки работы {@link FixtureMetrics}.
+ */
+public class FixtureMetricsTest {
+
+    /**
+     * Проверяет агрегацию метрик по шаблонам и сортировку по общему времени.
+     */
+    @Test
+    void shouldAggregateAndSortByTotalTime() {
+        FixtureMetrics metrics = new FixtureMetrics();
+
+        metrics.recordLoad("users", 10, 10, 1_000, 2_000);
+        metrics.recordLoad("users", 5, 5, 500, 1_000);
+        metrics.recordDeletion("users", 15, 3_000);
+        metrics.recordLoad("orders", 100, 100, 10_000, 20_000);
+
+        List<TemplateSummary> summary = metrics.summary();
+        TemplateSummary users = summary.get(1);
+
+        assertAll(
+                () -> assertEquals(List.of("orders", "users"), summary.stream().map(TemplateSummary::template).toList(), "Шаблоны должны быть отсортированы по общему времени"),
+                () -> assertEquals(2, users.loads(), "Количество загрузок должно суммироваться"),
+                () -> assertEquals(15, users.loaded(), "Количество фикстур должно суммироваться"),
+                () -> assertEquals(7_500, users.totalNanos(), "Общее время должно включать все фазы"),
+                () -> assertEquals(1, users.deletions(), "Количество удалений должно учитываться"),
+                () -> assertFalse(users.repeated(), "Загрузки с разным количеством не являются повторными")
+        );
+    }
+
+    /**
+     * Проверяет пометку шаблонов, загруженных несколько раз с одинаковыми параметрами.
+     */
+    @Test
+    void shouldFlagRepeatedLoads() {
+        FixtureMetrics metrics = new FixtureMetrics();
+
+        metrics.recordLoad("users", 10, 10, 0, 0);
+        metrics.recordLoad("users", 10, 10, 0, 0);
+        metrics.recordLoad("users", 10, 10, 0, 0);
+
+        TemplateSummary users = metrics.summary().getFirst();
+        assertAll(
+                () -> assertTrue(users.repeated(), "Повторные загрузки должны быть помечены"),
+                () -> assertEquals(2, users.repeatedLoads(), "Первая загрузка не считается повторной")
+        );
+    }
+
+    /**
+     * Проверяет учет ожидания разрешений ограничения параллельности.
+     */
+    @Test
+    void shouldAggregateWaitsForConcurrencyLimit() {
+        FixtureMetrics metrics = new FixtureMetrics();
+
+        metrics.recordWait("users", 1_000);
+        metrics.recordWait("users", 4_000_000);
+        metrics.recordLoad("users", 10, 10, 0, 2_000_000);
+
+        TemplateSummary users = metrics.summary().getFirst();
+        assertAll(
+                () -> assertEquals(2, users.waits(), "Количество ожиданий должно суммироваться"),
+                () -> assertEquals(4_001_000, users.waitNanos(), "Время ожидания должно суммироваться"),
+                () -> assertEquals(4_000_000, users.maxWaitNanos(), "Должно учитываться самое долгое ожидание"),
+                () -> assertEquals(2_000_000, users.totalNanos(), "Ожидание не входит в общее время")
+        );
+    }
+
+    /**
+     * Проверяет запись отчета в форматах JSON и текст.
+     */
+    @Test
+    void shouldWriteJsonAndTextReport(@TempDir Path directory) throws IOException {
+        FixtureMetrics metrics = new FixtureMetrics();
+        metrics.recordLoad("users", 10, 10, 1_000_000, 2_000_000);
+        metrics.recordDeletion("users", 10, 3_000_000);
+
+        metrics.writeReport(directory.resolve("report"));
+
+        String json = Files.readString(directory.resolve("report").resolve(FixtureMetrics.JSON_REPORT));
+        String text = Files.readString(directory.resolve("report").resolve(FixtureMetrics.TEXT_REPORT));
+        assertAll(
+                () -> assertTrue(json.contains("\"template\": \"users\""), json),
+                () -> assertTrue(json.contains("\"totalMillis\": 6"), json),
+                () -> assertTrue(json.contains("\"fixturesPerSecond\": 5000.0"), json),
+                () -> assertTrue(json.contains("\"wait\": {\"permits\": 0"), json),
+                () -> assertTrue(text.lines().skip(1).anyMatch(line -> line.startsWith("users")), text)
+        );
+    }
+
+    /**
+     * Проверяет, что отчет по умолчанию записывается в каталог сборки Maven.
+     */
+    @Test
+    void shouldPlaceDefaultReportIntoBuildDirectory() {
+        assertEquals(Path.of("target", FixtureMetrics.DIRECTORY_NAME), FixtureMetrics.defaultDirectory(),
+                "Отчет должен записываться в каталог сборки");
+    }
+}
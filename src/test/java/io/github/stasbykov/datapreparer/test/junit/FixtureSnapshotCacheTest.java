@@ -0,0 +1,174 @@
+package io.github.stasbykov.datapreparer.test.junit;
+
+import io.github.stasbykov.datapreparer.api.core.Fixture;
+import io.github.stasbykov.datapreparer.internal.junit.FixtureSnapshotCache;
+import io.github.stasbykov.datapreparer.test.junit.extension.fixture.TestFixture;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовый класс для проверки работы {@link FixtureSnapshotCache}.
+ */
+public class FixtureSnapshotCacheTest {
+
+    /**
+     * Проверяет чтение записанного снимка другим экземпляром кэша, например другим форком.
+     */
+    @Test
+    void shouldReadSnapshotWrittenByAnotherInstance(@TempDir Path directory) {
+        String key = FixtureSnapshotCache.key("users", 0, 3, 42L, "v1");
+        new FixtureSnapshotCache(directory, Long.MAX_VALUE).write(key, fixtures("users", 3));
+
+        Optional<List<TestFixture>> snapshot = new FixtureSnapshotCache(directory, Long.MAX_VALUE)
+                .read(key, getClass().getClassLoader());
+
+        assertEquals(Optional.of(fixtures("users", 3)), snapshot, "Снимок должен содержать записанные фикстуры");
+    }
+
+    /**
+     * Проверяет промах кэша при другой версии данных и при поврежденном снимке.
+     */
+    @Test
+    void shouldMissForOtherVersionOrCorruptedSnapshot(@TempDir Path directory) throws IOException {
+        FixtureSnapshotCache cache = new FixtureSnapshotCache(directory, Long.MAX_VALUE);
+        String key = FixtureSnapshotCache.key("users", 0, 3, 42L, "v1");
+        cache.write(key, fixtures("users", 3));
+
+        Optional<List<TestFixture>> otherVersion = cache.read(FixtureSnapshotCache.key("users", 0, 3, 42L, "v2"), null);
+        for (Path file : snapshots(directory)) {
+            Files.write(file, new byte[]{1, 2, 3});
+        }
+        Optional<List<TestFixture>> corrupted = cache.read(key, null);
+
+        assertAll(
+                () -> assertTrue(otherVersion.isEmpty(), "Снимок другой версии не должен использоваться"),
+                () -> assertTrue(corrupted.isEmpty(), "Поврежденный снимок не должен использоваться")
+        );
+    }
+
+    /**
+     * Проверяет вытеснение давно не использованных снимков при превышении размера кэша.
+     */
+    @Test
+    void shouldEvictLeastRecentlyUsedSnapshots(@TempDir Path directory) throws IOException {
+        String first = FixtureSnapshotCache.key("first", 0, 10, 0L, "v1");
+        String second = FixtureSnapshotCache.key("second", 0, 10, 0L, "v1");
+        String third = FixtureSnapshotCache.key("third", 0, 10, 0L, "v1");
+        new FixtureSnapshotCache(directory, Long.MAX_VALUE).write(first, fixtures("first", 10));
+        long snapshotSize = Files.size(snapshots(directory).getFirst());
+        FixtureSnapshotCache cache = new FixtureSnapshotCache(directory, snapshotSize * 5 / 2);
+
+        cache.write(second, fixtures("second", 10));
+        for (Path file : snapshots(directory)) {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(1_000));
+        }
+        cache.read(first, null);
+        cache.write(third, fixtures("third", 10));
+
+        assertAll(
+                () -> assertEquals(2, snapshots(directory).size(), "Размер кэша не должен превышать ограничение"),
+                () -> assertTrue(cache.read(first, null).isPresent(), "Недавно прочитанный снимок должен сохраниться"),
+                () -> assertTrue(cache.read(second, null).isEmpty(), "Давно не использованный снимок должен быть вытеснен"),
+                () -> assertTrue(cache.read(third, null).isPresent(), "Новый снимок должен сохраниться")
+        );
+    }
+
+    /**
+     * Проверяет, что снимок больше размера кэша не записывается и не оставляет временных файлов.
+     */
+    @Test
+    void shouldNotWriteSnapshotLargerThanCache(@TempDir Path directory) throws IOException {
+        FixtureSnapshotCache cache = new FixtureSnapshotCache(directory, 1_024);
+        String key = FixtureSnapshotCache.key("large", 0, 1_000, 0L, "v1");
+
+        cache.write(key, fixtures("large", 1_000));
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertAll(
+                    () -> assertEquals(List.of(), files.toList(), "Слишком большой снимок не должен оставлять файлов"),
+                    () -> assertTrue(cache.read(key, null).isEmpty(), "Слишком большой снимок не должен читаться")
+            );
+        }
+    }
+
+    /**
+     * Проверяет, что снимок с классом вне списка разрешенных не десериализуется.
+     */
+    @Test
+    void shouldMissForSnapshotWithDisallowedClass(@TempDir Path directory) throws IOException {
+        FixtureSnapshotCache cache = new FixtureSnapshotCache(directory, Long.MAX_VALUE);
+        String key = FixtureSnapshotCache.key("links", 0, 1, 0L, "v1");
+
+        cache.write(key, List.of(new LinkFixture(URI.create("https://example.com"))));
+
+        assertAll(
+                () -> assertEquals(1, snapshots(directory).size(), "Снимок должен быть записан"),
+                () -> assertTrue(cache.read(key, getClass().getClassLoader()).isEmpty(),
+                        "Снимок с неразрешенным классом не должен читаться")
+        );
+    }
+
+    /**
+     * Проверяет чтение снимка с классом значения, загруженным загрузчиком классов данных фикстур.
+     */
+    @Test
+    void shouldReadSnapshotWithClassOfFixtureDataLoader(@TempDir Path directory) {
+        FixtureSnapshotCache cache = new FixtureSnapshotCache(directory, Long.MAX_VALUE);
+        String key = FixtureSnapshotCache.key("customers", 0, 1, 0L, "v1");
+        List<CustomerFixture> customers = List.of(new CustomerFixture("customer", new Address("city", "street")));
+
+        cache.write(key, customers);
+
+        assertEquals(Optional.of(customers), cache.read(key, getClass().getClassLoader()),
+                "Снимок с классом загрузчика данных должен читаться");
+    }
+
+    /**
+     * Проверяет чтение снимка с классом из настроенного списка разрешенных классов.
+     */
+    @Test
+    void shouldReadSnapshotWithAllowedClass(@TempDir Path directory) {
+        FixtureSnapshotCache cache = new FixtureSnapshotCache(directory, Long.MAX_VALUE, "java.net.URI");
+        String key = FixtureSnapshotCache.key("links", 0, 1, 0L, "v1");
+        List<LinkFixture> links = List.of(new LinkFixture(URI.create("https://example.com")));
+
+        cache.write(key, links);
+
+        assertEquals(Optional.of(links), cache.read(key, getClass().getClassLoader()),
+                "Снимок с разрешенным классом должен читаться");
+    }
+
+    private static List<TestFixture> fixtures(String name, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new TestFixture(name + "_" + i, "value_" + i))
+                .toList();
+    }
+
+    private static List<Path> snapshots(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".bin")).toList();
+        }
+    }
+
+    private record LinkFixture(URI uri) implements Fixture, Serializable {
+    }
+
+    private record CustomerFixture(String name, Address address) implements Fixture, Serializable {
+    }
+
+    private record Address(String city, String street) implements Serializable {
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.stasbykov.datapreparer.test.junit;
+
+import io.github.stasbykov.datapreparer.api.core.FixtureSavepoint;
+import io.github.stasbykov.datapreparer.api.core.FixtureLoader;
+import io.github.stasbykov.datapreparer.api.core.TransactionalFixtureDeleter;
+import io.github.stasbykov.datapreparer.test.junit.extension.fixture.TestFixture;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Транзакционное хранилище в памяти для проверки отката через {@link FixtureSavepoint}.
+ * Точки сохранения откатываются только в обратном порядке их создания, как в реляционных базах данных.
+ */
+class InMemoryTransactionalStore {
+    private final List<TestFixture> rows = new ArrayList<>();
+    private final Deque<Savepoint> savepoints = new ArrayDeque<>();
+    private int rollbackCount;
+
+    synchronized List<TestFixture> rows() {
+        return List.copyOf(rows);
+    }
+
+    synchronized int rollbackCount() {
+        return rollbackCount;
+    }
+
+    FixtureLoader<TestFixture> loader() {
+        return fixtures -> {
+            synchronized (this) {
+                rows.addAll(fixtures);
+            }
+            return fixtures;
+        };
+    }
+
+    TransactionalFixtureDeleter<TestFixture> deleter() {
+        return this::begin;
+    }
+
+    private synchronized FixtureSavepoint begin() {
+        Savepoint savepoint = new Savepoint(rows.size());
+        savepoints.push(savepoint);
+        return savepoint;
+    }
+
+    private final class Savepoint implements FixtureSavepoint {
+        private final int size;
+
+        private Savepoint(int size) {
+            this.size = size;
+        }
+
+        @Override
+        public void rollback() {
+            synchronized (InMemoryTransactionalStore.this) {
+                if (savepoints.peek() != this) {
+                    throw new IllegalStateException("Savepoint is not the last one");
+                }
+                savepoints.pop();
+                rows.subList(size, rows.size()).clear();
+                rollbackCount++;
+            }
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package io.github.stasbykov.datapreparer.test.junit;
+
+import io.github.stasbykov.datapreparer.api.annotation.Template;
+import io.github.stasbykov.datapreparer.api.core.FixtureBatch;
+import io.github.stasbykov.datapreparer.api.core.FixtureBatchCollection;
+import io.github.stasbykov.datapreparer.api.core.FixtureTemplate;
+import io.github.stasbykov.datapreparer.internal.jfr.FixtureEvents;
+import io.github.stasbykov.datapreparer.internal.junit.SharedFixturePool;
+import io.github.stasbykov.datapreparer.test.junit.extension.fixture.TestFixture;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Annotation;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовый класс для проверки работы {@link SharedFixturePool}.
+ */
+public class SharedFixturePoolTest {
+    private final static String SIGNATURE = "users:1";
+
+    private final AtomicInteger loadCount = new AtomicInteger();
+    private final AtomicInteger deleteCount = new AtomicInteger();
+    private final AtomicReference<String> deletedInTest = new AtomicReference<>();
+
+    /**
+     * Проверяет загрузку фикстур первым классом и удаление после освобождения последней ссылки.
+     */
+    @Test
+    void shouldLoadOnceAndDeleteAfterLastRelease() {
+        SharedFixturePool pool = new SharedFixturePool(Duration.ZERO);
+
+        SharedFixturePool.Lease first = pool.acquire(SIGNATURE, this::load);
+        SharedFixturePool.Lease second = pool.acquire(SIGNATURE, this::load);
+        first.close();
+        first.close();
+        int deletedBeforeLastRelease = deleteCount.get();
+        second.close();
+
+        assertAll(
+                () -> assertSame(first.fixtures(), second.fixtures(), "Фикстуры должны быть общими"),
+                () -> assertEquals(1, loadCount.get(), "Фикстуры должны загружаться один раз"),
+                () -> assertEquals(0, deletedBeforeLastRelease, "Фикстуры не должны удаляться, пока на них есть ссылки"),
+                () -> assertEquals(1, deleteCount.get(), "Фикстуры должны удаляться после освобождения последней ссылки")
+        );
+    }
+
+    /**
+     * Проверяет повторное использование фикстур в течение периода ожидания и удаление после него.
+     */
+    @Test
+    void shouldReuseFixturesWithinGracePeriod() throws InterruptedException {
+        SharedFixturePool pool = new SharedFixturePool(Duration.ofMillis(200));
+
+        pool.acquire(SIGNATURE, this::load).close();
+        pool.acquire(SIGNATURE, this::load).close();
+        int deletedWithinGracePeriod = deleteCount.get();
+        Thread.sleep(600);
+
+        assertAll(
+                () -> assertEquals(1, loadCount.get(), "Фикстуры должны использоваться повторно"),
+                () -> assertEquals(0, deletedWithinGracePeriod, "Фикстуры не должны удаляться в течение периода ожидания"),
+                () -> assertEquals(1, deleteCount.get(), "Фикстуры должны удаляться после периода ожидания")
+        );
+    }
+
+    /**
+     * Проверяет, что поток отложенного удаления не наследует тест, в котором он был создан.
+     */
+    @Test
+    void shouldNotInheritTestInSchedulerThread() throws InterruptedException {
+        SharedFixturePool pool = new SharedFixturePool(Duration.ofMillis(100));
+
+        FixtureEvents.inTest("SampleTest#test", () -> {
+            pool.acquire(SIGNATURE, this::load).close();
+            return null;
+        });
+        Thread.sleep(500);
+
+        assertAll(
+                () -> assertEquals(1, deleteCount.get(), "Фикстуры должны удаляться после периода ожидания"),
+                () -> assertEquals("", deletedInTest.get(), "Поток удаления не должен наследовать тест")
+        );
+    }
+
+    /**
+     * Проверяет удаление ожидающих фикстур при сбросе пула.
+     */
+    @Test
+    void shouldDeleteIdleFixturesOnFlush() {
+        SharedFixturePool pool = new SharedFixturePool(Duration.ofMinutes(1));
+
+        pool.acquire(SIGNATURE, this::load).close();
+        SharedFixturePool.Lease active = pool.acquire("orders:1", this::load);
+        pool.flush();
+
+        assertEquals(1, deleteCount.get(), "Должны удаляться только фикстуры без ссылок");
+        active.close();
+    }
+
+    /**
+     * Проверяет, что неудачная загрузка не сохраняется в пуле.
+     */
+    @Test
+    void shouldNotKeepFailedLoading() {
+        SharedFixturePool pool = new SharedFixturePool(Duration.ZERO);
+        Supplier<FixtureBatchCollection> failing = () -> {
+            throw new IllegalStateException("Loading failed");
+        };
+
+        assertThrows(IllegalStateException.class, () -> pool.acquire(SIGNATURE, failing));
+        pool.acquire(SIGNATURE, this::load).close();
+
+        assertEquals(1, loadCount.get(), "После ошибки фикстуры должны загружаться заново");
+    }
+
+    /**
+     * Проверяет, что сигнатура не зависит от порядка шаблонов.
+     */
+    @Test
+    void shouldBuildSignatureIndependentOfOrder() {
+        assertAll(
+                () -> assertEquals("orders:2,users:1",
+                        SharedFixturePool.signature(new Template[]{template("users", 1), template("orders", 2)})),
+                () -> assertEquals(SharedFixturePool.signature(new Template[]{template("orders", 2), template("users", 1)}),
+                        SharedFixturePool.signature(new Template[]{template("users", 1), template("orders", 2)}))
+        );
+    }
+
+    private FixtureBatchCollection load() {
+        loadCount.incrementAndGet();
+        FixtureTemplate<TestFixture> template = new FixtureTemplate<>("users", fixtures -> fixtures,
+                fixtures -> {
+                    deletedInTest.set(FixtureEvents.currentTest());
+                    deleteCount.incrementAndGet();
+                }, () -> new TestFixture("users", "users"));
+        return new FixtureBatchCollection(List.of(new FixtureBatch<>(template, List.of(new TestFixture("users", "users")))));
+    }
+
+    private static Template template(String name, int count) {
+        return new Template() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public int count() {
+                return count;
+            }
+
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return Template.class;
+            }
+        };
+    }
+}
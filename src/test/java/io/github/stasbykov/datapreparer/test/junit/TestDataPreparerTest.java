@@ -0,0 +1,821 @@
+package io.github.stasbykov.datapreparer.test.junit;
+
+import io.github.stasbykov.datapreparer.api.annotation.Template;
+import io.github.stasbykov.datapreparer.api.core.AsyncFixtureDeleter;
+import io.github.stasbykov.datapreparer.api.core.AsyncFixtureLoader;
+import io.github.stasbykov.datapreparer.api.core.Fixture;
+import io.github.stasbykov.datapreparer.api.core.FixtureBatch;
+import io.github.stasbykov.datapreparer.api.core.FixtureBatchCollection;
+import io.github.stasbykov.datapreparer.api.core.FixtureGenerator;
+import io.github.stasbykov.datapreparer.api.core.FixtureLoader;
+import io.github.stasbykov.datapreparer.api.core.FixtureRegistry;
+import io.github.stasbykov.datapreparer.api.core.FixtureTemplate;
+import io.github.stasbykov.datapreparer.api.core.SnapshotFixtureData;
+import io.github.stasbykov.datapreparer.api.core.StreamingFixtureLoader;
+import io.github.stasbykov.datapreparer.internal.core.FixtureHandler;
+import io.github.stasbykov.datapreparer.internal.jfr.FixtureDeleteEvent;
+import io.github.stasbykov.datapreparer.internal.jfr.FixtureEvents;
+import io.github.stasbykov.datapreparer.internal.jfr.FixtureGenerateEvent;
+import io.github.stasbykov.datapreparer.internal.jfr.FixtureLoadEvent;
+import io.github.stasbykov.datapreparer.internal.jfr.FixtureScanEvent;
+import io.github.stasbykov.datapreparer.internal.junit.FixtureMetrics;
+import io.github.stasbykov.datapreparer.internal.junit.FixtureSnapshotCache;
+import io.github.stasbykov.datapreparer.internal.junit.GenerationSettings;
+import io.github.stasbykov.datapreparer.internal.junit.PreparerSettings;
+import io.github.stasbykov.datapreparer.internal.junit.TemplateConcurrencyLimits;
+import io.github.stasbykov.datapreparer.internal.junit.TestDataPreparer;
+import io.github.stasbykov.datapreparer.internal.util.scanner.ClassScanner;
+import io.github.stasbykov.datapreparer.test.junit.extension.fixture.TestFixture;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Тестовый класс для проверки работы {@link TestDataPreparer}.
+ */
+public class TestDataPreparerTest {
+    /**
+     * Время загрузки одного шаблона в миллисекундах
+     */
+    private final static long LOAD_DELAY_MILLIS = 300;
+
+    /**
+     * Количество шаблонов в тестовом реестре
+     */
+    private final static int TEMPLATE_COUNT = 4;
+
+    /**
+     * Имя шаблона, загрузка которого завершается ошибкой
+     */
+    private final static String FAILING_TEMPLATE_NAME = "failing_template";
+
+    private final Queue<String> deletedTemplates = new ConcurrentLinkedQueue<>();
+    private final Queue<String> loadedTemplates = new ConcurrentLinkedQueue<>();
+    private final List<Integer> chunkSizes = new ArrayList<>();
+    private int generatedBeforeLoad;
+    private int maxGeneratedBeforeLoad;
+    private final AtomicInteger chunksInFlight = new AtomicInteger();
+    private final AtomicInteger maxChunksInFlight = new AtomicInteger();
+    private final AtomicInteger deletionsInFlight = new AtomicInteger();
+    private final AtomicInteger maxDeletionsInFlight = new AtomicInteger();
+    private final Queue<String> deletedAsync = new ConcurrentLinkedQueue<>();
+    private final InMemoryTransactionalStore transactionalStore = new InMemoryTransactionalStore();
+    private final Map<String, Thread> loadingThreads = new ConcurrentHashMap<>();
+    private final AtomicInteger limitedInFlight = new AtomicInteger();
+    private final AtomicInteger snapshotGenerations = new AtomicInteger();
+    private final AtomicInteger maxLimitedInFlight = new AtomicInteger();
+    private final Queue<Boolean> permitFreeWhileGenerating = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Проверяет параллельную загрузку шаблонов с сохранением объявленного порядка.
+     */
+    @Test
+    void shouldLoadTemplatesInParallelInDeclaredOrder() {
+        TestDataPreparer preparer = new TestDataPreparer(createHandler(), new PreparerSettings(true, TEMPLATE_COUNT));
+        Template[] templates = IntStream.range(0, TEMPLATE_COUNT)
+                .mapToObj(i -> template(templateName(i), i + 1))
+                .toArray(Template[]::new);
+
+        long start = System.nanoTime();
+        List<FixtureBatch<? extends Fixture>> batches = preparer.processTemplatesForLoading(templates);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertAll(
+                () -> assertEquals(IntStream.range(0, TEMPLATE_COUNT).mapToObj(TestDataPreparerTest::templateName).toList(),
+                        batches.stream().map(batch -> batch.template().name()).toList(), "Порядок пакетов не соответствует объявленному"),
+                () -> assertEquals(IntStream.rangeClosed(1, TEMPLATE_COUNT).boxed().toList(),
+                        batches.stream().map(batch -> batch.fixtures().size()).toList(), "Количество фикстур не соответствует ожидаемому"),
+                () -> assertEquals(TEMPLATE_COUNT, loadingThreads.values().stream().distinct().count(), "Шаблоны должны загружаться в разных потоках"),
+                () -> assertTrue(elapsedMillis < LOAD_DELAY_MILLIS * TEMPLATE_COUNT, "Загрузка не была параллельной: " + elapsedMillis + " мс")
+        );
+    }
+
+    /**
+     * Проверяет удаление загруженных пакетов при ошибке загрузки одного из шаблонов.
+     */
+    @Test
+    void shouldDeleteLoadedBatchesWhenTemplateFails() {
+        TestDataPreparer preparer = new TestDataPreparer(createHandler(), new PreparerSettings(true, TEMPLATE_COUNT));
+        Template[] templates = {template(templateName(0), 1), template(FAILING_TEMPLATE_NAME, 1), template(templateName(1), 1)};
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> preparer.processTemplatesForLoading(templates));
+
+        assertAll(
+                () -> assertEquals("Loading failed", thrown.getMessage()),
+                () -> assertEquals(List.of(templateName(0), templateName(1)), deletedTemplates.stream().sorted().toList(),
+                        "Загруженные пакеты должны быть удалены")
+        );
+    }
+
+    /**
+     * Проверяет, что ошибка удаления загруженных пакетов добавляется к ошибке загрузки шаблона.
+     */
+    @Test
+    void shouldSuppressDeletionErrorWhenTemplateFails() {
+        TestDataPreparer preparer = new TestDataPreparer(createHandler(), PreparerSettings.defaults());
+        Template[] templates = {template("deletion_failing", 1), template(FAILING_TEMPLATE_NAME, 1)};
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> preparer.processTemplatesForLoading(templates));
+
+        assertAll(
+                () -> assertEquals("Loading failed", thrown.getMessage()),
+                () -> assertTrue(Arrays.stream(thrown.getSuppressed()).anyMatch(AssertionError.class::isInstance),
+                        "Ошибка удаления должна быть добавлена к ошибке загрузки")
+        );
+    }
+
+    /**
+     * Проверяет удаление завершенных пакетов и восстановление флага прерывания при прерывании параллельной загрузки.
+     */
+    @Test
+    void shouldDeleteCompletedBatchesWhenLoadingIsInterrupted() throws InterruptedException {
+        TestDataPreparer preparer = new TestDataPreparer(createHandler(), new PreparerSettings(true, TEMPLATE_COUNT));
+        Template[] templates = IntStream.range(0, TEMPLATE_COUNT)
+                .mapToObj(i -> template(templateName(i), 1))
+                .toArray(Template[]::new);
+        AtomicReference<RuntimeException> thrown = new AtomicReference<>();
+        AtomicBoolean interrupted = new AtomicBoolean();
+
+        Thread loading = Thread.ofPlatform().start(() -> {
+            try {
+                preparer.processTemplatesForLoading(templates);
+            } catch (RuntimeException e) {
+                thrown.set(e);
+            }
+            interrupted.set(Thread.currentThread().isInterrupted());
+        });
+        TimeUnit.MILLISECONDS.sleep(LOAD_DELAY_MILLIS / 3);
+        loading.interrupt();
+        loading.join();
+
+        assertAll(
+                () -> assertInstanceOf(InterruptedException.class, thrown.get().getCause(), "Ошибка должна быть вызвана прерыванием"),
+                () -> assertTrue(interrupted.get(), "Флаг прерывания должен быть восстановлен"),
+                () -> assertEquals(IntStream.range(0, TEMPLATE_COUNT).mapToObj(TestDataPreparerTest::templateName).toList(),
+                        deletedTemplates.stream().sorted().toList(), "Завершенные пакеты должны быть удалены")
+        );
+    }
+
+    /**
+     * Проверяет загрузку шаблонов после их зависимостей и удаление в обратном порядке.
+     */
+    @Test
+    void shouldLoadTemplatesAfterDependencies() {
+        TestDataPreparer preparer = new TestDataPreparer(createHandler(), new PreparerSettings(true, TEMPLATE_COUNT));
+        Template[] templates = {template("orders", 1), template("products", 1), template("users", 1)};
+
+        List<FixtureBatch<? extends Fixture>> batches = preparer.processTemplatesForLoading(templates);
+        List<String> loadOrder = List.copyOf(loadedTemplates);
+        TestDataPreparer.processTemplatesForDeletion(batches);
+        List<String> deleteOrder = List.copyOf(deletedTemplates);
+
+        assertAll(
+                () -> assertEquals(List.of("orders", "products", "users"),
+                        batches.stream().map(batch -> batch.template().name()).toList(), "Порядок пакетов не соответствует объявленному"),
+                () -> assertTrue(loadOrder.indexOf("users") < loadOrder.indexOf("orders"), "Пользователи должны загружаться раньше заказов: " + loadOrder),
+                () -> assertTrue(loadOrder.indexOf("products") < loadOrder.indexOf("orders"), "Товары должны загружаться раньше заказов: " + loadOrder),
+                () -> assertEquals("orders", deleteOrder.get(0), "Заказы должны удаляться первыми: " + deleteOrder)
+        );
+    }
+
+    /**
+     * Проверяет ошибку при циклической зависимости шаблонов.
+     */
+    @Test
+    void shouldFailOnCyclicDependencies() {
+        TestDataPreparer preparer = new TestDataPreparer(createHandler(), PreparerSettings.defaults());
+        Template[] templates = {template("cycle_a", 1), template("cycle_b", 1), template("users", 1)};
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> preparer.processTemplatesForLoading(templates));
+
+        assertAll(
+                () -> assertEquals("Cyclic dependency between fixture templates: [cycle_a, cycle_b]", thrown.getMessage()),
+                () -> assertTrue(loadedTemplates.isEmpty(), "Шаблоны не должны загружаться при циклической зависимости")
+        );
+    }
+
+    /**
+     * Проверяет загрузку шаблона частями с ленивой генерацией фикстур.
+     */
+    @Test
+    void shouldLoadTemplateInChunks() {
+        TestDataPreparer preparer = new TestDataPreparer(createHandler(), PreparerSettings.defaults());
+
+        List<FixtureBatch<? extends Fixture>> batches = preparer.processTemplatesForLoading(new Template[]{template("streaming", 10)});
+
+        assertAll(
+                () -> assertEquals(List.of(3, 3, 3, 1), chunkSizes, "Размеры частей не соответствуют ожидаемым"),
+                () -> assertEquals(3, maxGeneratedBeforeLoad, "Фикстуры должны генерироваться по одной части"),
+                () -> assertEquals(4, batches.getFirst().fixtures().size(), "Пакет должен содержать только результат загрузчика")
+        );
+    }
+
+    /**
+     * Проверяет, что пакет хранит результаты частей и удаляется по частям.
+     */
+    @Test
+    void shouldDeleteTemplateChunkByChunk() {
+        TestDataPreparer preparer = new TestDataPreparer(createHandler(), PreparerSettings.defaults());
+        List<FixtureBatch<? extends Fixture>> batches = preparer.processTemplatesForLoading(new Template[]{template("streaming", 10)});
+
+        TestDataPreparer.processTemplatesForDeletion(batches);
+
+        assertAll(
+                () -> assertEquals(4, batches.getFirst().fixtures().size(), "Пакет должен содержать результаты всех частей"),
+                () -> assertEquals(List.of("streaming", "streaming", "streaming", "streaming"), List.copyOf(deletedTemplates),
+                        "Каждая часть должна удаляться отдельным вызовом")
+        );
+    }
+
+    /**
+     * Проверяет удаление загруженных частей при ошибке загрузки следующей части.
+     */
+    @Test
+    void shouldDeleteLoadedChunksWhenChunkFails() {
+        TestDataPreparer preparer = new TestDataPreparer(createHandler(), PreparerSettings.defaults());
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> preparer.processTemplatesForLoading(new Template[]{template("streaming_failing", 10)}));
+
+        assertAll(
+                () -> assertEquals("Chunk loading failed", thrown.getMessage()),
+                () -> assertEquals(List.of("streaming_failing"), List.copyOf(deletedTemplates), "Загруженные части должны быть удалены")
+        );
+    }
+
+    /**
+     * Проверяет, что ошибка удаления загруженных частей добавляется к ошибке загрузки.
+     */
+    @Test
+    void shouldSuppressDeletionErrorOfLoadedChunks() {
+        TestDataPreparer preparer = new TestDataPreparer(createHandler(), PreparerSettings.defaults());
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> preparer.processTemplatesForLoading(new Template[]{template("streaming_deletion_failing", 10)}));
+
+        assertAll(
+                () -> assertEquals("Chunk loading failed", thrown.getMessage()),
+                () -> assertTrue(Arrays.stream(thrown.getSuppressed()).anyMatch(AssertionError.class::isInstance),
+                        "Ошибка удаления должна быть добавлена к ошибке загрузки")
+        );
+    }
+
+    /**
+     * Проверяет, что результат параллельной генерации совпадает с последовательной и не зависит от числа потоков.
+     */
+    @Test
+    void shouldGenerateSameFixturesRegardlessOfThreads() {
+        Template[] templates = {template("generated", 5_000)};
+        TestDataPreparer sequential = new TestDataPreparer(createHandler(), new PreparerSettings(false, 1, 5_000, 1, 1,
+                new GenerationSettings(42L, 10_000, 0)));
+        TestDataPreparer parallel = new TestDataPreparer(createHandler(), new PreparerSettings(false, 1, 5_000, 1, 1,
+                new GenerationSettings(42L, 1, 4)));
+        TestDataPreparer otherSeed = new TestDataPreparer(createHandler(), new PreparerSettings(false, 1, 5_000, 1, 1,
+                new GenerationSettings(7L, 1, 2)));
+
+        List<? extends Fixture> expected = sequential.processTemplatesForLoading(templates).getFirst().fixtures();
+        List<? extends Fixture> actual = parallel.processTemplatesForLoading(templates).getFirst().fixtures();
+        List<? extends Fixture> other = otherSeed.processTemplatesForLoading(templates).getFirst().fixtures();
+
+        assertAll(
+                () -> assertEquals(5_000, expected.size(), "Количество фикстур не соответствует ожидаемому"),
+                () -> assertEquals("generated_4999", ((TestFixture) expected.getLast()).name(), "Фикстуры должны идти в порядке индексов"),
+                () -> assertEquals(expected, actual, "Результат генерации зависит от числа потоков"),
+                () -> assertNotEquals(expected, other, "Результат генерации должен зависеть от зерна")
+        );
+    }
+
+    /**
+     * Проверяет конвейерную загрузку частей асинхронным загрузчиком с ограничением глубины конвейера.
+     */
+    @Test
+    void shouldPipelineChunksOfAsyncLoader() {
+        TestDataPreparer preparer = new TestDataPreparer(createHandler(), new PreparerSettings(false, 1, 1, 2, 1,
+                GenerationSettings.defaults()));
+
+        List<FixtureBatch<? extends Fixture>> batches = preparer.processTemplatesForLoadingAsync(new Template[]{template("async", 6)}).join();
+
+        assertAll(
+                () -> assertEquals(2, maxChunksInFlight.get(), "Одновременно должно загружаться не больше двух частей"),
+                () -> assertEquals(IntStream.range(0, 6).mapToObj(i -> "async_" + i).toList(),
+                        batches.getFirst().fixtures().stream().map(fixture -> ((TestFixture) fixture).name()).toList(),
+                        "Порядок фикстур не соответствует порядку частей")
+        );
+    }
+
+    /**
+     * Проверяет конвейерное удаление частей асинхронным удалителем с ограничением глубины конвейера.
+     */
+    @Test
+    void shouldPipelineChunksOfAsyncDeleter() {
+        TestDataPreparer preparer = new TestDataPreparer(createHandler(), new PreparerSettings(false, 1, 1, 2, 1,
+                GenerationSettings.defaults()));
+        List<FixtureBatch<? extends Fixture>> batches = preparer.processTemplatesForLoading(new Template[]{template("async", 6)});
+
+        TestDataPreparer.processTemplatesForDeletion(batches);
+
+        assertAll(
+                () -> assertEquals(IntStream.range(0, 6).mapToObj(i -> "async_" + i).sorted().toList(),
+                        deletedAsync.stream().sorted().toList(), "Каждая часть должна быть удалена"),
+                () -> assertEquals(PreparerSettings.DEFAULT_PIPELINE_DEPTH, maxDeletionsInFlight.get(),
+                        "Одновременно должно удаляться не больше частей, чем глубина конвейера")
+        );
+    }
+
+    /**
+     * Проверяет объединение пакетов одного шаблона в один вызов удаления.
+     */
+    @Test
+    void shouldDeleteBatchesOfSameTemplateInOneCall() throws Exception {
+        List<List<TestFixture>> deleteCalls = new CopyOnWriteArrayList<>();
+        FixtureTemplate<TestFixture> users = new FixtureTemplate<>("users", fixtures -> fixtures, deleteCalls::add,
+                () -> new TestFixture("users", "users"));
+        TestFixture first = new TestFixture("user_1", "users");
+        TestFixture second = new TestFixture("user_2", "users");
+
+        new FixtureBatchCollection(List.of(new FixtureBatch<>(users, List.of(first)), new FixtureBatch<>(users, List.of(second)))).close();
+
+        assertEquals(List.of(List.of(first, second)), deleteCalls, "Пакеты одного шаблона должны удаляться одним вызовом");
+    }
+
+    /**
+     * Проверяет удаление всех пакетов и сбор всех ошибок удаления.
+     */
+    @Test
+    void shouldAggregateDeletionFailures() {
+        List<FixtureBatch<? extends Fixture>> batches = List.of(
+                failingDeletionBatch("first"),
+                new FixtureBatch<>(dependentTemplate("users"), List.of(new TestFixture("users", "users"))),
+                failingDeletionBatch("second"));
+
+        IllegalStateException thrown = assertThrows(IllegalStateException.class, () -> TestDataPreparer.processTemplatesForDeletion(batches));
+
+        assertAll(
+                () -> assertEquals(List.of("users"), List.copyOf(deletedTemplates), "Остальные пакеты должны быть удалены"),
+                () -> assertEquals(List.of("Deletion of first failed", "Deletion of second failed"),
+                        Stream.concat(Stream.of(thrown), Arrays.stream(thrown.getSuppressed())).map(Throwable::getMessage).sorted().toList(),
+                        "Все ошибки удаления должны быть собраны")
+        );
+    }
+
+    /**
+     * Проверяет ленивую загрузку: шаблон загружается вместе с зависимостями только при первом запросе.
+     */
+    @Test
+    void shouldLoadTemplatesLazily() throws Exception {
+        TestDataPreparer preparer = new TestDataPreparer(createHandler(), PreparerSettings.defaults());
+        Template[] templates = {template("users", 1), template("products", 1), template("orders", 1), template(templateName(0), 1)};
+
+        FixtureBatchCollection collection = preparer.processTemplatesLazily(templates);
+        List<String> loadedBeforeGet = List.copyOf(loadedTemplates);
+        List<TestFixture> orders = collection.get("orders", TestFixture.class);
+        List<TestFixture> users = collection.get("users", TestFixture.class);
+        List<String> loadOrder = List.copyOf(loadedTemplates);
+        collection.close();
+
+        assertAll(
+                () -> assertTrue(loadedBeforeGet.isEmpty(), "До запроса фикстуры не должны загружаться"),
+                () -> assertEquals(1, orders.size()),
+                () -> assertEquals(1, users.size()),
+                () -> assertEquals(3, loadOrder.size(), "Каждый шаблон должен загружаться один раз: " + loadOrder),
+                () -> assertEquals("orders", loadOrder.getLast(), "Зависимости должны загружаться раньше заказов: " + loadOrder),
+                () -> assertFalse(loadingThreads.containsKey(templateName(0)), "Незапрошенный шаблон не должен загружаться"),
+                () -> assertEquals(3, collection.batches().size(), "Коллекция должна содержать только загруженные пакеты"),
+                () -> assertEquals(Set.of("users", "products", "orders"), Set.copyOf(deletedTemplates), "Удаляться должны только загруженные пакеты"),
+                () -> assertThrows(IllegalStateException.class, () -> collection.get(templateName(0), TestFixture.class), "После закрытия загрузка невозможна")
+        );
+    }
+
+    /**
+     * Проверяет удаление лениво загруженных пакетов в порядке, обратном загрузке.
+     */
+    @Test
+    void shouldDeleteLazyBatchesInReverseLoadingOrder() throws Exception {
+        TestDataPreparer preparer = new TestDataPreparer(createHandler(), PreparerSettings.defaults());
+        Template[] templates = {template("users", 1), template("products", 1), template("orders", 1)};
+
+        FixtureBatchCollection collection = preparer.processTemplatesLazily(templates);
+        collection.get("users", TestFixture.class);
+        collection.get("orders", TestFixture.class);
+        collection.close();
+
+        List<String> deleteOrder = List.copyOf(deletedTemplates);
+        assertAll(
+                () -> assertEquals("users", deleteOrder.getLast(), "Первый загруженный шаблон должен удаляться последним: " + deleteOrder),
+                () -> assertEquals("orders", deleteOrder.getFirst(), "Заказы должны удаляться раньше своих зависимостей: " + deleteOrder)
+        );
+    }
+
+    /**
+     * Проверяет запись событий JFR о сканировании, генерации, загрузке и удалении фикстур.
+     */
+    @Test
+    void shouldEmitFlightRecorderEvents(@TempDir Path directory) throws IOException {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            Stream.of(FixtureScanEvent.NAME, FixtureGenerateEvent.NAME, FixtureLoadEvent.NAME, FixtureDeleteEvent.NAME)
+                    .forEach(name -> recording.enable(name).withoutThreshold());
+            recording.start();
+
+            TestDataPreparer preparer = new TestDataPreparer(createHandler(), PreparerSettings.defaults());
+            FixtureEvents.inTest("SampleTest#test", () -> {
+                TestDataPreparer.processTemplatesForDeletion(preparer.processTemplatesForLoading(new Template[]{template("jfr", 2)}));
+                return null;
+            });
+            assertThrows(IllegalStateException.class,
+                    () -> preparer.processTemplatesForLoading(new Template[]{template(FAILING_TEMPLATE_NAME, 1)}));
+
+            recording.stop();
+            Path file = directory.resolve("fixtures.jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        }
+
+        RecordedEvent generation = event(events, FixtureGenerateEvent.NAME, "jfr");
+        RecordedEvent loading = event(events, FixtureLoadEvent.NAME, "jfr");
+        RecordedEvent deletion = event(events, FixtureDeleteEvent.NAME, "jfr");
+        RecordedEvent failedLoading = event(events, FixtureLoadEvent.NAME, FAILING_TEMPLATE_NAME);
+        assertAll(
+                () -> assertTrue(events.stream().anyMatch(item -> item.getEventType().getName().equals(FixtureScanEvent.NAME)), "Событие сканирования должно быть записано"),
+                () -> assertEquals(2, generation.getInt("count"), "Событие генерации должно содержать количество"),
+                () -> assertEquals("SampleTest#test", loading.getString("test"), "Событие загрузки должно содержать тест"),
+                () -> assertEquals("success", loading.getString("outcome"), "Загрузка должна быть успешной"),
+                () -> assertEquals(2, deletion.getInt("count"), "Событие удаления должно содержать количество"),
+                () -> assertEquals("SampleTest#test", deletion.getString("test"), "Событие удаления должно содержать тест"),
+                () -> assertEquals("failure: " + IllegalStateException.class.getName(), failedLoading.getString("outcome"), "Ошибка загрузки должна быть записана")
+        );
+    }
+
+    /**
+     * Проверяет учет загрузки и удаления шаблона в общих метриках.
+     */
+    @Test
+    void shouldRecordMetricsOfLoadingAndDeletion() {
+        FixtureMetrics metrics = new FixtureMetrics();
+        TestDataPreparer preparer = new TestDataPreparer(createHandler(), PreparerSettings.defaults(),
+                FixtureSnapshotCache.shared(), TemplateConcurrencyLimits.shared(), metrics);
+        Template[] templates = {template("metrics", 3)};
+
+        preparer.deleteTemplates(preparer.processTemplatesForLoading(templates));
+
+        FixtureMetrics.TemplateSummary summary = metrics.summary().stream()
+                .filter(item -> item.template().equals("metrics"))
+                .findFirst()
+                .orElseThrow();
+        assertAll(
+                () -> assertEquals(1, summary.loads(), "Загрузка должна быть учтена"),
+                () -> assertEquals(3, summary.loaded(), "Загруженные фикстуры должны быть учтены"),
+                () -> assertEquals(1, summary.deletions(), "Удаление должно быть учтено"),
+                () -> assertEquals(3, summary.deleted(), "Удаленные фикстуры должны быть учтены")
+        );
+    }
+
+    /**
+     * Проверяет очистку транзакционных шаблонов откатом точек сохранения в обратном порядке.
+     */
+    @Test
+    void shouldRollbackSavepointsInReverseOrder() {
+        TestDataPreparer preparer = new TestDataPreparer(createHandler(), PreparerSettings.defaults());
+        Template[] templates = {template("tx_users", 2), template("tx_orders", 3), template("tx_products", 1)};
+
+        List<FixtureBatch<? extends Fixture>> batches = preparer.processTemplatesForLoading(templates);
+        int loadedRows = transactionalStore.rows().size();
+        TestDataPreparer.processTemplatesForDeletion(batches);
+
+        assertAll(
+                () -> assertEquals(6, loadedRows, "Все фикстуры должны быть загружены"),
+                () -> assertTrue(batches.stream().allMatch(batch -> batch.savepoint() != null), "Пакеты должны содержать точку сохранения"),
+                () -> assertTrue(transactionalStore.rows().isEmpty(), "Фикстуры должны быть удалены откатом"),
+                () -> assertEquals(3, transactionalStore.rollbackCount(), "Каждая точка сохранения должна быть откачена")
+        );
+    }
+
+    /**
+     * Проверяет откат точек сохранения при ошибке загрузки транзакционного шаблона.
+     */
+    @Test
+    void shouldRollbackSavepointsWhenTemplateFails() {
+        TestDataPreparer preparer = new TestDataPreparer(createHandler(), PreparerSettings.defaults());
+        Template[] templates = {template("tx_users", 2), template("tx_failing", 1)};
+
+        assertThrows(IllegalStateException.class, () -> preparer.processTemplatesForLoading(templates));
+
+        assertAll(
+                () -> assertTrue(transactionalStore.rows().isEmpty(), "Загруженные фикстуры должны быть удалены откатом"),
+                () -> assertEquals(2, transactionalStore.rollbackCount(), "Точка сохранения неудачного шаблона тоже должна быть откачена")
+        );
+    }
+
+    /**
+     * Проверяет ограничение числа одновременных загрузок и удалений шаблона и учет времени ожидания.
+     */
+    @Test
+    void shouldLimitConcurrentOperationsOfTemplate() {
+        FixtureMetrics metrics = new FixtureMetrics();
+        TestDataPreparer preparer = new TestDataPreparer(createHandler(), PreparerSettings.defaults(),
+                FixtureSnapshotCache.shared(), new TemplateConcurrencyLimits(metrics), metrics);
+        Template[] templates = {template("limited", 1)};
+
+        List<CompletableFuture<Void>> tests = IntStream.range(0, 4)
+                .mapToObj(i -> CompletableFuture.runAsync(() -> preparer.deleteTemplates(
+                        preparer.processTemplatesForLoading(templates))))
+                .toList();
+        tests.forEach(CompletableFuture::join);
+
+        FixtureMetrics.TemplateSummary summary = metrics.summary().stream()
+                .filter(item -> item.template().equals("limited"))
+                .findFirst()
+                .orElseThrow();
+        assertAll(
+                () -> assertEquals(1, maxLimitedInFlight.get(), "Шаблон не должен обрабатываться параллельно сверх ограничения"),
+                () -> assertEquals(8, summary.waits(), "Каждая загрузка и удаление должны получить разрешение"),
+                () -> assertTrue(summary.maxWaitNanos() > 0, "Время ожидания должно быть учтено"),
+                () -> assertThrows(IllegalArgumentException.class, () -> fixtureTemplate("negative", false).withMaxConcurrency(-1))
+        );
+    }
+
+    /**
+     * Проверяет, что разрешение шаблона с ограничением не удерживается во время генерации фикстур.
+     */
+    @Test
+    void shouldNotHoldPermitWhileGenerating() {
+        TestDataPreparer preparer = new TestDataPreparer(createHandler(), new PreparerSettings(false, 1, 1, 1, 1,
+                GenerationSettings.defaults()));
+
+        TestDataPreparer.processTemplatesForDeletion(preparer.processTemplatesForLoading(new Template[]{template("limited_generation", 3)}));
+
+        assertAll(
+                () -> assertEquals(3, permitFreeWhileGenerating.size(), "Каждая фикстура должна быть сгенерирована"),
+                () -> assertFalse(permitFreeWhileGenerating.contains(false), "Разрешение не должно удерживаться во время генерации")
+        );
+    }
+
+    /**
+     * Проверяет повторное использование снимка сгенерированных фикстур вместо генерации.
+     */
+    @Test
+    void shouldReadGeneratedFixturesFromSnapshot(@TempDir Path directory) {
+        FixtureSnapshotCache cache = new FixtureSnapshotCache(directory, Long.MAX_VALUE);
+        Template[] templates = {template("snapshot", 5)};
+
+        List<FixtureBatch<? extends Fixture>> generated = new TestDataPreparer(createHandler(), PreparerSettings.defaults(), cache)
+                .processTemplatesForLoading(templates);
+        List<FixtureBatch<? extends Fixture>> cached = new TestDataPreparer(createHandler(), PreparerSettings.defaults(), cache)
+                .processTemplatesForLoading(templates);
+
+        assertAll(
+                () -> assertEquals(5, snapshotGenerations.get(), "Фикстуры должны быть сгенерированы только при первой загрузке"),
+                () -> assertEquals(generated.getFirst().fixtures(), cached.getFirst().fixtures(), "Фикстуры из снимка должны совпадать со сгенерированными")
+        );
+    }
+
+    private FixtureHandler createHandler() {
+        FixtureRegistry<TestFixture> registry = () -> {
+            List<FixtureTemplate<TestFixture>> templates = new ArrayList<>(IntStream.range(0, TEMPLATE_COUNT)
+                    .mapToObj(i -> fixtureTemplate(templateName(i), false))
+                    .toList());
+            templates.add(fixtureTemplate(FAILING_TEMPLATE_NAME, true));
+            templates.add(dependentTemplate("users"));
+            templates.add(dependentTemplate("products"));
+            templates.add(dependentTemplate("orders", "users", "products"));
+            templates.add(dependentTemplate("cycle_a", "cycle_b"));
+            templates.add(dependentTemplate("cycle_b", "cycle_a"));
+            templates.add(new FixtureTemplate<>("deletion_failing", fixtures -> fixtures,
+                    fixtures -> {
+                        throw new AssertionError("Deletion failed");
+                    },
+                    () -> new TestFixture("deletion_failing", "deletion_failing")));
+            templates.add(streamingTemplate("streaming", false));
+            templates.add(streamingTemplate("streaming_failing", true));
+            templates.add(new FixtureTemplate<>("streaming_deletion_failing",
+                    streamingTemplate("streaming_deletion_failing", true).loader(),
+                    fixtures -> {
+                        throw new AssertionError("Deletion failed");
+                    },
+                    () -> new TestFixture("streaming_deletion_failing", "streaming_deletion_failing")));
+            FixtureGenerator<TestFixture> generator = (index, seed) -> new TestFixture("generated_" + index, Long.toString(seed));
+            templates.add(new FixtureTemplate<>("generated", fixtures -> fixtures, fixtures -> {}, generator));
+            templates.add(asyncTemplate());
+            templates.add(new FixtureTemplate<>("jfr", fixtures -> fixtures, fixtures -> {}, () -> new TestFixture("jfr", "jfr")));
+            templates.add(new FixtureTemplate<>("metrics", fixtures -> fixtures, fixtures -> {}, () -> new TestFixture("metrics", "metrics")));
+            templates.add(transactionalTemplate("tx_users", false));
+            templates.add(transactionalTemplate("tx_orders", false));
+            templates.add(transactionalTemplate("tx_products", false));
+            templates.add(transactionalTemplate("tx_failing", true));
+            templates.add(limitedTemplate());
+            templates.add(limitedGenerationTemplate());
+            templates.add(new FixtureTemplate<>("snapshot", fixtures -> fixtures, fixtures -> {}, new SnapshotFixtureData<>("v1",
+                    () -> new TestFixture("snapshot", Integer.toString(snapshotGenerations.incrementAndGet())))));
+            return templates;
+        };
+        ClassScanner scanner = new ClassScanner() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> List<T> findAndInstantiate(Class<T> interfaceClass, String packageName) {
+                return (List<T>) List.of(registry);
+            }
+        };
+        return new FixtureHandler(scanner);
+    }
+
+    private FixtureTemplate<TestFixture> fixtureTemplate(String name, boolean failing) {
+        return new FixtureTemplate<>(
+                name,
+                fixtures -> {
+                    loadingThreads.put(name, Thread.currentThread());
+                    sleep();
+                    if (failing) {
+                        throw new IllegalStateException("Loading failed");
+                    }
+                    return fixtures;
+                },
+                fixtures -> deletedTemplates.add(name),
+                () -> new TestFixture(name, name));
+    }
+
+    private FixtureTemplate<TestFixture> limitedTemplate() {
+        return new FixtureTemplate<TestFixture>(
+                "limited",
+                fixtures -> {
+                    trackLimited();
+                    return fixtures;
+                },
+                fixtures -> trackLimited(),
+                () -> new TestFixture("limited", "limited"))
+                .withMaxConcurrency(1);
+    }
+
+    private FixtureTemplate<TestFixture> limitedGenerationTemplate() {
+        FixtureTemplate<TestFixture> limited = new FixtureTemplate<TestFixture>("limited_generation",
+                fixtures -> fixtures, fixtures -> {}, () -> null)
+                .withMaxConcurrency(1);
+        return new FixtureTemplate<TestFixture>(
+                "limited_generation",
+                fixtures -> fixtures,
+                fixtures -> {},
+                () -> {
+                    permitFreeWhileGenerating.add(CompletableFuture
+                            .supplyAsync(() -> {
+                                TemplateConcurrencyLimits.shared().acquire(limited, "load").close();
+                                return true;
+                            })
+                            .completeOnTimeout(false, 1, TimeUnit.SECONDS)
+                            .join());
+                    return new TestFixture("limited_generation", "limited_generation");
+                })
+                .withMaxConcurrency(1);
+    }
+
+    private void trackLimited() {
+        maxLimitedInFlight.accumulateAndGet(limitedInFlight.incrementAndGet(), Math::max);
+        try {
+            TimeUnit.MILLISECONDS.sleep(50);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            limitedInFlight.decrementAndGet();
+        }
+    }
+
+    private FixtureTemplate<TestFixture> dependentTemplate(String name, String... dependencies) {
+        return new FixtureTemplate<>(
+                name,
+                fixtures -> {
+                    loadedTemplates.add(name);
+                    return fixtures;
+                },
+                fixtures -> deletedTemplates.add(name),
+                () -> new TestFixture(name, name),
+                List.of(dependencies));
+    }
+
+    private FixtureTemplate<TestFixture> streamingTemplate(String name, boolean failing) {
+        StreamingFixtureLoader<TestFixture> loader = new StreamingFixtureLoader<>() {
+            @Override
+            public List<TestFixture> loadChunk(List<TestFixture> chunk) {
+                if (failing && !chunkSizes.isEmpty()) {
+                    throw new IllegalStateException("Chunk loading failed");
+                }
+                chunkSizes.add(chunk.size());
+                maxGeneratedBeforeLoad = Math.max(maxGeneratedBeforeLoad, generatedBeforeLoad);
+                generatedBeforeLoad = 0;
+                return chunk.subList(0, 1);
+            }
+
+            @Override
+            public int chunkSize() {
+                return 3;
+            }
+        };
+        return new FixtureTemplate<>(
+                name,
+                loader,
+                fixtures -> deletedTemplates.add(name),
+                () -> {
+                    generatedBeforeLoad++;
+                    return new TestFixture(name, name);
+                });
+    }
+
+    private FixtureTemplate<TestFixture> asyncTemplate() {
+        AsyncFixtureLoader<TestFixture> loader = chunk -> {
+            maxChunksInFlight.accumulateAndGet(chunksInFlight.incrementAndGet(), Math::max);
+            return CompletableFuture.supplyAsync(() -> {
+                chunksInFlight.decrementAndGet();
+                return chunk;
+            }, CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+        };
+        AsyncFixtureDeleter<TestFixture> deleter = chunk -> {
+            maxDeletionsInFlight.accumulateAndGet(deletionsInFlight.incrementAndGet(), Math::max);
+            return CompletableFuture.runAsync(() -> {
+                chunk.forEach(fixture -> deletedAsync.add(fixture.name()));
+                deletionsInFlight.decrementAndGet();
+            }, CompletableFuture.delayedExecutor(50, TimeUnit.MILLISECONDS));
+        };
+        FixtureGenerator<TestFixture> generator = (index, seed) -> new TestFixture("async_" + index, "async");
+        return new FixtureTemplate<>("async", loader, deleter, generator);
+    }
+
+    private static FixtureBatch<TestFixture> failingDeletionBatch(String name) {
+        FixtureTemplate<TestFixture> template = new FixtureTemplate<>(name, fixtures -> fixtures,
+                fixtures -> {
+                    throw new IllegalStateException("Deletion of " + name + " failed");
+                },
+                () -> new TestFixture(name, name));
+        return new FixtureBatch<>(template, List.of(new TestFixture(name, name)));
+    }
+
+    private FixtureTemplate<TestFixture> transactionalTemplate(String name, boolean failing) {
+        FixtureLoader<TestFixture> loader = fixtures -> {
+            List<TestFixture> loaded = transactionalStore.loader().load(fixtures);
+            if (failing) {
+                throw new IllegalStateException("Loading failed");
+            }
+            return loaded;
+        };
+        return new FixtureTemplate<>(name, loader, transactionalStore.deleter(), () -> new TestFixture(name, name));
+    }
+
+    private static String templateName(int index) {
+        return "parallel_template_" + index;
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(LOAD_DELAY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static RecordedEvent event(List<RecordedEvent> events, String eventName, String templateName) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals(eventName))
+                .filter(event -> templateName.equals(event.getString("template")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Event " + eventName + " of " + templateName + " is not recorded"));
+    }
+
+    private static Template template(String name, int count) {
+        return new Template() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public int count() {
+                return count;
+            }
+
+            @Override
+            public Class<? extends Annotation> annotationType() {
+                return Template.class;
+            }
+        };
+    }
+}
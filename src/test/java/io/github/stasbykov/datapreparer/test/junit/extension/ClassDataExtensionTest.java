@@ -4,6 +4,7 @@ import io.github.stasbykov.datapreparer.api.annotation.ClassDataSetup;
 import io.github.stasbykov.datapreparer.api.annotation.FixtureInject;
 import io.github.stasbykov.datapreparer.api.annotation.Template;
 import io.github.stasbykov.datapreparer.api.core.FixtureBatchCollection;
+import io.github.stasbykov.datapreparer.internal.junit.ClassPreparationPlan;
 import io.github.stasbykov.datapreparer.test.junit.extension.fixture.TestFixture;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.Timeout;
@@ -17,6 +18,8 @@ import static io.github.stasbykov.datapreparer.test.junit.extension.BaseTest.*;
 import static io.github.stasbykov.datapreparer.test.junit.extension.ClassDataExtensionTest.TEN_FIXTURES;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
 
 public class ClassDataExtensionTest extends BaseTest {
@@ -57,6 +60,26 @@ public class ClassDataExtensionTest extends BaseTest {
                 "The name parameter of the @Template annotation cannot be null or empty.");
     }
 
+    @Test
+    void shouldInjectToInheritedField() {
+        EngineTestKit
+                .engine("junit-jupiter")
+                .selectors(selectClass(InheritedInjectClassDataSpec.class))
+                .execute()
+                .testEvents()
+                .assertStatistics(stats ->
+                        stats.started(2).succeeded(2));
+    }
+
+    @Test
+    void shouldCompilePlanOncePerClass() {
+        ClassPreparationPlan plan = ClassPreparationPlan.of(InheritedInjectClassDataSpec.class);
+        assertAll(
+                () -> assertSame(plan, ClassPreparationPlan.of(InheritedInjectClassDataSpec.class)),
+                () -> assertEquals(2, plan.templates().length),
+                () -> assertTrue(plan.inject()));
+    }
+
     @Test
     void shouldFailureExecutableExtensionForIncorrectInjectFieldType() {
         failureExecutableWithException(IncorrectInjectFieldTypeClassDataSpec.class,
@@ -119,6 +142,31 @@ class EmptyNameTemplateClassDataSpec {
     }
 }
 
+@ClassDataSetup(
+        value = {@Template(name = FIRST_TEMPLATE_NAME, count = TEN_FIXTURES), @Template(name = SECOND_TEMPLATE_NAME, count = TEN_FIXTURES)},
+        inject = true
+)
+abstract class InheritedFixturesBase {
+    @FixtureInject
+    FixtureBatchCollection loadedFixtures;
+}
+
+@ClassDataSetup(
+        value = {@Template(name = FIRST_TEMPLATE_NAME, count = TEN_FIXTURES), @Template(name = SECOND_TEMPLATE_NAME, count = TEN_FIXTURES)},
+        inject = true
+)
+class InheritedInjectClassDataSpec extends InheritedFixturesBase {
+    @Test
+    void someTest() {
+        assertEquals(TEN_FIXTURES, loadedFixtures.get(FIRST_TEMPLATE_NAME, TestFixture.class).size());
+    }
+
+    @Test
+    void anotherTest() {
+        assertEquals(TEN_FIXTURES, loadedFixtures.get(SECOND_TEMPLATE_NAME, TestFixture.class).size());
+    }
+}
+
 @ClassDataSetup(
         value = {@Template(name = FIRST_TEMPLATE_NAME, count = TEN_FIXTURES), @Template(name = SECOND_TEMPLATE_NAME, count = TEN_FIXTURES)},
         inject = true
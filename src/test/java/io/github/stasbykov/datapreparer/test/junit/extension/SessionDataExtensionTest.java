@@ -0,0 +1,73 @@
+package io.github.stasbykov.datapreparer.test.junit.extension;
+
+import io.github.stasbykov.datapreparer.api.annotation.SessionFixtureInject;
+import io.github.stasbykov.datapreparer.api.core.FixtureBatchCollection;
+import io.github.stasbykov.datapreparer.internal.junit.SessionFixtures;
+import io.github.stasbykov.datapreparer.test.junit.extension.fixture.TestFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+import static io.github.stasbykov.datapreparer.test.junit.extension.BaseTest.*;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+public class SessionDataExtensionTest extends BaseTest {
+
+    @BeforeEach
+    void setUpSession() {
+        System.setProperty(SessionFixtures.TEMPLATES_PROPERTIES, FIRST_TEMPLATE_NAME + ":" + FIVE_FIXTURES + "," + SECOND_TEMPLATE_NAME);
+    }
+
+    @AfterEach
+    void tearDownSession() {
+        SessionFixtures.close();
+        System.clearProperty(SessionFixtures.TEMPLATES_PROPERTIES);
+    }
+
+    @Test
+    void shouldSuccessInjectSessionFixtures() {
+        EngineTestKit
+                .engine("junit-jupiter")
+                .selectors(selectClass(SessionDataPositiveSpec.class), selectClass(SessionDataSecondPositiveSpec.class))
+                .execute()
+                .testEvents()
+                .assertStatistics(stats ->
+                        stats.started(3).succeeded(3));
+    }
+
+    @Test
+    void shouldLoadSessionFixturesOnce() {
+        assertSame(SessionFixtures.get(), SessionFixtures.get());
+    }
+}
+
+class SessionDataPositiveSpec {
+
+    @SessionFixtureInject
+    FixtureBatchCollection sessionFixtures;
+
+    @Test
+    void shouldInjectSessionFixturesToField() {
+        assertAll(
+                () -> assertEquals(FIVE_FIXTURES, sessionFixtures.get(FIRST_TEMPLATE_NAME, TestFixture.class).size()),
+                () -> assertEquals(1, sessionFixtures.get(SECOND_TEMPLATE_NAME, TestFixture.class).size())
+        );
+    }
+
+    @Test
+    void shouldInjectSessionFixturesToParameter(@SessionFixtureInject FixtureBatchCollection fixtures) {
+        assertSame(sessionFixtures, fixtures);
+    }
+}
+
+class SessionDataSecondPositiveSpec {
+
+    @Test
+    void shouldShareSessionFixturesBetweenClasses(@SessionFixtureInject FixtureBatchCollection fixtures) {
+        assertSame(SessionFixtures.get(), fixtures);
+    }
+}
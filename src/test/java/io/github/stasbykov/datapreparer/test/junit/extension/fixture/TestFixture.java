@@ -2,5 +2,7 @@ package io.github.stasbykov.datapreparer.test.junit.extension.fixture;
 
 import io.github.stasbykov.datapreparer.api.core.Fixture;
 
-public record TestFixture(String name, String value) implements Fixture {
+import java.io.Serializable;
+
+public record TestFixture(String name, String value) implements Fixture, Serializable {
 }
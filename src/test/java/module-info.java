@@ -8,8 +8,11 @@ module io.github.stasbykov.datapreparer.test {
     requires org.mockito.junit.jupiter;
     requires org.junit.platform.testkit;
     requires org.junit.platform.engine;
+    requires org.junit.platform.launcher;
+    requires jdk.jfr;
 
     opens io.github.stasbykov.datapreparer.test.core;
+    opens io.github.stasbykov.datapreparer.test.junit;
     opens io.github.stasbykov.datapreparer.test.junit.extension;
 
     exports io.github.stasbykov.datapreparer.test.junit.extension.fixture
@@ -20,4 +23,7 @@ module io.github.stasbykov.datapreparer.test {
 
     opens io.github.stasbykov.datapreparer.test.junit.extension.fixture
             to io.github.stasbykov.datapreparer;
+
+    provides io.github.stasbykov.datapreparer.api.core.FixtureRegistry with
+            io.github.stasbykov.datapreparer.test.junit.extension.fixture.TestFixtureRegistry;
 }
\ No newline at end of file